@@ -0,0 +1,55 @@
+package com.electricitybusiness.api.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publie dans Micrometer les statistiques du cache de second niveau Hibernate (régions dans application.conf) :
+ * hibernate.cache.hits, hibernate.cache.misses et hibernate.cache.puts par région (tag region),
+ * et hibernate.cache.ratio, la part des lectures servies par le cache depuis le démarrage.
+ * Rien n'est publié sans hibernate.generate_statistics (propriété hibernate.statistiques, désactivée par défaut)
+ * ni sans cache de second niveau.
+ */
+@Configuration
+public class CacheHibernateConfig {
+
+    public static final String METRIQUE = "hibernate.cache";
+
+    @Bean
+    public MeterBinder metriquesCacheHibernate(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            if (!statistics.isStatisticsEnabled()) {
+                return;
+            }
+            for (String nom : statistics.getSecondLevelCacheRegionNames()) {
+                CacheRegionStatistics region = statistics.getCacheRegionStatistics(nom);
+                if (region == null) {
+                    continue;
+                }
+                Tags tags = Tags.of("region", nom);
+                FunctionCounter.builder(METRIQUE + ".hits", region, CacheRegionStatistics::getHitCount)
+                        .description("Lectures servies par le cache").tags(tags).register(registry);
+                FunctionCounter.builder(METRIQUE + ".misses", region, CacheRegionStatistics::getMissCount)
+                        .description("Lectures absentes du cache").tags(tags).register(registry);
+                FunctionCounter.builder(METRIQUE + ".puts", region, CacheRegionStatistics::getPutCount)
+                        .description("Entrées ajoutées au cache").tags(tags).register(registry);
+                Gauge.builder(METRIQUE + ".ratio", region, CacheHibernateConfig::taux)
+                        .description("Part des lectures servies par le cache").tags(tags).register(registry);
+            }
+        };
+    }
+
+    static double taux(CacheRegionStatistics region) {
+        long lectures = region.getHitCount() + region.getMissCount();
+        return lectures == 0 ? Double.NaN : (double) region.getHitCount() / lectures;
+    }
+}
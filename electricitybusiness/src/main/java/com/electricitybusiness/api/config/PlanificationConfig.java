@@ -0,0 +1,12 @@
+package com.electricitybusiness.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active les tâches planifiées (@Scheduled), comme l'expiration des blocages de créneaux.
+ */
+@Configuration
+@EnableScheduling
+public class PlanificationConfig {
+}
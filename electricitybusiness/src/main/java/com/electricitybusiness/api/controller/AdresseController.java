@@ -1,6 +1,7 @@
 package com.electricitybusiness.api.controller;
 
 import com.electricitybusiness.api.dto.AdresseDTO;
+import com.electricitybusiness.api.dto.PageCurseur;
 import com.electricitybusiness.api.mapper.EntityMapper;
 import com.electricitybusiness.api.model.Adresse;
 import com.electricitybusiness.api.service.AdresseService;
@@ -10,9 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * Contrôleur REST pour la gestion des adresses.
  * Expose les endpoints pour les opérations CRUD sur les adresses.
@@ -27,15 +25,13 @@ public class AdresseController {
     private final EntityMapper mapper;
 
     /**
-     * Récupère toutes les adresses.
-     * GET /api/adresses
+     * Récupère toutes les adresses, par pages (pagination par clé, voir Pagination).
+     * GET /api/adresses?curseur=...&taille=...
      */
     @GetMapping
-    public ResponseEntity<List<AdresseDTO>> getAllAdresses() {
-        List<Adresse> adresses = adresseService.findAll();
-        List<AdresseDTO> adressesDTO = adresses.stream()
-                .map(mapper::toDTO)
-                .collect(Collectors.toList());
+    public ResponseEntity<PageCurseur<AdresseDTO>> getAllAdresses(@RequestParam(required = false) String curseur,
+                                                                  @RequestParam(required = false) Integer taille) {
+        PageCurseur<AdresseDTO> adressesDTO = adresseService.findPage(curseur, taille).map(mapper::toDTO);
         return ResponseEntity.ok(adressesDTO);
     }
 
@@ -5,39 +5,72 @@ import com.electricitybusiness.api.dto.AuthenticationResponse;
 import com.electricitybusiness.api.dto.RegisterRequest;
 import com.electricitybusiness.api.model.RoleUtilisateur;
 import com.electricitybusiness.api.model.Utilisateur;
+import com.electricitybusiness.api.repository.LieuRepository;
 import com.electricitybusiness.api.repository.UtilisateurRepository;
+import com.electricitybusiness.api.security.CustomUserDetailsService;
+import com.electricitybusiness.api.security.HachageMotsDePasse;
 import com.electricitybusiness.api.security.JwtService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Inscription et connexion. Les opérations BCrypt s'exécutent sur le pool de HachageMotsDePasse :
+ * le thread de la requête est libéré pendant le hachage (réponse asynchrone), et 429 est renvoyé si le pool est saturé.
+ * L'enregistrement de l'utilisateur se poursuit sur l'exécuteur applicatif : un aller-retour lent en base n'occupe pas le pool BCrypt.
+ * De même, à la connexion, l'utilisateur est lu sur l'exécuteur applicatif et seule la comparaison BCrypt passe par le pool.
+ */
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    // Compte banni (verrouillé), désactivé ou expiré : refusé comme par DaoAuthenticationProvider
+    private static final AccountStatusUserDetailsChecker VERIFICATION_COMPTE = new AccountStatusUserDetailsChecker();
+
     @Autowired
     private UtilisateurRepository utilisateurRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private LieuRepository lieuRepository;
+
+    @Autowired
+    private HachageMotsDePasse hachageMotsDePasse;
 
     @Autowired
     private JwtService jwtService;
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor executeurApplicatif;
 
     @PostMapping("/register")
-    public ResponseEntity<AuthenticationResponse> register(@RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> register(@RequestBody RegisterRequest request) {
+        if (request.getNumLieu() == null) {
+            throw new IllegalArgumentException("Le lieu est obligatoire");
+        }
+        return hachageMotsDePasse.hacher(request.getPassword())
+            .thenApplyAsync(motDePasse -> inscrire(request, motDePasse), executeurApplicatif);
+    }
+
+    private ResponseEntity<AuthenticationResponse> inscrire(RegisterRequest request, String motDePasse) {
         var user = new Utilisateur();
         user.setAdresseMail(request.getEmail());
-        user.setMotDePasse(passwordEncoder.encode(request.getPassword()));
+        user.setMotDePasse(motDePasse);
         user.setPseudo(request.getPseudo());
         user.setNomUtilisateur(request.getNom());
         user.setPrenom(request.getPrenom());
@@ -45,6 +78,8 @@ public class AuthController {
         user.setDateDeNaissance(request.getDateDeNaissance());
         user.setBanni(false);
         user.setCompteValide(true);
+        user.setLieu(lieuRepository.findById(request.getNumLieu())
+            .orElseThrow(() -> new IllegalArgumentException("Lieu non trouvé")));
 
         utilisateurRepository.save(user);
 
@@ -53,17 +88,29 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthenticationResponse> authenticate(@RequestBody AuthenticationRequest request) {
-        authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                request.getEmail(),
-                request.getPassword()
-            )
-        );
-
-        var user = utilisateurRepository.findByAdresseMail(request.getEmail())
-            .orElseThrow();
-        var jwtToken = jwtService.generateToken(user);
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> authenticate(@RequestBody AuthenticationRequest request) {
+        return CompletableFuture.supplyAsync(() -> charger(request.getEmail()), executeurApplicatif)
+            .thenCompose(utilisateur -> hachageMotsDePasse.verifier(request.getPassword(),
+                    utilisateur != null ? utilisateur.getPassword() : null)
+                .thenApply(valide -> connecter(utilisateur, valide)));
+    }
+
+    // Un utilisateur inconnu est vérifié comme les autres (haché leurre) puis refusé
+    private UserDetails charger(String email) {
+        try {
+            return userDetailsService.loadUserByUsername(email);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
+    // Le jeton est construit à partir du principal déjà chargé, sans relire l'utilisateur
+    private ResponseEntity<AuthenticationResponse> connecter(UserDetails utilisateur, boolean valide) {
+        if (utilisateur == null || !valide) {
+            throw new BadCredentialsException("Identifiants invalides");
+        }
+        VERIFICATION_COMPTE.check(utilisateur);
+        var jwtToken = jwtService.generateToken(utilisateur);
         return ResponseEntity.ok(new AuthenticationResponse(jwtToken));
     }
 } 
\ No newline at end of file
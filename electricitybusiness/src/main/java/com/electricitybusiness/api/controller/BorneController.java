@@ -1,5 +1,10 @@
 package com.electricitybusiness.api.controller;
 
+import com.electricitybusiness.api.dto.BorneDTO;
+import com.electricitybusiness.api.dto.BorneProcheDTO;
+import com.electricitybusiness.api.dto.GrilleDisponibiliteDTO;
+import com.electricitybusiness.api.dto.PageCurseur;
+import com.electricitybusiness.api.mapper.EntityMapper;
 import com.electricitybusiness.api.model.Borne;
 import com.electricitybusiness.api.service.BorneService;
 import jakarta.validation.Valid;
@@ -8,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import java.util.List;
@@ -22,14 +28,16 @@ import java.util.List;
 public class BorneController {
 
     private final BorneService borneService;
+    private final EntityMapper mapper;
 
     /**
-     * Récupère toutes les bornes.
-     * GET /api/bornes
+     * Récupère toutes les bornes, par pages (pagination par clé, voir Pagination).
+     * GET /api/bornes?curseur=...&taille=...
      */
     @GetMapping
-    public ResponseEntity<List<Borne>> getAllBornes() {
-        List<Borne> bornes = borneService.findAll();
+    public ResponseEntity<PageCurseur<BorneDTO>> getAllBornes(@RequestParam(required = false) String curseur,
+                                                              @RequestParam(required = false) Integer taille) {
+        PageCurseur<BorneDTO> bornes = borneService.findPage(curseur, taille);
         return ResponseEntity.ok(bornes);
     }
 
@@ -38,8 +46,8 @@ public class BorneController {
      * GET /api/bornes/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Borne> getBorneById(@PathVariable Long id) {
-        return borneService.findById(id)
+    public ResponseEntity<BorneDTO> getBorneById(@PathVariable Long id) {
+        return borneService.findDTOById(id)
                 .map(borne -> ResponseEntity.ok(borne))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -49,9 +57,9 @@ public class BorneController {
      * POST /api/bornes
      */
     @PostMapping
-    public ResponseEntity<Borne> createBorne(@Valid @RequestBody Borne borne) {
+    public ResponseEntity<BorneDTO> createBorne(@Valid @RequestBody Borne borne) {
         Borne savedBorne = borneService.save(borne);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedBorne);
+        return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toDTO(savedBorne));
     }
 
     /**
@@ -59,12 +67,12 @@ public class BorneController {
      * PUT /api/bornes/{id}
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Borne> updateBorne(@PathVariable Long id, @Valid @RequestBody Borne borne) {
+    public ResponseEntity<BorneDTO> updateBorne(@PathVariable Long id, @Valid @RequestBody Borne borne) {
         if (!borneService.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
         Borne updatedBorne = borneService.update(id, borne);
-        return ResponseEntity.ok(updatedBorne);
+        return ResponseEntity.ok(mapper.toDTO(updatedBorne));
     }
 
     /**
@@ -85,22 +93,46 @@ public class BorneController {
      * GET /api/bornes/proximite?longitude=...&latitude=...&rayon=...
      */
     @GetMapping("/proximite")
-    public ResponseEntity<List<Borne>> getBornesProches(@RequestParam double longitude,
+    public ResponseEntity<List<BorneDTO>> getBornesProches(@RequestParam double longitude,
                                                        @RequestParam double latitude,
                                                        @RequestParam double rayon) {
-        List<Borne> bornesProches = borneService.findNearbyBornes(longitude, latitude, rayon);
+        List<BorneDTO> bornesProches = borneService.findNearbyBornes(longitude, latitude, rayon);
         return ResponseEntity.ok(bornesProches);
     }
 
+    /**
+     * Récupère les k bornes disponibles les plus proches d'une position, avec leur distance.
+     * GET /api/bornes/plus-proches?longitude=...&latitude=...&k=...
+     */
+    @GetMapping("/plus-proches")
+    public ResponseEntity<List<BorneProcheDTO>> getBornesPlusProches(@RequestParam double longitude,
+                                                                    @RequestParam double latitude,
+                                                                    @RequestParam(defaultValue = "10") int k) {
+        List<BorneProcheDTO> bornes = borneService.findNearestAvailableBornes(longitude, latitude, k);
+        return ResponseEntity.ok(bornes);
+    }
+
     /**
      * Recherche les bornes disponibles dans une ville à une date donnée (créneau).
      * GET /api/bornes/disponibles?ville=...&dateDebut=...&dateFin=...
      */
     @GetMapping("/disponibles")
-    public ResponseEntity<List<Borne>> getAvailableBornesInCityAtDate(@RequestParam String ville,
+    public ResponseEntity<List<BorneDTO>> getAvailableBornesInCityAtDate(@RequestParam String ville,
                                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateDebut,
                                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateFin) {
-        List<Borne> bornes = borneService.findAvailableBornesInCityAtDate(ville, dateDebut, dateFin);
+        List<BorneDTO> bornes = borneService.findAvailableBornesInCityAtDate(ville, dateDebut, dateFin);
         return ResponseEntity.ok(bornes);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Grille de disponibilités par créneaux de 15 minutes de plusieurs bornes.
+     * GET /api/bornes/disponibilites?bornes=1,2,3&debut=2025-06-01&jours=7
+     */
+    @GetMapping("/disponibilites")
+    public ResponseEntity<GrilleDisponibiliteDTO> getGrilleDisponibilites(@RequestParam List<Long> bornes,
+                                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+                                                                          @RequestParam(defaultValue = "7") int jours) {
+        GrilleDisponibiliteDTO grille = borneService.getGrilleDisponibilites(bornes, debut, jours);
+        return ResponseEntity.ok(grille);
+    }
+}
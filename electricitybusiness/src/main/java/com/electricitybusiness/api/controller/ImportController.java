@@ -0,0 +1,80 @@
+package com.electricitybusiness.api.controller;
+
+import com.electricitybusiness.api.dto.ProgressionImportDTO;
+import com.electricitybusiness.api.service.ImportService;
+import com.electricitybusiness.api.util.ReponsesEnFlux;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Contrôleur REST pour l'import en masse de bornes et de tarifs horaires depuis un fichier CSV.
+ * Le fichier est le corps même de la requête (text/csv), lu au fil de l'import : il n'est copié ni en mémoire
+ * ni sur disque. Le déroulement de l'import est renvoyé en flux continu (NDJSON) ; l'en-tête Location
+ * indique où suivre son avancement depuis un autre client. Réservé aux administrateurs.
+ */
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final ImportService importService;
+
+    @Value("${import.delai-ms:3600000}")
+    private long delaiImport = 3_600_000;
+
+    /**
+     * Importe des bornes avec leur lieu et leur adresse.
+     * POST /api/import/bornes (corps text/csv)
+     * Colonnes : nomBorne, latitude, longitude, puissance, etat, numeroEtRue, codePostal, ville, pays,
+     * et en option instruction, surPied, nomAdresse, region, complement, etage, instructionsLieu.
+     */
+    @PostMapping(value = "/bornes", consumes = TEXT_CSV)
+    @PreAuthorize("hasRole('ADMIN')")
+    public WebAsyncTask<Void> importerBornes(InputStream fichier, HttpServletResponse reponse) throws IOException {
+        return importer(ImportService.Type.BORNES, fichier, reponse);
+    }
+
+    /**
+     * Importe des tarifs horaires de bornes existantes.
+     * POST /api/import/tarifs (corps text/csv)
+     * Colonnes : numBorne, tarifParMinute, heureDebut, heureFin, dateDebut, et en option jourSemaine, dateFin, actif.
+     */
+    @PostMapping(value = "/tarifs", consumes = TEXT_CSV)
+    @PreAuthorize("hasRole('ADMIN')")
+    public WebAsyncTask<Void> importerTarifs(InputStream fichier, HttpServletResponse reponse) throws IOException {
+        return importer(ImportService.Type.TARIFS, fichier, reponse);
+    }
+
+    /**
+     * Avancement d'un import.
+     * GET /api/import/{id}
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProgressionImportDTO> getProgression(@PathVariable String id) {
+        return importService.progression(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private WebAsyncTask<Void> importer(ImportService.Type type, InputStream fichier, HttpServletResponse reponse) throws IOException {
+        // L'en-tête est vérifié ici : une colonne manquante est refusée par un 400 avant le début du flux.
+        // Le reste du corps est lu par le flux de réponse, la requête restant ouverte jusqu'à la fin de l'import.
+        ImportService.ImportEnCours enCours = importService.demarrer(type, fichier);
+        reponse.setHeader(HttpHeaders.LOCATION, "/api/import/" + enCours.getId());
+        reponse.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return ReponsesEnFlux.ecrire(reponse, delaiImport, sortie -> importService.importer(enCours, sortie));
+    }
+}
@@ -1,6 +1,7 @@
 package com.electricitybusiness.api.controller;
 
 import com.electricitybusiness.api.dto.LieuDTO;
+import com.electricitybusiness.api.dto.PageCurseur;
 import com.electricitybusiness.api.mapper.EntityMapper;
 import com.electricitybusiness.api.model.Lieu;
 import com.electricitybusiness.api.service.LieuService;
@@ -10,9 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * Contrôleur REST pour la gestion des lieux.
  * Expose les endpoints pour les opérations CRUD sur les lieux.
@@ -27,15 +25,13 @@ public class LieuController {
     private final EntityMapper mapper;
 
     /**
-     * Récupère tous les lieux.
-     * GET /api/lieux
+     * Récupère tous les lieux, par pages (pagination par clé, voir Pagination).
+     * GET /api/lieux?curseur=...&taille=...
      */
     @GetMapping
-    public ResponseEntity<List<LieuDTO>> getAllLieux() {
-        List<Lieu> lieux = lieuService.findAll();
-        List<LieuDTO> lieuxDTO = lieux.stream()
-                .map(mapper::toDTO)
-                .collect(Collectors.toList());
+    public ResponseEntity<PageCurseur<LieuDTO>> getAllLieux(@RequestParam(required = false) String curseur,
+                                                            @RequestParam(required = false) Integer taille) {
+        PageCurseur<LieuDTO> lieuxDTO = lieuService.findPage(curseur, taille).map(mapper::toDTO);
         return ResponseEntity.ok(lieuxDTO);
     }
 
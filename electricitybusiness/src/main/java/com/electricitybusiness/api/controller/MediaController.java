@@ -1,5 +1,6 @@
 package com.electricitybusiness.api.controller;
 
+import com.electricitybusiness.api.dto.PageCurseur;
 import com.electricitybusiness.api.model.Media;
 import com.electricitybusiness.api.service.MediaService;
 import jakarta.validation.Valid;
@@ -22,12 +23,13 @@ public class MediaController {
     private final MediaService mediaService;
 
     /**
-     * Récupère tous les médias.
-     * GET /api/medias
+     * Récupère tous les médias, par pages (pagination par clé, voir Pagination).
+     * GET /api/medias?curseur=...&taille=...
      */
     @GetMapping
-    public ResponseEntity<List<Media>> getAllMedias() {
-        List<Media> medias = mediaService.findAll();
+    public ResponseEntity<PageCurseur<Media>> getAllMedias(@RequestParam(required = false) String curseur,
+                                                           @RequestParam(required = false) Integer taille) {
+        PageCurseur<Media> medias = mediaService.findPage(curseur, taille);
         return ResponseEntity.ok(medias);
     }
 
@@ -2,10 +2,17 @@ package com.electricitybusiness.api.controller;
 
 import com.electricitybusiness.api.dto.RechargeRequest;
 import com.electricitybusiness.api.dto.RechargeResponse;
+import com.electricitybusiness.api.service.ExportService;
 import com.electricitybusiness.api.service.RechargeService;
+import com.electricitybusiness.api.util.ReponsesEnFlux;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 @RestController
 @RequestMapping("/api/recharge")
@@ -14,6 +21,12 @@ public class RechargeController {
     @Autowired
     private RechargeService rechargeService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Value("${export.delai-ms:3600000}")
+    private long delaiExport = 3_600_000;
+
     @PostMapping
     public ResponseEntity<RechargeResponse> effectuerRecharge(@RequestBody RechargeRequest request) {
         RechargeResponse response = rechargeService.effectuerRecharge(request);
@@ -21,7 +34,20 @@ public class RechargeController {
     }
 
     @GetMapping("/historique")
-    public ResponseEntity<?> getHistoriqueRecharges() {
-        return ResponseEntity.ok(rechargeService.getHistoriqueRecharges());
+    public ResponseEntity<?> getHistoriqueRecharges(@RequestParam(required = false) String curseur,
+                                                    @RequestParam(required = false) Integer taille) {
+        return ResponseEntity.ok(rechargeService.getHistoriqueRecharges(curseur, taille));
+    }
+
+    /**
+     * Exporte toutes les recharges en flux continu, en NDJSON ou en CSV.
+     * GET /api/recharge/export?format=ndjson|csv
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exporterRecharges(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse reponse) {
+        ExportService.Format formatExport = ExportService.Format.depuis(format);
+        reponse.setContentType(formatExport == ExportService.Format.CSV ? "text/csv" : MediaType.APPLICATION_NDJSON_VALUE);
+        reponse.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=recharges." + formatExport.name().toLowerCase());
+        return ReponsesEnFlux.ecrire(reponse, delaiExport, sortie -> exportService.exporterRecharges(formatExport, sortie));
     }
 } 
\ No newline at end of file
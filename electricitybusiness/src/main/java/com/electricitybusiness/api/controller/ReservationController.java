@@ -1,12 +1,25 @@
 package com.electricitybusiness.api.controller;
 
+import com.electricitybusiness.api.dto.BlocageRequest;
+import com.electricitybusiness.api.dto.PageCurseur;
+import com.electricitybusiness.api.dto.ReservationDTO;
+import com.electricitybusiness.api.mapper.EntityMapper;
 import com.electricitybusiness.api.model.Reservation;
+import com.electricitybusiness.api.service.BlocagesCreneaux;
+import com.electricitybusiness.api.service.ExportService;
 import com.electricitybusiness.api.service.ReservationService;
+import com.electricitybusiness.api.util.ReponsesEnFlux;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import java.util.List;
 
@@ -20,49 +33,69 @@ import java.util.List;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final ExportService exportService;
+    private final EntityMapper mapper;
+
+    @Value("${export.delai-ms:3600000}")
+    private long delaiExport = 3_600_000;
 
     /**
-     * Récupère toutes les réservations.
-     * GET /api/reservations
+     * Récupère toutes les réservations, par pages (pagination par clé, voir Pagination).
+     * GET /api/reservations?curseur=...&taille=...
      */
     @GetMapping
-    public ResponseEntity<List<Reservation>> getAllReservations() {
-        List<Reservation> reservations = reservationService.findAll();
+    public ResponseEntity<PageCurseur<ReservationDTO>> getAllReservations(@RequestParam(required = false) String curseur,
+                                                                          @RequestParam(required = false) Integer taille) {
+        PageCurseur<ReservationDTO> reservations = reservationService.findPage(curseur, taille);
         return ResponseEntity.ok(reservations);
     }
 
+    /**
+     * Exporte toutes les réservations en flux continu, en NDJSON ou en CSV.
+     * GET /api/reservations/export?format=ndjson|csv
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exporterReservations(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse reponse) {
+        ExportService.Format formatExport = ExportService.Format.depuis(format);
+        reponse.setContentType(formatExport == ExportService.Format.CSV ? "text/csv" : MediaType.APPLICATION_NDJSON_VALUE);
+        reponse.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=reservations." + formatExport.name().toLowerCase());
+        return ReponsesEnFlux.ecrire(reponse, delaiExport, sortie -> exportService.exporterReservations(formatExport, sortie));
+    }
+
     /**
      * Récupère une réservation par son ID.
      * GET /api/reservations/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Reservation> getReservationById(@PathVariable Long id) {
-        return reservationService.findById(id)
+    public ResponseEntity<ReservationDTO> getReservationById(@PathVariable Long id) {
+        return reservationService.findDTOById(id)
                 .map(reservation -> ResponseEntity.ok(reservation))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     /**
-     * Crée une nouvelle réservation.
-     * POST /api/reservations
+     * Crée une nouvelle réservation (409 Conflict si le créneau est déjà réservé sur la borne).
+     * Le paramètre blocage permet de consommer un blocage temporaire obtenu au préalable.
+     * POST /api/reservations?blocage=...
      */
     @PostMapping
-    public ResponseEntity<Reservation> createReservation(@Valid @RequestBody Reservation reservation) {
-        Reservation savedReservation = reservationService.save(reservation);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedReservation);
+    public ResponseEntity<ReservationDTO> createReservation(@Valid @RequestBody Reservation reservation,
+                                                         @RequestParam(required = false) String blocage) {
+        Reservation savedReservation = reservationService.reserver(reservation, blocage);
+        return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toDTO(savedReservation));
     }
 
     /**
-     * Met à jour une réservation existante.
+     * Met à jour une réservation existante (409 Conflict si le nouveau créneau est déjà réservé).
      * PUT /api/reservations/{id}
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Reservation> updateReservation(@PathVariable Long id, @Valid @RequestBody Reservation reservation) {
+    public ResponseEntity<ReservationDTO> updateReservation(@PathVariable Long id, @Valid @RequestBody Reservation reservation) {
         if (!reservationService.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
         Reservation updatedReservation = reservationService.update(id, reservation);
-        return ResponseEntity.ok(updatedReservation);
+        return ResponseEntity.ok(mapper.toDTO(updatedReservation));
     }
 
     /**
@@ -83,8 +116,33 @@ public class ReservationController {
      * GET /api/reservations/utilisateur/{id}/passees
      */
     @GetMapping("/utilisateur/{id}/passees")
-    public ResponseEntity<List<Reservation>> getPastReservationsByUtilisateur(@PathVariable Long id) {
-        List<Reservation> reservations = reservationService.findPastReservationsByUtilisateurId(id);
+    public ResponseEntity<List<ReservationDTO>> getPastReservationsByUtilisateur(@PathVariable Long id) {
+        List<ReservationDTO> reservations = reservationService.findPastReservationsByUtilisateurId(id);
         return ResponseEntity.ok(reservations);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Bloque temporairement un créneau pour l'utilisateur connecté pendant la finalisation d'une réservation
+     * (409 Conflict s'il est pris ou si l'utilisateur a atteint son nombre maximal de blocages en cours).
+     * POST /api/reservations/blocages
+     */
+    @PostMapping("/blocages")
+    public ResponseEntity<BlocagesCreneaux.Blocage> createBlocage(@Valid @RequestBody BlocageRequest request,
+                                                                  Authentication authentification) {
+        BlocagesCreneaux.Blocage blocage = reservationService.bloquer(request.getNumBorne(), request.getDateDebut(),
+                request.getDateFin(), authentification.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(blocage);
+    }
+
+    /**
+     * Libère un blocage temporaire.
+     * DELETE /api/reservations/blocages/{jeton}
+     */
+    @DeleteMapping("/blocages/{jeton}")
+    public ResponseEntity<Void> deleteBlocage(@PathVariable String jeton) {
+        if (!reservationService.libererBlocage(jeton)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,13 +1,20 @@
 package com.electricitybusiness.api.controller;
 
+import com.electricitybusiness.api.dto.DevisRequest;
+import com.electricitybusiness.api.dto.PageCurseur;
+import com.electricitybusiness.api.dto.TarifHoraireDTO;
+import com.electricitybusiness.api.mapper.EntityMapper;
 import com.electricitybusiness.api.model.TarifHoraire;
 import com.electricitybusiness.api.service.TarifHoraireService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -20,14 +27,16 @@ import java.util.List;
 public class TarifHoraireController {
 
     private final TarifHoraireService tarifHoraireService;
+    private final EntityMapper mapper;
 
     /**
-     * Récupère tous les tarifs horaires.
-     * GET /api/tarifs-horaires
+     * Récupère tous les tarifs horaires, par pages (pagination par clé, voir Pagination).
+     * GET /api/tarifs-horaires?curseur=...&taille=...
      */
     @GetMapping
-    public ResponseEntity<List<TarifHoraire>> getAllTarifsHoraires() {
-        List<TarifHoraire> tarifsHoraires = tarifHoraireService.findAll();
+    public ResponseEntity<PageCurseur<TarifHoraireDTO>> getAllTarifsHoraires(@RequestParam(required = false) String curseur,
+                                                                             @RequestParam(required = false) Integer taille) {
+        PageCurseur<TarifHoraireDTO> tarifsHoraires = tarifHoraireService.findPage(curseur, taille);
         return ResponseEntity.ok(tarifsHoraires);
     }
 
@@ -36,8 +45,8 @@ public class TarifHoraireController {
      * GET /api/tarifs-horaires/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TarifHoraire> getTarifHoraireById(@PathVariable Long id) {
-        return tarifHoraireService.findById(id)
+    public ResponseEntity<TarifHoraireDTO> getTarifHoraireById(@PathVariable Long id) {
+        return tarifHoraireService.findDTOById(id)
                 .map(tarifHoraire -> ResponseEntity.ok(tarifHoraire))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -47,9 +56,9 @@ public class TarifHoraireController {
      * POST /api/tarifs-horaires
      */
     @PostMapping
-    public ResponseEntity<TarifHoraire> createTarifHoraire(@Valid @RequestBody TarifHoraire tarifHoraire) {
+    public ResponseEntity<TarifHoraireDTO> createTarifHoraire(@Valid @RequestBody TarifHoraire tarifHoraire) {
         TarifHoraire savedTarifHoraire = tarifHoraireService.save(tarifHoraire);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedTarifHoraire);
+        return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toDTO(savedTarifHoraire));
     }
 
     /**
@@ -57,12 +66,12 @@ public class TarifHoraireController {
      * PUT /api/tarifs-horaires/{id}
      */
     @PutMapping("/{id}")
-    public ResponseEntity<TarifHoraire> updateTarifHoraire(@PathVariable Long id, @Valid @RequestBody TarifHoraire tarifHoraire) {
+    public ResponseEntity<TarifHoraireDTO> updateTarifHoraire(@PathVariable Long id, @Valid @RequestBody TarifHoraire tarifHoraire) {
         if (!tarifHoraireService.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
         TarifHoraire updatedTarifHoraire = tarifHoraireService.update(id, tarifHoraire);
-        return ResponseEntity.ok(updatedTarifHoraire);
+        return ResponseEntity.ok(mapper.toDTO(updatedTarifHoraire));
     }
 
     /**
@@ -77,4 +86,28 @@ public class TarifHoraireController {
         tarifHoraireService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Calcule le prix d'un créneau sur une borne selon ses tarifs horaires actifs.
+     * GET /api/tarifs-horaires/prix?borne=...&dateDebut=...&dateFin=...
+     */
+    @GetMapping("/prix")
+    public ResponseEntity<BigDecimal> getPrix(@RequestParam Long borne,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateDebut,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateFin) {
+        BigDecimal prix = tarifHoraireService.calculerPrix(borne, dateDebut, dateFin);
+        return ResponseEntity.ok(prix);
+    }
+
+    /**
+     * Calcule en un appel le prix de plusieurs créneaux (jusqu'à 1000).
+     * La réponse est le tableau des prix dans l'ordre des demandes (null si le créneau n'a pas de tarif) ;
+     * une demande incomplète ou au créneau inversé rend 400, en indiquant son indice.
+     * POST /api/tarifs-horaires/devis
+     */
+    @PostMapping("/devis")
+    public ResponseEntity<List<BigDecimal>> getDevis(@RequestBody List<DevisRequest> demandes) {
+        List<BigDecimal> prix = tarifHoraireService.devis(demandes);
+        return ResponseEntity.ok(prix);
+    }
+}
@@ -1,11 +1,15 @@
 package com.electricitybusiness.api.controller;
 
+import com.electricitybusiness.api.dto.PageCurseur;
+import com.electricitybusiness.api.dto.UtilisateurDTO;
+import com.electricitybusiness.api.mapper.EntityMapper;
 import com.electricitybusiness.api.model.Utilisateur;
 import com.electricitybusiness.api.service.UtilisateurService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,14 +24,16 @@ import java.util.List;
 public class UtilisateurController {
 
     private final UtilisateurService utilisateurService;
+    private final EntityMapper mapper;
 
     /**
-     * Récupère tous les utilisateurs.
-     * GET /api/utilisateurs
+     * Récupère tous les utilisateurs, par pages (pagination par clé, voir Pagination).
+     * GET /api/utilisateurs?curseur=...&taille=...
      */
     @GetMapping
-    public ResponseEntity<List<Utilisateur>> getAllUtilisateurs() {
-        List<Utilisateur> utilisateurs = utilisateurService.findAll();
+    public ResponseEntity<PageCurseur<UtilisateurDTO>> getAllUtilisateurs(@RequestParam(required = false) String curseur,
+                                                                          @RequestParam(required = false) Integer taille) {
+        PageCurseur<UtilisateurDTO> utilisateurs = utilisateurService.findPage(curseur, taille);
         return ResponseEntity.ok(utilisateurs);
     }
 
@@ -36,8 +42,8 @@ public class UtilisateurController {
      * GET /api/utilisateurs/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Utilisateur> getUtilisateurById(@PathVariable Long id) {
-        return utilisateurService.findById(id)
+    public ResponseEntity<UtilisateurDTO> getUtilisateurById(@PathVariable Long id) {
+        return utilisateurService.findDTOById(id)
                 .map(utilisateur -> ResponseEntity.ok(utilisateur))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -47,9 +53,9 @@ public class UtilisateurController {
      * POST /api/utilisateurs
      */
     @PostMapping
-    public ResponseEntity<Utilisateur> createUtilisateur(@Valid @RequestBody Utilisateur utilisateur) {
+    public ResponseEntity<UtilisateurDTO> createUtilisateur(@Valid @RequestBody Utilisateur utilisateur) {
         Utilisateur savedUtilisateur = utilisateurService.save(utilisateur);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedUtilisateur);
+        return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toDTO(savedUtilisateur));
     }
 
     /**
@@ -57,12 +63,24 @@ public class UtilisateurController {
      * PUT /api/utilisateurs/{id}
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Utilisateur> updateUtilisateur(@PathVariable Long id, @Valid @RequestBody Utilisateur utilisateur) {
+    public ResponseEntity<UtilisateurDTO> updateUtilisateur(@PathVariable Long id, @Valid @RequestBody Utilisateur utilisateur) {
         if (!utilisateurService.existsById(id)) {
             return ResponseEntity.notFound().build();
         }
         Utilisateur updatedUtilisateur = utilisateurService.update(id, utilisateur);
-        return ResponseEntity.ok(updatedUtilisateur);
+        return ResponseEntity.ok(mapper.toDTO(updatedUtilisateur));
+    }
+
+    /**
+     * Bannit un utilisateur (administrateurs uniquement).
+     * PUT /api/utilisateurs/{id}/bannir
+     */
+    @PutMapping("/{id}/bannir")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UtilisateurDTO> bannirUtilisateur(@PathVariable Long id) {
+        return utilisateurService.bannir(id)
+                .map(utilisateur -> ResponseEntity.ok(mapper.toDTO(utilisateur)))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     /**
@@ -0,0 +1,21 @@
+package com.electricitybusiness.api.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Demande de blocage temporaire d'un créneau sur une borne
+ */
+@Data
+public class BlocageRequest {
+    @NotNull(message = "La borne est obligatoire")
+    private Long numBorne;
+
+    @NotNull(message = "La date de début est obligatoire")
+    private LocalDateTime dateDebut;
+
+    @NotNull(message = "La date de fin est obligatoire")
+    private LocalDateTime dateFin;
+}
@@ -0,0 +1,21 @@
+package com.electricitybusiness.api.dto;
+
+import com.electricitybusiness.api.model.EtatBorne;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection d'une borne réduite à sa position et à sa disponibilité
+ * Utilisée pour construire les index géographiques sans charger les entités
+ */
+public interface BornePosition {
+    Long getNumBorne();
+
+    BigDecimal getLatitude();
+
+    BigDecimal getLongitude();
+
+    EtatBorne getEtat();
+
+    Boolean getOccupee();
+}
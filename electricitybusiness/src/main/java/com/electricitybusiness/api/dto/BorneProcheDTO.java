@@ -0,0 +1,16 @@
+package com.electricitybusiness.api.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * DTO d'une borne accompagnée de sa distance (en mètres) à la position recherchée
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BorneProcheDTO {
+    private BorneDTO borne;
+    private Double distance;
+}
@@ -0,0 +1,38 @@
+package com.electricitybusiness.api.dto;
+
+import com.electricitybusiness.api.model.EtatBorne;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'une borne réduite aux colonnes de BorneDTO, lieu compris
+ * Lue directement en SQL pour les lectures de l'API, sans charger l'entité ni ses collections
+ */
+public interface BorneVue {
+    Long getNumBorne();
+
+    String getNomBorne();
+
+    BigDecimal getLatitude();
+
+    BigDecimal getLongitude();
+
+    BigDecimal getPuissance();
+
+    String getInstruction();
+
+    Boolean getSurPied();
+
+    EtatBorne getEtat();
+
+    Boolean getOccupee();
+
+    LocalDateTime getDateCreation();
+
+    LocalDateTime getDerniereMaintenance();
+
+    Long getNumLieu();
+
+    String getInstructionsLieu();
+}
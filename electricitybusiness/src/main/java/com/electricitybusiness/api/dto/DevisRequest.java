@@ -0,0 +1,19 @@
+package com.electricitybusiness.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Demande de devis : prix d'un créneau sur une borne
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DevisRequest {
+    private Long numBorne;
+    private LocalDateTime dateDebut;
+    private LocalDateTime dateFin;
+}
@@ -0,0 +1,27 @@
+package com.electricitybusiness.api.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO de la grille de disponibilités de plusieurs bornes.
+ * Chaque chaîne contient un caractère par créneau de dureeCreneau minutes à partir de premierJour à minuit :
+ * '1' si le créneau est libre, '0' sinon. Les bornes demandées qui n'existent pas sont listées dans inconnues.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GrilleDisponibiliteDTO {
+    private LocalDate premierJour;
+    private Integer nbJours;
+    private Integer dureeCreneau;
+    private Map<Long, String> bornes;
+    private String toutesLibres;
+    private String auMoinsUneLibre;
+    private List<Long> inconnues;
+}
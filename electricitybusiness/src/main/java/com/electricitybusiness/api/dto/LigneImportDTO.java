@@ -0,0 +1,19 @@
+package com.electricitybusiness.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Résultat de l'import d'une ligne du fichier CSV : l'identifiant créé, ou l'erreur qui l'a fait rejeter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LigneImportDTO {
+    private int ligne;
+    private Long id;
+    private String erreur;
+}
@@ -0,0 +1,27 @@
+package com.electricitybusiness.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page d'une liste parcourue par clé (keyset) : les éléments, triés par clé primaire croissante,
+ * et le curseur opaque de la page suivante (null sur la dernière page).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageCurseur<T> {
+    private List<T> elements;
+    private String suivant;
+
+    /**
+     * Même page, éléments convertis (par exemple en DTO).
+     */
+    public <R> PageCurseur<R> map(Function<? super T, ? extends R> conversion) {
+        return new PageCurseur<>(elements.stream().<R>map(conversion).toList(), suivant);
+    }
+}
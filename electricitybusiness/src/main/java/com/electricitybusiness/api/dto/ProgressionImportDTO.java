@@ -0,0 +1,26 @@
+package com.electricitybusiness.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Avancement d'un import CSV : lignes lues, importées et rejetées depuis le début.
+ * etat : EN_COURS, TERMINE, ou ECHOUE quand le fichier n'a pas pu être lu jusqu'au bout (voir erreur).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressionImportDTO {
+    private String id;
+    private String type;
+    private String etat;
+    private long lignesLues;
+    private long lignesImportees;
+    private long lignesRejetees;
+    private LocalDateTime debut;
+    private LocalDateTime fin;
+    private String erreur;
+}
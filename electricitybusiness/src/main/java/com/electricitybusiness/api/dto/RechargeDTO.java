@@ -0,0 +1,22 @@
+package com.electricitybusiness.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO pour l'entité Recharge
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RechargeDTO {
+    private Long id;
+    private String numero;
+    private Double montant;
+    private LocalDateTime dateRecharge;
+    private String reference;
+    private String statut;
+}
@@ -11,4 +11,5 @@ public class RegisterRequest {
     private String nom;
     private String prenom;
     private LocalDate dateDeNaissance;
+    private Long numLieu;
 } 
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.electricitybusiness.api.dto;
+
+import com.electricitybusiness.api.model.RegleTarifaire;
+
+/**
+ * Projection d'un tarif horaire avec le numéro de sa borne
+ * Utilisée pour compiler les chronologies tarifaires sans charger les entités Borne
+ */
+public interface RegleTarifaireBorne extends RegleTarifaire {
+    Long getNumBorne();
+}
@@ -0,0 +1,17 @@
+package com.electricitybusiness.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'une réservation réduite à sa borne et à son créneau
+ * Utilisée pour construire la grille de disponibilités sans charger les entités
+ */
+public interface ReservationCreneau {
+    Long getNumReservation();
+
+    Long getNumBorne();
+
+    LocalDateTime getDateDebut();
+
+    LocalDateTime getDateFin();
+}
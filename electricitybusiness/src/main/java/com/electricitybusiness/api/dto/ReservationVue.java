@@ -0,0 +1,28 @@
+package com.electricitybusiness.api.dto;
+
+import com.electricitybusiness.api.model.EtatReservation;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'une réservation réduite aux colonnes de ReservationDTO
+ * Les numéros d'utilisateur et de borne sont lus dans les clés étrangères, sans jointure
+ */
+public interface ReservationVue {
+    Long getNumReservation();
+
+    LocalDateTime getDateDebut();
+
+    LocalDateTime getDateFin();
+
+    EtatReservation getEtat();
+
+    BigDecimal getMontantTotal();
+
+    LocalDateTime getDateValidation();
+
+    Long getNumUtilisateur();
+
+    Long getNumBorne();
+}
@@ -0,0 +1,40 @@
+package com.electricitybusiness.api.dto;
+
+import com.electricitybusiness.api.model.RoleUtilisateur;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'un utilisateur réduite aux colonnes de UtilisateurDTO, lieu compris
+ * Ni le mot de passe ni le code de validation ne sont lus
+ */
+public interface UtilisateurVue {
+    Long getNumUtilisateur();
+
+    String getNomUtilisateur();
+
+    String getPrenom();
+
+    String getPseudo();
+
+    RoleUtilisateur getRole();
+
+    String getAdresseMail();
+
+    LocalDate getDateDeNaissance();
+
+    String getIban();
+
+    String getVehicule();
+
+    Boolean getBanni();
+
+    Boolean getCompteValide();
+
+    LocalDateTime getDateInscription();
+
+    Long getNumLieu();
+
+    String getInstructionsLieu();
+}
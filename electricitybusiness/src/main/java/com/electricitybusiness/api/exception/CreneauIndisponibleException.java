@@ -0,0 +1,11 @@
+package com.electricitybusiness.api.exception;
+
+/**
+ * Levée lorsqu'un créneau demandé chevauche une réservation existante de la même borne.
+ */
+public class CreneauIndisponibleException extends RuntimeException {
+
+    public CreneauIndisponibleException(String message) {
+        super(message);
+    }
+}
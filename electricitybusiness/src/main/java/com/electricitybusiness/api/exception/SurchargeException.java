@@ -0,0 +1,12 @@
+package com.electricitybusiness.api.exception;
+
+/**
+ * Levée lorsqu'un traitement coûteux (hachage de mot de passe) est refusé faute de capacité.
+ * Le client est invité à réessayer plus tard (429).
+ */
+public class SurchargeException extends RuntimeException {
+
+    public SurchargeException(String message) {
+        super(message);
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.stereotype.Component;
 /**
  * Mapper pour convertir entre entités JPA et DTOs
  * Évite les références circulaires en contrôlant la sérialisation
+ * Convertit aussi les projections (BorneVue, ReservationVue, UtilisateurVue, RegleTarifaireBorne) : les lectures
+ * des contrôleurs de bornes, réservations, utilisateurs et tarifs renvoient des DTOs sans charger les entités
  */
 @Component
 public class EntityMapper {
@@ -25,6 +27,12 @@ public class EntityMapper {
         return lieu;
     }
 
+    // Lieu lu à plat dans une projection (null si la ligne n'a pas de lieu)
+    private LieuDTO toLieuDTO(Long numLieu, String instructions) {
+        if (numLieu == null) return null;
+        return new LieuDTO(numLieu, instructions);
+    }
+
     // === ADRESSE ===
     public AdresseDTO toDTO(Adresse adresse) {
         if (adresse == null) return null;
@@ -78,6 +86,25 @@ public class EntityMapper {
         );
     }
 
+    public UtilisateurDTO toDTO(UtilisateurVue vue) {
+        if (vue == null) return null;
+        return new UtilisateurDTO(
+            vue.getNumUtilisateur(),
+            vue.getNomUtilisateur(),
+            vue.getPrenom(),
+            vue.getPseudo(),
+            vue.getRole(),
+            vue.getAdresseMail(),
+            vue.getDateDeNaissance(),
+            vue.getIban(),
+            vue.getVehicule(),
+            vue.getBanni(),
+            vue.getCompteValide(),
+            vue.getDateInscription(),
+            toLieuDTO(vue.getNumLieu(), vue.getInstructionsLieu())
+        );
+    }
+
     public Utilisateur toEntity(UtilisateurDTO dto) {
         if (dto == null) return null;
         Utilisateur utilisateur = new Utilisateur();
@@ -116,6 +143,24 @@ public class EntityMapper {
         );
     }
 
+    public BorneDTO toDTO(BorneVue vue) {
+        if (vue == null) return null;
+        return new BorneDTO(
+            vue.getNumBorne(),
+            vue.getNomBorne(),
+            vue.getLatitude(),
+            vue.getLongitude(),
+            vue.getPuissance(),
+            vue.getInstruction(),
+            vue.getSurPied(),
+            vue.getEtat(),
+            vue.getOccupee(),
+            vue.getDateCreation(),
+            vue.getDerniereMaintenance(),
+            toLieuDTO(vue.getNumLieu(), vue.getInstructionsLieu())
+        );
+    }
+
     public Borne toEntity(BorneDTO dto) {
         if (dto == null) return null;
         Borne borne = new Borne();
@@ -173,6 +218,20 @@ public class EntityMapper {
         );
     }
 
+    public ReservationDTO toDTO(ReservationVue vue) {
+        if (vue == null) return null;
+        return new ReservationDTO(
+            vue.getNumReservation(),
+            vue.getDateDebut(),
+            vue.getDateFin(),
+            vue.getEtat(),
+            vue.getMontantTotal(),
+            vue.getDateValidation(),
+            vue.getNumUtilisateur(),
+            vue.getNumBorne()
+        );
+    }
+
     public Reservation toEntity(ReservationDTO dto) {
         if (dto == null) return null;
         Reservation reservation = new Reservation();
@@ -202,6 +261,21 @@ public class EntityMapper {
         );
     }
 
+    public TarifHoraireDTO toDTO(RegleTarifaireBorne regle) {
+        if (regle == null) return null;
+        return new TarifHoraireDTO(
+            regle.getNumTarif(),
+            regle.getTarifParMinute(),
+            regle.getHeureDebut(),
+            regle.getHeureFin(),
+            regle.getJourSemaine(),
+            regle.getDateDebut(),
+            regle.getDateFin(),
+            regle.getActif(),
+            regle.getNumBorne()
+        );
+    }
+
     public TarifHoraire toEntity(TarifHoraireDTO dto) {
         if (dto == null) return null;
         TarifHoraire tarif = new TarifHoraire();
@@ -216,4 +290,17 @@ public class EntityMapper {
         // Note: La référence Borne doit être résolue par le service
         return tarif;
     }
-} 
\ No newline at end of file
+
+    // === RECHARGE ===
+    public RechargeDTO toDTO(Recharge recharge) {
+        if (recharge == null) return null;
+        return new RechargeDTO(
+            recharge.getId(),
+            recharge.getNumero(),
+            recharge.getMontant(),
+            recharge.getDateRecharge(),
+            recharge.getReference(),
+            recharge.getStatut()
+        );
+    }
+}
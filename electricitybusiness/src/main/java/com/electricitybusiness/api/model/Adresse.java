@@ -3,6 +3,8 @@ package com.electricitybusiness.api.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -14,14 +16,20 @@ import java.util.List;
  * Une adresse peut être associée à un lieu et héberger plusieurs utilisateurs.
  */
 @Entity
-@Table(name = "adresse")
+// En production (ddl-auto=validate), l'index est créé par db/postgresql/index-recherche-disponibles.sql
+@Table(name = "adresse", indexes = {
+    @Index(name = "idx_adresse_ville", columnList = "ville")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "adresse")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Adresse {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "adresse_seq")
+    @SequenceGenerator(name = "adresse_seq", sequenceName = "adresse_seq", allocationSize = 50)
     @Column(name = "num_adresse")
     private Long numAdresse;
 
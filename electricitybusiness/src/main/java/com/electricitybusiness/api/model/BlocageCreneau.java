@@ -0,0 +1,44 @@
+package com.electricitybusiness.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entité représentant un blocage temporaire de créneau sur une borne, partagé par toutes les instances.
+ * Un blocage dont l'expiration est passée n'a plus d'effet, même tant que sa ligne n'est pas supprimée.
+ */
+@Entity
+// En production (ddl-auto=validate), la table est créée par db/postgresql/blocage-creneau.sql
+@Table(name = "blocage_creneau", indexes = {
+    @Index(name = "idx_blocage_borne_dates", columnList = "num_borne, date_debut, date_fin"),
+    @Index(name = "idx_blocage_utilisateur", columnList = "num_utilisateur"),
+    @Index(name = "idx_blocage_expiration", columnList = "expiration")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlocageCreneau {
+
+    @Id
+    @Column(name = "jeton", length = 36)
+    private String jeton;
+
+    @Column(name = "num_borne", nullable = false)
+    private Long numBorne;
+
+    @Column(name = "num_utilisateur", nullable = false)
+    private Long numUtilisateur;
+
+    @Column(name = "date_debut", nullable = false)
+    private LocalDateTime dateDebut;
+
+    @Column(name = "date_fin", nullable = false)
+    private LocalDateTime dateFin;
+
+    @Column(name = "expiration", nullable = false)
+    private LocalDateTime expiration;
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
@@ -18,14 +19,20 @@ import java.util.List;
  * Une borne appartient à un lieu et peut avoir des réservations et des tarifs.
  */
 @Entity
-@Table(name = "borne")
+// En production (ddl-auto=validate), les index sont créés par db/postgresql/index-borne-latitude-longitude.sql
+// et db/postgresql/borne-date-modification.sql
+@Table(name = "borne", indexes = {
+    @Index(name = "idx_borne_latitude_longitude", columnList = "latitude, longitude"),
+    @Index(name = "idx_borne_date_modification", columnList = "date_modification")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Borne {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "borne_seq")
+    @SequenceGenerator(name = "borne_seq", sequenceName = "borne_seq", allocationSize = 50)
     @Column(name = "num_borne")
     private Long numBorne;
 
@@ -67,6 +74,12 @@ public class Borne {
     @Column(name = "date_creation", nullable = false)
     private LocalDateTime dateCreation = LocalDateTime.now();
 
+    // Dernière écriture de la ligne, y compris par les UPDATE groupés du cycle des réservations :
+    // les autres instances y relisent les bornes modifiées pour rafraîchir leurs index en mémoire
+    @UpdateTimestamp
+    @Column(name = "date_modification")
+    private LocalDateTime dateModification;
+
     @Column(name = "derniere_maintenance")
     private LocalDateTime derniereMaintenance;
 
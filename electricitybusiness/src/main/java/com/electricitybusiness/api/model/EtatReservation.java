@@ -1,5 +1,8 @@
 package com.electricitybusiness.api.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Énumération des états possibles d'une réservation.
  */
@@ -9,5 +12,16 @@ public enum EtatReservation {
     REFUSEE,
     EN_COURS,
     TERMINEE,
-    ANNULEE
-} 
\ No newline at end of file
+    ANNULEE;
+
+    /**
+     * États pour lesquels la réservation bloque le créneau de la borne.
+     */
+    public static Set<EtatReservation> bloquants() {
+        return EnumSet.of(DEMANDE, ACCEPTEE, EN_COURS);
+    }
+
+    public boolean estBloquant() {
+        return this == DEMANDE || this == ACCEPTEE || this == EN_COURS;
+    }
+}
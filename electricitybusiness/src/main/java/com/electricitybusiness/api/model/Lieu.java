@@ -1,6 +1,8 @@
 package com.electricitybusiness.api.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -13,13 +15,16 @@ import java.util.List;
  */
 @Entity
 @Table(name = "lieu")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lieu")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Lieu {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lieu_seq")
+    @SequenceGenerator(name = "lieu_seq", sequenceName = "lieu_seq", allocationSize = 50)
     @Column(name = "num_lieu")
     private Long numLieu;
 
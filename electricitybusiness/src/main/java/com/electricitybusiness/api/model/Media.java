@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -16,13 +18,16 @@ import java.util.List;
  */
 @Entity
 @Table(name = "media")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "media")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Media {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "media_seq")
+    @SequenceGenerator(name = "media_seq", sequenceName = "media_seq", allocationSize = 50)
     @Column(name = "num_media")
     private Long numMedia;
 
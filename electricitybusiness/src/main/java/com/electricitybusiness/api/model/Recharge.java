@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 @Data
 public class Recharge {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recharge_seq")
+    @SequenceGenerator(name = "recharge_seq", sequenceName = "recharge_seq", allocationSize = 50)
     private Long id;
 
     private String numero;
@@ -0,0 +1,27 @@
+package com.electricitybusiness.api.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Vue en lecture seule d'une règle de tarification horaire.
+ * Implémentée par l'entité TarifHoraire et par les projections chargées sans entité.
+ */
+public interface RegleTarifaire {
+    Long getNumTarif();
+
+    BigDecimal getTarifParMinute();
+
+    LocalTime getHeureDebut();
+
+    LocalTime getHeureFin();
+
+    Integer getJourSemaine();
+
+    LocalDate getDateDebut();
+
+    LocalDate getDateFin();
+
+    Boolean getActif();
+}
@@ -17,14 +17,18 @@ import java.time.LocalDateTime;
  * Table de liaison entre Utilisateur et Borne avec attributs métier.
  */
 @Entity
-@Table(name = "reserver")
+// En production (ddl-auto=validate), l'index est créé par db/postgresql/index-recherche-disponibles.sql
+@Table(name = "reserver", indexes = {
+    @Index(name = "idx_reserver_borne_dates", columnList = "num_borne, date_debut, date_fin")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Reservation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reserver_seq")
+    @SequenceGenerator(name = "reserver_seq", sequenceName = "reserver_seq", allocationSize = 50)
     @Column(name = "num_reservation")
     private Long numReservation;
 
@@ -0,0 +1,36 @@
+package com.electricitybusiness.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entité représentant la révocation des jetons déjà émis d'un utilisateur modifié, banni ou supprimé.
+ * Lue par toutes les instances (CachePrincipaux) ; une ligne plus ancienne que la durée de vie d'un jeton
+ * n'a plus d'effet et est purgée.
+ */
+@Entity
+// En production (ddl-auto=validate), la table est créée par db/postgresql/revocation-utilisateur.sql
+@Table(name = "revocation_utilisateur", indexes = {
+    @Index(name = "idx_revocation_date", columnList = "date_revocation")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevocationUtilisateur {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "revocation_utilisateur_seq")
+    @SequenceGenerator(name = "revocation_utilisateur_seq", sequenceName = "revocation_utilisateur_seq", allocationSize = 50)
+    @Column(name = "num_revocation")
+    private Long numRevocation;
+
+    @Column(name = "adresse_mail", length = 150, nullable = false)
+    private String adresseMail;
+
+    @Column(name = "date_revocation", nullable = false)
+    private LocalDateTime dateRevocation;
+}
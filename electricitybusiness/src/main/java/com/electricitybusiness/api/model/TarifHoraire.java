@@ -3,6 +3,8 @@ package com.electricitybusiness.api.model;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -17,13 +19,16 @@ import java.time.LocalTime;
  */
 @Entity
 @Table(name = "tarif_horaire")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tarif_horaire")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class TarifHoraire {
+public class TarifHoraire implements RegleTarifaire {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tarif_horaire_seq")
+    @SequenceGenerator(name = "tarif_horaire_seq", sequenceName = "tarif_horaire_seq", allocationSize = 50)
     @Column(name = "num_tarif")
     private Long numTarif;
 
@@ -55,7 +60,8 @@ public class TarifHoraire {
     @Column(name = "actif", nullable = false)
     private Boolean actif = true;
 
-    @ManyToOne
+    // Paresseuse : seul son identifiant est lu, un tarif relu depuis le cache de second niveau ne recharge pas la borne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "num_borne", nullable = false)
     @NotNull(message = "La borne est obligatoire")
     @JsonBackReference("borne-tarifs")
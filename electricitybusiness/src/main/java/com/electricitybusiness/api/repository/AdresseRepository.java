@@ -1,6 +1,7 @@
 package com.electricitybusiness.api.repository;
 
 import com.electricitybusiness.api.model.Adresse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -12,4 +13,9 @@ import java.util.List;
 @Repository
 public interface AdresseRepository extends JpaRepository<Adresse, Long> {
     List<Adresse> findByVille(String ville);
-} 
\ No newline at end of file
+
+    /**
+     * Page par clé : les adresses de clé supérieure à apres, par clé croissante (voir Pagination).
+     */
+    List<Adresse> findByNumAdresseGreaterThanOrderByNumAdresseAsc(Long apres, Limit limite);
+}
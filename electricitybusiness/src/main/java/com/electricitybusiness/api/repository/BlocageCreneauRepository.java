@@ -0,0 +1,44 @@
+package com.electricitybusiness.api.repository;
+
+import com.electricitybusiness.api.model.BlocageCreneau;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository pour l'entité BlocageCreneau.
+ * Seuls les blocages dont l'expiration est postérieure à maintenant sont pris en compte.
+ */
+@Repository
+public interface BlocageCreneauRepository extends JpaRepository<BlocageCreneau, String> {
+
+    /**
+     * Vrai si un blocage en cours de la borne, autre que jetonIgnore (peut être null), chevauche [dateDebut, dateFin).
+     */
+    @Query("SELECT COUNT(b) > 0 FROM BlocageCreneau b WHERE b.numBorne = :numBorne AND b.expiration > :maintenant " +
+           "AND b.dateDebut < :dateFin AND b.dateFin > :dateDebut " +
+           "AND (:jetonIgnore IS NULL OR b.jeton <> :jetonIgnore)")
+    boolean existsChevauchement(@Param("numBorne") Long numBorne,
+                                @Param("dateDebut") LocalDateTime dateDebut,
+                                @Param("dateFin") LocalDateTime dateFin,
+                                @Param("maintenant") LocalDateTime maintenant,
+                                @Param("jetonIgnore") String jetonIgnore);
+
+    long countByNumUtilisateurAndExpirationAfter(Long numUtilisateur, LocalDateTime maintenant);
+
+    List<BlocageCreneau> findByNumBorneInAndExpirationAfter(Collection<Long> numBornes, LocalDateTime maintenant);
+
+    @Modifying
+    @Query("DELETE FROM BlocageCreneau b WHERE b.jeton = :jeton")
+    int supprimer(@Param("jeton") String jeton);
+
+    @Modifying
+    @Query("DELETE FROM BlocageCreneau b WHERE b.expiration <= :maintenant")
+    int supprimerExpires(@Param("maintenant") LocalDateTime maintenant);
+}
@@ -1,12 +1,25 @@
 package com.electricitybusiness.api.repository;
 
+import com.electricitybusiness.api.dto.BornePosition;
+import com.electricitybusiness.api.dto.BorneVue;
 import com.electricitybusiness.api.model.Borne;
 import com.electricitybusiness.api.model.EtatBorne;
+import com.electricitybusiness.api.model.EtatReservation;
 import com.electricitybusiness.api.model.Lieu;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository pour l'entité Borne.
@@ -14,6 +27,14 @@ import java.util.List;
  */
 @Repository
 public interface BorneRepository extends JpaRepository<Borne, Long> {
+
+    /**
+     * Début des requêtes de projection BorneVue : colonnes de BorneDTO, lieu joint (les alias nomment les propriétés).
+     */
+    String VUE = "SELECT b.numBorne AS numBorne, b.nomBorne AS nomBorne, b.latitude AS latitude, b.longitude AS longitude, " +
+                 "b.puissance AS puissance, b.instruction AS instruction, b.surPied AS surPied, b.etat AS etat, " +
+                 "b.occupee AS occupee, b.dateCreation AS dateCreation, b.derniereMaintenance AS derniereMaintenance, " +
+                 "l.numLieu AS numLieu, l.instructions AS instructionsLieu FROM Borne b LEFT JOIN b.lieu l ";
     
     List<Borne> findByLieu(Lieu lieu);
     
@@ -22,4 +43,86 @@ public interface BorneRepository extends JpaRepository<Borne, Long> {
     List<Borne> findByOccupee(Boolean occupee);
     
     List<Borne> findByLieuAndEtat(Lieu lieu, EtatBorne etat);
-} 
\ No newline at end of file
+
+    @Query("SELECT b.numBorne AS numBorne, b.latitude AS latitude, b.longitude AS longitude, " +
+           "b.etat AS etat, b.occupee AS occupee FROM Borne b")
+    List<BornePosition> findAllPositions();
+
+    @Query("SELECT b.numBorne AS numBorne, b.latitude AS latitude, b.longitude AS longitude, " +
+           "b.etat AS etat, b.occupee AS occupee FROM Borne b WHERE b.numBorne IN :numBornes")
+    List<BornePosition> findPositionsByNumBorneIn(@Param("numBornes") Collection<Long> numBornes);
+
+    /**
+     * Bornes écrites après depuis (date_modification), sur n'importe quelle instance.
+     */
+    @Query("SELECT b.numBorne AS numBorne, b.latitude AS latitude, b.longitude AS longitude, " +
+           "b.etat AS etat, b.occupee AS occupee FROM Borne b WHERE b.dateModification > :depuis")
+    List<BornePosition> findPositionsModifieesDepuis(@Param("depuis") LocalDateTime depuis);
+
+    @Query("SELECT b.numBorne FROM Borne b WHERE b.numBorne IN :numBornes")
+    List<Long> findNumBornesByNumBorneIn(@Param("numBornes") Collection<Long> numBornes);
+
+    @Query(VUE + "WHERE b.latitude BETWEEN :latMin AND :latMax " +
+           "AND b.longitude BETWEEN :lonMin AND :lonMax")
+    List<BorneVue> findInBoundingBox(@Param("latMin") BigDecimal latMin, @Param("latMax") BigDecimal latMax,
+                                  @Param("lonMin") BigDecimal lonMin, @Param("lonMax") BigDecimal lonMax);
+
+    /**
+     * Bornes d'une ville sans réservation dans les états donnés ni blocage non expiré à maintenant
+     * chevauchant [dateDebut, dateFin).
+     * Une seule requête : lieu et adresse sont joints, aucune entité n'est chargée.
+     */
+    @Query(VUE + "JOIN l.adresse a " +
+           "WHERE a.ville = :ville AND NOT EXISTS (" +
+           "SELECT r.numReservation FROM Reservation r WHERE r.borne = b AND r.etat IN :etats " +
+           "AND r.dateDebut < :dateFin AND r.dateFin > :dateDebut) " +
+           "AND NOT EXISTS (" +
+           "SELECT bc.jeton FROM BlocageCreneau bc WHERE bc.numBorne = b.numBorne AND bc.expiration > :maintenant " +
+           "AND bc.dateDebut < :dateFin AND bc.dateFin > :dateDebut) " +
+           "ORDER BY b.numBorne")
+    List<BorneVue> findDisponiblesByVille(@Param("ville") String ville,
+                                       @Param("dateDebut") LocalDateTime dateDebut,
+                                       @Param("dateFin") LocalDateTime dateFin,
+                                       @Param("etats") Collection<EtatReservation> etats,
+                                       @Param("maintenant") LocalDateTime maintenant);
+
+    /**
+     * Charge la borne en verrouillant sa ligne (SELECT ... FOR UPDATE) jusqu'à la fin de la transaction :
+     * les réservations concurrentes d'une même borne sont sérialisées, y compris entre plusieurs instances.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Borne b WHERE b.numBorne = :numBorne")
+    Optional<Borne> findByIdPourReservation(@Param("numBorne") Long numBorne);
+
+    /**
+     * Marque les bornes occupées ; la date de modification est posée à la main, un UPDATE JPQL
+     * ne passant pas par @UpdateTimestamp.
+     */
+    @Modifying
+    @Query("UPDATE Borne b SET b.occupee = true, b.dateModification = :maintenant WHERE b.numBorne IN :numBornes")
+    int marquerOccupees(@Param("numBornes") Collection<Long> numBornes, @Param("maintenant") LocalDateTime maintenant);
+
+    /**
+     * Libère les bornes qui n'ont plus de réservation dans l'état enCours.
+     */
+    @Modifying
+    @Query("UPDATE Borne b SET b.occupee = false, b.dateModification = :maintenant WHERE b.numBorne IN :numBornes " +
+           "AND NOT EXISTS (SELECT r.numReservation FROM Reservation r WHERE r.borne = b AND r.etat = :enCours)")
+    int libererSansReservation(@Param("numBornes") Collection<Long> numBornes,
+                               @Param("enCours") EtatReservation enCours,
+                               @Param("maintenant") LocalDateTime maintenant);
+
+    /**
+     * Page par clé : les bornes de clé supérieure à apres, par clé croissante (voir Pagination).
+     * Pas de cache de requêtes : la table borne est réécrite à chaque passage du cycle des réservations,
+     * ce qui invaliderait les résultats presque aussitôt mis en cache.
+     */
+    @Query(VUE + "WHERE b.numBorne > :apres ORDER BY b.numBorne")
+    List<BorneVue> findVuesApres(@Param("apres") Long apres, Limit limite);
+
+    @Query(VUE + "WHERE b.numBorne = :numBorne")
+    Optional<BorneVue> findVueById(@Param("numBorne") Long numBorne);
+
+    @Query(VUE + "WHERE b.numBorne IN :numBornes ORDER BY b.numBorne")
+    List<BorneVue> findVuesByNumBorneIn(@Param("numBornes") Collection<Long> numBornes);
+}
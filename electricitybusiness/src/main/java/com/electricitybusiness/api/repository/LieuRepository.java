@@ -1,13 +1,20 @@
 package com.electricitybusiness.api.repository;
 
 import com.electricitybusiness.api.model.Lieu;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repository pour l'entité Lieu.
  * Fournit les opérations CRUD de base pour les lieux.
  */
 @Repository
 public interface LieuRepository extends JpaRepository<Lieu, Long> {
-} 
\ No newline at end of file
+    /**
+     * Page par clé : les lieux de clé supérieure à apres, par clé croissante (voir Pagination).
+     */
+    List<Lieu> findByNumLieuGreaterThanOrderByNumLieuAsc(Long apres, Limit limite);
+}
@@ -1,6 +1,7 @@
 package com.electricitybusiness.api.repository;
 
 import com.electricitybusiness.api.model.Media;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -14,4 +15,9 @@ import java.util.List;
 public interface MediaRepository extends JpaRepository<Media, Long> {
     
     List<Media> findByType(String type);
-} 
\ No newline at end of file
+
+    /**
+     * Page par clé : les médias de clé supérieure à apres, par clé croissante (voir Pagination).
+     */
+    List<Media> findByNumMediaGreaterThanOrderByNumMediaAsc(Long apres, Limit limite);
+}
@@ -1,9 +1,16 @@
 package com.electricitybusiness.api.repository;
 
 import com.electricitybusiness.api.model.Recharge;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RechargeRepository extends JpaRepository<Recharge, Long> {
-} 
\ No newline at end of file
+    /**
+     * Page par clé : les recharges de clé supérieure à apres, par clé croissante (voir Pagination).
+     */
+    List<Recharge> findByIdGreaterThanOrderByIdAsc(Long apres, Limit limite);
+}
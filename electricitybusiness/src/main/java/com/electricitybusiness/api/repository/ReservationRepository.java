@@ -1,14 +1,22 @@
 package com.electricitybusiness.api.repository;
 
+import com.electricitybusiness.api.dto.ReservationCreneau;
+import com.electricitybusiness.api.dto.ReservationVue;
 import com.electricitybusiness.api.model.Borne;
 import com.electricitybusiness.api.model.EtatReservation;
 import com.electricitybusiness.api.model.Reservation;
 import com.electricitybusiness.api.model.Utilisateur;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository pour l'entité Reservation.
@@ -16,6 +24,13 @@ import java.util.List;
  */
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    /**
+     * Début des requêtes de projection ReservationVue : colonnes de ReservationDTO (les alias nomment les propriétés).
+     */
+    String VUE = "SELECT r.numReservation AS numReservation, r.dateDebut AS dateDebut, r.dateFin AS dateFin, " +
+                 "r.etat AS etat, r.montantTotal AS montantTotal, r.dateValidation AS dateValidation, " +
+                 "r.utilisateur.numUtilisateur AS numUtilisateur, r.borne.numBorne AS numBorne FROM Reservation r ";
     
     List<Reservation> findByUtilisateur(Utilisateur utilisateur);
     
@@ -28,4 +43,68 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findByBorneAndEtat(Borne borne, EtatReservation etat);
     
     List<Reservation> findByUtilisateurAndDateFinBefore(Utilisateur utilisateur, LocalDateTime dateFin);
-} 
\ No newline at end of file
+
+    @Query(VUE + "WHERE r.utilisateur.numUtilisateur = :numUtilisateur AND r.dateFin < :dateFin ORDER BY r.numReservation")
+    List<ReservationVue> findVuesByNumUtilisateurAndDateFinBefore(@Param("numUtilisateur") Long numUtilisateur,
+                                                                  @Param("dateFin") LocalDateTime dateFin);
+
+    /**
+     * Créneaux des réservations des bornes, dans les états donnés, qui chevauchent [debut, fin) :
+     * une lecture par plage de l'index idx_reserver_borne_dates pour chaque borne.
+     */
+    @Query("SELECT r.numReservation AS numReservation, r.borne.numBorne AS numBorne, " +
+           "r.dateDebut AS dateDebut, r.dateFin AS dateFin FROM Reservation r " +
+           "WHERE r.borne.numBorne IN :numBornes AND r.etat IN :etats AND r.dateDebut < :fin AND r.dateFin > :debut")
+    List<ReservationCreneau> findCreneauxByNumBorneInAndPeriode(@Param("numBornes") Collection<Long> numBornes,
+                                                                @Param("debut") LocalDateTime debut,
+                                                                @Param("fin") LocalDateTime fin,
+                                                                @Param("etats") Collection<EtatReservation> etats);
+
+    /**
+     * Vrai si une réservation de la borne dans les états donnés chevauche [dateDebut, dateFin),
+     * en ignorant la réservation exclue (null pour une création).
+     */
+    @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.borne.numBorne = :numBorne AND r.etat IN :etats " +
+           "AND r.dateDebut < :dateFin AND r.dateFin > :dateDebut " +
+           "AND (:exclue IS NULL OR r.numReservation <> :exclue)")
+    boolean existsChevauchement(@Param("numBorne") Long numBorne,
+                                @Param("dateDebut") LocalDateTime dateDebut,
+                                @Param("dateFin") LocalDateTime dateFin,
+                                @Param("etats") Collection<EtatReservation> etats,
+                                @Param("exclue") Long exclue);
+
+    /**
+     * Verrouille et renvoie au plus taille réservations dans les états donnés dont la date de début est atteinte.
+     * SKIP LOCKED : les lignes déjà verrouillées par une autre instance sont ignorées au lieu d'être attendues.
+     */
+    @Query(value = "SELECT num_reservation FROM reserver WHERE etat IN (:etats) AND date_debut <= :instant " +
+                   "ORDER BY num_reservation LIMIT :taille FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> reclamerADemarrer(@Param("etats") Collection<String> etats,
+                                 @Param("instant") LocalDateTime instant,
+                                 @Param("taille") int taille);
+
+    /**
+     * Verrouille et renvoie au plus taille réservations dans les états donnés dont la date de fin est atteinte.
+     */
+    @Query(value = "SELECT num_reservation FROM reserver WHERE etat IN (:etats) AND date_fin <= :instant " +
+                   "ORDER BY num_reservation LIMIT :taille FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> reclamerATerminer(@Param("etats") Collection<String> etats,
+                                 @Param("instant") LocalDateTime instant,
+                                 @Param("taille") int taille);
+
+    @Modifying
+    @Query("UPDATE Reservation r SET r.etat = :etat WHERE r.numReservation IN :ids")
+    int updateEtat(@Param("ids") Collection<Long> ids, @Param("etat") EtatReservation etat);
+
+    @Query("SELECT DISTINCT r.borne.numBorne FROM Reservation r WHERE r.numReservation IN :ids")
+    List<Long> findNumBornesByNumReservationIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Page par clé : les réservations de clé supérieure à apres, par clé croissante (voir Pagination).
+     */
+    @Query(VUE + "WHERE r.numReservation > :apres ORDER BY r.numReservation")
+    List<ReservationVue> findVuesApres(@Param("apres") Long apres, Limit limite);
+
+    @Query(VUE + "WHERE r.numReservation = :numReservation")
+    Optional<ReservationVue> findVueById(@Param("numReservation") Long numReservation);
+}
@@ -0,0 +1,27 @@
+package com.electricitybusiness.api.repository;
+
+import com.electricitybusiness.api.model.RevocationUtilisateur;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository pour l'entité RevocationUtilisateur.
+ */
+@Repository
+public interface RevocationUtilisateurRepository extends JpaRepository<RevocationUtilisateur, Long> {
+
+    List<RevocationUtilisateur> findByDateRevocationAfter(LocalDateTime depuis);
+
+    /**
+     * Supprime les révocations antérieures à la date donnée.
+     */
+    @Modifying
+    @Query("DELETE FROM RevocationUtilisateur r WHERE r.dateRevocation < :avant")
+    int supprimerAvant(@Param("avant") LocalDateTime avant);
+}
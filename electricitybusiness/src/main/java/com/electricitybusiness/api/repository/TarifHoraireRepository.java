@@ -1,11 +1,20 @@
 package com.electricitybusiness.api.repository;
 
+import com.electricitybusiness.api.dto.RegleTarifaireBorne;
 import com.electricitybusiness.api.model.Borne;
 import com.electricitybusiness.api.model.TarifHoraire;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository pour l'entité TarifHoraire.
@@ -13,10 +22,35 @@ import java.util.List;
  */
 @Repository
 public interface TarifHoraireRepository extends JpaRepository<TarifHoraire, Long> {
+
+    /**
+     * Début des requêtes de projection RegleTarifaireBorne (les alias nomment les propriétés).
+     */
+    String REGLE = "SELECT t.numTarif AS numTarif, t.borne.numBorne AS numBorne, t.tarifParMinute AS tarifParMinute, " +
+                   "t.heureDebut AS heureDebut, t.heureFin AS heureFin, t.jourSemaine AS jourSemaine, " +
+                   "t.dateDebut AS dateDebut, t.dateFin AS dateFin, t.actif AS actif FROM TarifHoraire t ";
     
     List<TarifHoraire> findByBorne(Borne borne);
     
     List<TarifHoraire> findByBorneAndActif(Borne borne, Boolean actif);
     
     List<TarifHoraire> findByActif(Boolean actif);
-} 
\ No newline at end of file
+
+    @Query(REGLE + "WHERE t.actif = true AND t.borne.numBorne IN :numBornes")
+    List<RegleTarifaireBorne> findReglesActivesByNumBorneIn(@Param("numBornes") Collection<Long> numBornes);
+
+    @Query(REGLE + "WHERE t.actif = true")
+    List<RegleTarifaireBorne> findReglesActives();
+
+    /**
+     * Page par clé : les tarifs horaires de clé supérieure à apres, par clé croissante (voir Pagination).
+     * Lignes gardées dans le cache de requêtes Hibernate, invalidées par toute écriture dans tarif_horaire.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query(REGLE + "WHERE t.numTarif > :apres ORDER BY t.numTarif")
+    List<RegleTarifaireBorne> findReglesApres(@Param("apres") Long apres, Limit limite);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query(REGLE + "WHERE t.numTarif = :numTarif")
+    Optional<RegleTarifaireBorne> findRegleById(@Param("numTarif") Long numTarif);
+}
@@ -1,9 +1,15 @@
 package com.electricitybusiness.api.repository;
 
+import com.electricitybusiness.api.dto.UtilisateurVue;
 import com.electricitybusiness.api.model.Utilisateur;
 import com.electricitybusiness.api.model.RoleUtilisateur;
 import com.electricitybusiness.api.model.Lieu;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,11 +21,28 @@ import java.util.Optional;
  */
 @Repository
 public interface UtilisateurRepository extends JpaRepository<Utilisateur, Long> {
+
+    /**
+     * Début des requêtes de projection UtilisateurVue : colonnes de UtilisateurDTO, lieu joint (les alias nomment les propriétés).
+     */
+    String VUE = "SELECT u.numUtilisateur AS numUtilisateur, u.nomUtilisateur AS nomUtilisateur, u.prenom AS prenom, " +
+                 "u.pseudo AS pseudo, u.role AS role, u.adresseMail AS adresseMail, u.dateDeNaissance AS dateDeNaissance, " +
+                 "u.iban AS iban, u.vehicule AS vehicule, u.banni AS banni, u.compteValide AS compteValide, " +
+                 "u.dateInscription AS dateInscription, l.numLieu AS numLieu, l.instructions AS instructionsLieu " +
+                 "FROM Utilisateur u LEFT JOIN u.lieu l ";
     
     Optional<Utilisateur> findByPseudo(String pseudo);
     
     Optional<Utilisateur> findByAdresseMail(String adresseMail);
     
+    /**
+     * Charge l'utilisateur en verrouillant sa ligne (SELECT ... FOR UPDATE) jusqu'à la fin de la transaction :
+     * les blocages de créneaux d'un même utilisateur sont comptés l'un après l'autre, y compris entre instances.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM Utilisateur u WHERE u.adresseMail = :adresseMail")
+    Optional<Utilisateur> findByAdresseMailPourBlocage(@Param("adresseMail") String adresseMail);
+    
     boolean existsByPseudo(String pseudo);
     
     boolean existsByAdresseMail(String adresseMail);
@@ -27,4 +50,13 @@ public interface UtilisateurRepository extends JpaRepository<Utilisateur, Long>
     List<Utilisateur> findByRole(RoleUtilisateur role);
 
     List<Utilisateur> findByLieu(Lieu lieu);
-} 
\ No newline at end of file
+
+    /**
+     * Page par clé : les utilisateurs de clé supérieure à apres, par clé croissante (voir Pagination).
+     */
+    @Query(VUE + "WHERE u.numUtilisateur > :apres ORDER BY u.numUtilisateur")
+    List<UtilisateurVue> findVuesApres(@Param("apres") Long apres, Limit limite);
+
+    @Query(VUE + "WHERE u.numUtilisateur = :numUtilisateur")
+    Optional<UtilisateurVue> findVueById(@Param("numUtilisateur") Long numUtilisateur);
+}
@@ -0,0 +1,101 @@
+package com.electricitybusiness.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache des jetons déjà vérifiés, indexé par l'empreinte SHA-256 du jeton.
+ * Un client qui renvoie le même jeton évite la vérification HMAC et l'analyse des claims :
+ * seule l'empreinte est recalculée. Chaque entrée expire au plus tard à l'expiration (exp) du jeton,
+ * le nombre d'entrées est borné et seuls les jetons valides sont conservés.
+ * Les métriques de succès / échecs sont publiées sous le nom securite.jwt.jetons (cache.gets, cache.size...).
+ * Le cache ne retarde pas le bannissement d'un utilisateur : CachePrincipaux compare toujours la date d'émission
+ * (bannissement immédiat sur l'instance qui le prononce, différé d'au plus un rafraîchissement sur les autres).
+ */
+@Component
+public class CacheJetons {
+
+    public static final String METRIQUE = "securite.jwt.jetons";
+
+    private final JwtService jwtService;
+    private final Cache<ByteBuffer, Claims> jetons;
+
+    public CacheJetons(JwtService jwtService, MeterRegistry meterRegistry,
+                       @Value("${securite.jetons.taille-max:10000}") long tailleMax) {
+        this.jwtService = jwtService;
+        this.jetons = Caffeine.newBuilder()
+                .maximumSize(tailleMax)
+                .expireAfter(new ExpirationJeton())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, jetons, METRIQUE);
+    }
+
+    /**
+     * Claims du jeton, lus dans le cache ou vérifiés par JwtService au premier passage.
+     * Lève une JwtException si le jeton est invalide ou expiré (rien n'est alors mis en cache).
+     */
+    public Claims verifier(String token) {
+        return jetons.get(empreinte(token), cle -> jwtService.verifier(token));
+    }
+
+    /**
+     * Claims du jeton s'il a déjà été vérifié et est encore en cache, null sinon (aucune vérification,
+     * sans effet sur les statistiques ni sur l'ordre d'éviction).
+     */
+    public Claims claimsEnCache(String token) {
+        return jetons.policy().getIfPresentQuietly(empreinte(token));
+    }
+
+    /**
+     * Nombre approximatif de jetons en cache.
+     */
+    public long taille() {
+        jetons.cleanUp();
+        return jetons.estimatedSize();
+    }
+
+    private static ByteBuffer empreinte(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e); // algorithme garanti par toute JVM
+        }
+    }
+
+    // Durée de vie d'une entrée : jusqu'à l'expiration du jeton, jamais prolongée par une lecture
+    private static class ExpirationJeton implements Expiry<ByteBuffer, Claims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer cle, Claims claims, long maintenant) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0; // jeton sans exp : vérifié à chaque requête
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer cle, Claims claims, long maintenant, long dureeRestante) {
+            return expireAfterCreate(cle, claims, maintenant);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer cle, Claims claims, long maintenant, long dureeRestante) {
+            return dureeRestante;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.electricitybusiness.api.security;
+
+import com.electricitybusiness.api.model.RevocationUtilisateur;
+import com.electricitybusiness.api.repository.RevocationUtilisateurRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Cache des utilisateurs authentifiés par les filtres JWT.
+ * Un jeton portant le rôle (claim "role") suffit à construire le principal sans accès à la base,
+ * sauf si l'utilisateur a été modifié, banni ou supprimé après l'émission du jeton : le principal
+ * est alors relu (via un cache borné en taille, à expiration après écriture).
+ * UtilisateurService appelle invalider après chaque modification, bannissement ou suppression d'un utilisateur :
+ * l'effet est immédiat sur cette instance. Il enregistre aussi une révocation dans la table revocation_utilisateur,
+ * que toutes les instances relisent toutes les securite.principaux.revocations-intervalle-ms : un changement de
+ * rôle, un bannissement ou une suppression y prend effet au plus un intervalle plus tard.
+ * Au démarrage, les révocations encore utiles (plus récentes que la durée de vie d'un jeton) sont toutes relues.
+ */
+@Component
+public class CachePrincipaux {
+
+    private final CustomUserDetailsService userDetailsService;
+    private final RevocationUtilisateurRepository revocationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, UserDetails> principaux;
+    private final Cache<String, Long> invalidations; // email -> instant (ms) de la dernière invalidation
+    private final Duration dureeJeton;
+    private final Duration marge;
+    private LocalDateTime derniereLecture;
+    private Set<Long> revocationsLues = Set.of(); // lues au passage précédent, ignorées si relues dans la marge
+
+    public CachePrincipaux(CustomUserDetailsService userDetailsService, RevocationUtilisateurRepository revocationRepository,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${securite.principaux.taille-max:10000}") long tailleMax,
+                           @Value("${securite.principaux.ttl-secondes:300}") long ttlSecondes,
+                           @Value("${jwt.expiration:3600000}") long dureeJeton,
+                           @Value("${securite.principaux.marge-revocations-ms:60000}") long margeMs) {
+        this.userDetailsService = userDetailsService;
+        this.revocationRepository = revocationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.dureeJeton = Duration.ofMillis(dureeJeton);
+        this.marge = Duration.ofMillis(margeMs);
+        this.derniereLecture = LocalDateTime.now().minus(this.dureeJeton);
+        this.principaux = Caffeine.newBuilder()
+                .maximumSize(tailleMax)
+                .expireAfterWrite(Duration.ofSeconds(ttlSecondes))
+                .build();
+        // Au-delà de la durée de vie d'un jeton, aucun jeton émis avant l'invalidation n'est encore valide
+        this.invalidations = Caffeine.newBuilder()
+                .maximumSize(tailleMax)
+                .expireAfterWrite(Duration.ofMillis(dureeJeton))
+                .build();
+    }
+
+    /**
+     * Principal correspondant à un jeton : construit à partir de ses claims s'ils sont à jour, chargé sinon.
+     */
+    public UserDetails principal(String email, String role, Date emission) {
+        if (role != null && emission != null && !invalideDepuis(email, emission)) {
+            return User.withUsername(email).password("").roles(role).build();
+        }
+        return charger(email);
+    }
+
+    /**
+     * Principal lu en base au premier accès puis servi depuis le cache.
+     */
+    public UserDetails charger(String email) {
+        return principaux.get(email, userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * Oublie le principal de l'utilisateur et invalide les claims des jetons déjà émis.
+     */
+    public void invalider(String email) {
+        if (email == null) {
+            return;
+        }
+        invalidations.put(email, System.currentTimeMillis());
+        principaux.invalidate(email);
+    }
+
+    /**
+     * Relit les révocations enregistrées depuis le passage précédent (moins une marge pour les transactions
+     * validées en retard) et invalide les utilisateurs concernés, y compris lorsque la modification a eu lieu
+     * sur une autre instance. Purge ensuite les révocations plus anciennes qu'un jeton.
+     */
+    @Scheduled(fixedDelayString = "${securite.principaux.revocations-intervalle-ms:30000}")
+    public synchronized void rafraichirRevocations() {
+        LocalDateTime debut = LocalDateTime.now();
+        Set<Long> lues = new HashSet<>();
+        for (RevocationUtilisateur revocation : revocationRepository.findByDateRevocationAfter(derniereLecture.minus(marge))) {
+            lues.add(revocation.getNumRevocation());
+            if (!revocationsLues.contains(revocation.getNumRevocation())) {
+                invalider(revocation.getAdresseMail());
+            }
+        }
+        revocationsLues = lues;
+        derniereLecture = debut;
+        transactionTemplate.executeWithoutResult(statut -> revocationRepository.supprimerAvant(debut.minus(dureeJeton)));
+    }
+
+    /**
+     * Nombre approximatif de principaux en cache.
+     */
+    public long taille() {
+        return principaux.estimatedSize();
+    }
+
+    // Les claims d'un jeton émis dans la même seconde que l'invalidation sont considérés périmés
+    private boolean invalideDepuis(String email, Date emission) {
+        Long invalidation = invalidations.getIfPresent(email);
+        return invalidation != null && emission.getTime() <= invalidation;
+    }
+}
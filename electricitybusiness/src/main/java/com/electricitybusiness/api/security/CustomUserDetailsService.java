@@ -23,9 +23,14 @@ public class CustomUserDetailsService implements UserDetailsService {
         Utilisateur utilisateur = utilisateurRepository.findByAdresseMail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé avec l'email: " + email));
 
+        // Un utilisateur banni est verrouillé : refusé à la connexion et par les filtres JWT
         return new User(
                 utilisateur.getAdresseMail(),
                 utilisateur.getMotDePasse(),
+                true,
+                true,
+                true,
+                !Boolean.TRUE.equals(utilisateur.getBanni()),
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + utilisateur.getRole().name()))
         );
     }
@@ -0,0 +1,104 @@
+package com.electricitybusiness.api.security;
+
+import com.electricitybusiness.api.exception.SurchargeException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Exécute les opérations BCrypt (hachage à l'inscription, vérification à la connexion)
+ * sur un pool dédié, hors des threads Tomcat : un afflux de connexions ne bloque plus les autres endpoints.
+ * Seuls le hachage et la comparaison y sont exécutés : la lecture de l'utilisateur en base se fait avant,
+ * sur l'exécuteur applicatif, et une base lente n'occupe pas les threads BCrypt.
+ * Le pool a un nombre fixe de threads et une file bornée ; quand la file est pleine,
+ * la demande est refusée immédiatement par une SurchargeException (429).
+ * Métriques : securite.bcrypt (executor.queued, executor.active...) et securite.bcrypt.duree par opération.
+ */
+@Component
+public class HachageMotsDePasse {
+
+    public static final String METRIQUE = "securite.bcrypt";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executeur;
+    private final String hacheLeurre;
+    private final Timer dureeHachage;
+    private final Timer dureeVerification;
+
+    public HachageMotsDePasse(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+                              @Value("${securite.bcrypt.threads:0}") int threads,
+                              @Value("${securite.bcrypt.file-max:100}") int fileMax) {
+        this.passwordEncoder = passwordEncoder;
+        int taille = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger numero = new AtomicInteger();
+        this.executeur = new ThreadPoolExecutor(taille, taille, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fileMax),
+                tache -> {
+                    Thread thread = new Thread(tache, "bcrypt-" + numero.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executeur, METRIQUE);
+        this.dureeHachage = duree(meterRegistry, "hacher");
+        this.dureeVerification = duree(meterRegistry, "verifier");
+        this.hacheLeurre = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    private static Timer duree(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder(METRIQUE + ".duree")
+                .description("Durée des opérations BCrypt, attente dans la file exclue")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hache le mot de passe sur le pool dédié.
+     */
+    public CompletableFuture<String> hacher(String motDePasse) {
+        return soumettre(dureeHachage, () -> passwordEncoder.encode(motDePasse));
+    }
+
+    /**
+     * Compare le mot de passe au haché sur le pool dédié.
+     * Sans haché (utilisateur inconnu), la comparaison se fait avec un haché leurre pour que la durée
+     * de la réponse ne révèle pas si l'adresse mail existe ; le résultat est alors toujours faux.
+     */
+    public CompletableFuture<Boolean> verifier(String motDePasse, String hache) {
+        return soumettre(dureeVerification, () -> passwordEncoder.matches(motDePasse, hache != null ? hache : hacheLeurre)
+                && hache != null);
+    }
+
+    /**
+     * Nombre de demandes en attente d'un thread.
+     */
+    public int enAttente() {
+        return executeur.getQueue().size();
+    }
+
+    @PreDestroy
+    public void arreter() {
+        executeur.shutdown();
+    }
+
+    private <T> CompletableFuture<T> soumettre(Timer timer, Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timer.record(operation), executeur);
+        } catch (RejectedExecutionException e) {
+            throw new SurchargeException("Trop de demandes d'authentification en cours, réessayez dans quelques instants");
+        }
+    }
+}
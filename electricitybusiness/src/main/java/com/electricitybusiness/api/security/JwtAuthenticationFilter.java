@@ -1,10 +1,13 @@
 package com.electricitybusiness.api.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,14 +17,44 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Filtre d'authentification JWT, enregistré une seule fois dans la chaîne de SecurityConfig.
+ * Les jetons déjà vérifiés sont relus depuis CacheJetons sans nouvelle vérification de signature.
+ * Chaque passage incrémente exactement un compteur securite.jwt.filtre, étiqueté par son résultat :
+ * authentifie, anonyme (sans jeton), invalide (jeton rejeté) ou refuse (compte banni, jeton non valide
+ * pour l'utilisateur ou requête déjà authentifiée). Le total des compteurs égale donc le nombre de requêtes.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    @Autowired
-    private JwtService jwtService;
+    public static final String METRIQUE = "securite.jwt.filtre";
 
-    @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private final JwtService jwtService;
+    private final CacheJetons cacheJetons;
+    private final CachePrincipaux cachePrincipaux;
+
+    private final Counter authentifie;
+    private final Counter anonyme;
+    private final Counter invalide;
+    private final Counter refuse;
+
+    public JwtAuthenticationFilter(JwtService jwtService, CacheJetons cacheJetons, CachePrincipaux cachePrincipaux,
+                                   MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.cacheJetons = cacheJetons;
+        this.cachePrincipaux = cachePrincipaux;
+        this.authentifie = compteur(meterRegistry, "authentifie");
+        this.anonyme = compteur(meterRegistry, "anonyme");
+        this.invalide = compteur(meterRegistry, "invalide");
+        this.refuse = compteur(meterRegistry, "refuse");
+    }
+
+    private static Counter compteur(MeterRegistry meterRegistry, String resultat) {
+        return Counter.builder(METRIQUE)
+                .description("Invocations du filtre d'authentification JWT")
+                .tag("resultat", resultat)
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -30,21 +63,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            anonyme.increment();
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        final Claims claims;
+        try {
+            claims = cacheJetons.verifier(authHeader.substring(7)); // au plus une analyse du jeton par requête
+        } catch (JwtException | IllegalArgumentException e) {
+            invalide.increment();
+            filterChain.doFilter(request, response); // jeton invalide ou expiré : requête non authentifiée
+            return;
+        }
+        final String userEmail = claims.getSubject();
 
+        Counter resultat = refuse;
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            UserDetails userDetails = cachePrincipaux.principal(userEmail, claims.get(JwtService.CLAIM_ROLE, String.class), claims.getIssuedAt());
+
+            if (userDetails.isAccountNonLocked() && jwtService.isTokenValid(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                     userDetails,
                     null,
@@ -52,8 +92,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                resultat = authentifie;
             }
         }
+        resultat.increment();
         filterChain.doFilter(request, response);
     }
 } 
\ No newline at end of file
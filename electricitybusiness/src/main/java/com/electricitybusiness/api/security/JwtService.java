@@ -1,13 +1,17 @@
 package com.electricitybusiness.api.security;
 
+import com.electricitybusiness.api.model.Utilisateur;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -16,56 +20,97 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    public static final String CLAIM_ROLE = "role";
+
+    private final long expiration;
+
+    // Clé et parseur construits une seule fois à partir de jwt.secret : ils sont immuables et sûrs entre threads
+    private final SecretKey signInKey;
+    private final JwtParser parser;
+
+    public JwtService(@Value("${jwt.secret}") String secret, @Value("${jwt.expiration}") long expiration) {
+        this.expiration = expiration;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parser().verifyWith(signInKey).build();
+    }
+
+    /**
+     * Vérifie la signature et l'expiration du jeton en une seule analyse et renvoie ses claims.
+     * Lève une JwtException si le jeton est invalide ou expiré.
+     */
+    public Claims verifier(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
+    public String extractRole(String token) {
+        return extractClaim(token, claims -> claims.get(CLAIM_ROLE, String.class));
+    }
+
+    public Date extractIssuedAt(String token) {
+        return extractClaim(token, Claims::getIssuedAt);
+    }
+
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verifier(token);
         return claimsResolver.apply(claims);
     }
 
+    public String generateToken(Utilisateur utilisateur) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_ROLE, utilisateur.getRole().name());
+        return generateToken(claims, utilisateur.getAdresseMail());
+    }
+
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        String role = role(userDetails);
+        if (role != null) {
+            claims.put(CLAIM_ROLE, role); // évite de relire l'utilisateur en base à chaque requête
+        }
+        return generateToken(claims, userDetails);
+    }
+
+    // Rôle de l'utilisateur sans le préfixe ROLE_, null s'il n'en a pas
+    public static String role(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(autorite -> autorite.startsWith("ROLE_"))
+                .map(autorite -> autorite.substring("ROLE_".length()))
+                .findFirst()
+                .orElse(null);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        return generateToken(extraClaims, userDetails.getUsername());
+    }
+
+    private String generateToken(Map<String, Object> extraClaims, String subject) {
         return Jwts
                 .builder()
-                .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24)) // 24 heures
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .claims(extraClaims)
+                .subject(subject)
+                .issuedAt(new Date(System.currentTimeMillis()))
+                .expiration(new Date(System.currentTimeMillis() + expiration)) // jwt.expiration
+                .signWith(signInKey)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verifier(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Vérifie des claims déjà extraits par verifier, sans analyser le jeton à nouveau.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject()) && !isTokenExpired(claims);
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = java.util.Base64.getDecoder().decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
-} 
\ No newline at end of file
+}
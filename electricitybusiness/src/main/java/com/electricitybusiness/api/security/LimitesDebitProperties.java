@@ -0,0 +1,41 @@
+package com.electricitybusiness.api.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limites de débit par motif de route (securite.limites.*), appliquées par LimiteurDebitFilter.
+ * Pour chaque règle, un client dispose de capacite requêtes d'affilée, regagnées au rythme de capacite par periode.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "securite.limites")
+public class LimitesDebitProperties {
+
+    private boolean actif = true;
+
+    /**
+     * Nombre maximal de clients suivis par règle (les moins récemment vus sont évincés).
+     */
+    private long clientsMax = 100_000;
+
+    private List<Regle> regles = new ArrayList<>();
+
+    @Data
+    public static class Regle {
+
+        /**
+         * Motif de route (syntaxe PathPattern, ex. /api/auth/**).
+         */
+        private String motif;
+
+        private long capacite;
+
+        private Duration periode = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,132 @@
+package com.electricitybusiness.api.security;
+
+import com.electricitybusiness.api.exception.ErrorResponse;
+import com.electricitybusiness.api.util.SeauJetons;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite le débit de chaque client sur les routes configurées (LimitesDebitProperties), avant la chaîne de sécurité.
+ * Un client est identifié par l'email de son jeton si ce jeton a déjà été vérifié (CacheJetons), par son adresse IP sinon :
+ * un jeton non vérifié ne sert jamais de clé, pour qu'un client ne puisse pas épuiser le seau d'un autre.
+ * Chaque règle garde un seau à jetons par client, dans un cache borné qui évince les clients les moins récemment vus ;
+ * la lecture du cache et la consommation d'un jeton se font sans verrou.
+ * Au-delà de la limite, la requête reçoit 429 avec Retry-After et le compteur securite.limites.rejets est incrémenté.
+ */
+@Component
+public class LimiteurDebitFilter extends OncePerRequestFilter {
+
+    public static final String METRIQUE = "securite.limites.rejets";
+
+    private final boolean actif;
+    private final List<Limite> limites = new ArrayList<>();
+    private final CacheJetons cacheJetons;
+    private final ObjectMapper objectMapper;
+
+    public LimiteurDebitFilter(LimitesDebitProperties proprietes, CacheJetons cacheJetons, ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.cacheJetons = cacheJetons;
+        this.objectMapper = objectMapper;
+        for (LimitesDebitProperties.Regle regle : proprietes.getRegles()) {
+            limites.add(new Limite(regle, proprietes.getClientsMax(), meterRegistry));
+        }
+        this.actif = proprietes.isActif() && !limites.isEmpty();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !actif;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        PathContainer chemin = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Limite limite : limites) {
+            if (limite.motif.matches(chemin)) { // seule la première règle correspondante s'applique
+                long attente = limite.consommer(client(request), System.nanoTime());
+                if (attente > 0) {
+                    limite.rejets.increment();
+                    refuser(response, attente);
+                    return;
+                }
+                break;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String client(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            Claims claims = cacheJetons.claimsEnCache(authHeader.substring(7));
+            if (claims != null && claims.getSubject() != null) {
+                return "utilisateur:" + claims.getSubject();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void refuser(HttpServletResponse response, long attenteNanos) throws IOException {
+        ErrorResponse error = new ErrorResponse();
+        error.setMessage("Trop de requêtes, réessayez dans quelques instants");
+        error.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(attenteNanos + 999_999_999))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static class Limite {
+
+        private final PathPattern motif;
+        private final long capacite;
+        private final long intervalleNanos;
+        private final Cache<String, SeauJetons> seaux;
+        private final Counter rejets;
+
+        Limite(LimitesDebitProperties.Regle regle, long clientsMax, MeterRegistry meterRegistry) {
+            this.motif = PathPatternParser.defaultInstance.parse(regle.getMotif());
+            this.capacite = regle.getCapacite();
+            this.intervalleNanos = Math.max(1, regle.getPeriode().toNanos() / capacite);
+            // Un seau inutilisé pendant une période est de nouveau plein : l'oublier ne change rien
+            this.seaux = Caffeine.newBuilder()
+                    .maximumSize(clientsMax)
+                    .expireAfterAccess(regle.getPeriode())
+                    .build();
+            this.rejets = Counter.builder(METRIQUE)
+                    .description("Requêtes refusées par la limitation de débit")
+                    .tag("motif", regle.getMotif())
+                    .register(meterRegistry);
+        }
+
+        long consommer(String client, long maintenant) {
+            return seaux.get(client, cle -> new SeauJetons(capacite, intervalleNanos)).consommer(maintenant);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.electricitybusiness.api.security;
 
-import com.electricitybusiness.api.security.jwt.JwtRequestFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,6 +19,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+/**
+ * Unique chaîne de filtres de sécurité de l'API : chaque requête traverse une seule fois
+ * JwtAuthenticationFilter, qui vérifie le jeton avec JwtService (secret jwt.secret).
+ */
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -24,7 +30,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
-    private final JwtRequestFilter jwtRequestFilter;
+    private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -33,15 +39,36 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // API REST: pas de sessions côté serveur
             .authorizeHttpRequests(authorize -> authorize
                 .requestMatchers("/api/auth/**", "/api/utilisateurs/register", "/api/utilisateurs/validate-account").permitAll() // Autoriser l'accès public à l'authentification et l'inscription
+                .requestMatchers("/actuator/health").permitAll()
                 .anyRequest().authenticated() // Toutes les autres requêtes nécessitent une authentification
             )
-            .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class); // Ajouter le filtre JWT
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class); // Ajouter le filtre JWT
         return http.build();
     }
 
+    // Le filtre est un @Component : sans cela, Spring Boot l'enregistrerait aussi dans la chaîne de servlets
+    // et il s'exécuterait hors de la chaîne de sécurité
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Value("${securite.bcrypt.cout:10}")
+    private int coutBcrypt;
+
+    // Limitation de débit juste avant la chaîne de sécurité : une rafale est refusée avant toute vérification de jeton
+    @Bean
+    public FilterRegistrationBean<LimiteurDebitFilter> limiteurDebitFilterRegistration(LimiteurDebitFilter limiteurDebitFilter) {
+        FilterRegistrationBean<LimiteurDebitFilter> registration = new FilterRegistrationBean<>(limiteurDebitFilter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(coutBcrypt); // chaque unité de coût double la durée du hachage
     }
 
     @Bean
@@ -1,7 +1,9 @@
 package com.electricitybusiness.api.service;
 
+import com.electricitybusiness.api.dto.PageCurseur;
 import com.electricitybusiness.api.model.Adresse;
 import com.electricitybusiness.api.repository.AdresseRepository;
+import com.electricitybusiness.api.util.Pagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +30,16 @@ public class AdresseService {
         return adresseRepository.findAll();
     }
 
+    /**
+     * Récupère une page d'adresses par clé, à partir du curseur renvoyé par la page précédente.
+     */
+    @Transactional(readOnly = true)
+    public PageCurseur<Adresse> findPage(String curseur, Integer taille) {
+        int tailleEffective = Pagination.taille(taille);
+        List<Adresse> lignes = adresseRepository.findByNumAdresseGreaterThanOrderByNumAdresseAsc(Pagination.apres(curseur), Pagination.limite(tailleEffective));
+        return Pagination.page(lignes, tailleEffective, Adresse::getNumAdresse);
+    }
+
     /**
      * Récupère une adresse par son ID.
      */
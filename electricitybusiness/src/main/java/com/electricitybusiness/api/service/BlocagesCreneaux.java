@@ -0,0 +1,220 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.exception.CreneauIndisponibleException;
+import com.electricitybusiness.api.model.BlocageCreneau;
+import com.electricitybusiness.api.model.EtatReservation;
+import com.electricitybusiness.api.model.Utilisateur;
+import com.electricitybusiness.api.repository.BlocageCreneauRepository;
+import com.electricitybusiness.api.repository.BorneRepository;
+import com.electricitybusiness.api.repository.ReservationRepository;
+import com.electricitybusiness.api.repository.UtilisateurRepository;
+import com.electricitybusiness.api.util.RoueTemporelle;
+import com.electricitybusiness.api.util.TransactionUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Blocages temporaires de créneaux pendant la finalisation d'une réservation.
+ * Un blocage empêche toute autre réservation (ou blocage) du créneau sur la borne pendant
+ * reservation.blocage.duree-minutes, sans écrire de réservation en base.
+ * Les blocages sont écrits dans la table blocage_creneau, lue par toutes les instances ; une ligne n'a plus
+ * d'effet une fois son expiration passée. L'instance qui a posé le blocage supprime sa ligne à l'échéance,
+ * via une roue temporelle avancée toutes les reservation.blocage.tick-ms ; la purge périodique supprime
+ * celles qu'une instance arrêtée entre-temps n'a pas retirées.
+ * Un utilisateur a au plus reservation.blocage.max-par-utilisateur blocages en cours, chacun d'au plus
+ * reservation.blocage.duree-creneau-max-minutes sur un créneau qui n'est pas terminé.
+ */
+@Component
+public class BlocagesCreneaux {
+
+    private static final int CASES_MAX = 4096;
+
+    private final BlocageCreneauRepository blocageCreneauRepository;
+    private final ReservationRepository reservationRepository;
+    private final BorneRepository borneRepository;
+    private final UtilisateurRepository utilisateurRepository;
+    private final VerrousBornes verrousBornes;
+    private final TransactionTemplate transactionTemplate;
+    private final long dureeMinutes;
+    private final int maxParUtilisateur;
+    private final Duration dureeCreneauMax;
+
+    private final RoueTemporelle roue;
+    private final Map<String, RoueTemporelle.Echeance> echeances = new ConcurrentHashMap<>();
+    private final Queue<String> echus = new ConcurrentLinkedQueue<>();
+
+    public BlocagesCreneaux(BlocageCreneauRepository blocageCreneauRepository,
+                            ReservationRepository reservationRepository,
+                            BorneRepository borneRepository,
+                            UtilisateurRepository utilisateurRepository,
+                            VerrousBornes verrousBornes,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${reservation.blocage.duree-minutes:10}") long dureeMinutes,
+                            @Value("${reservation.blocage.max-par-utilisateur:3}") int maxParUtilisateur,
+                            @Value("${reservation.blocage.duree-creneau-max-minutes:480}") long dureeCreneauMaxMinutes,
+                            @Value("${reservation.blocage.tick-ms:1000}") long dureeTick) {
+        this.blocageCreneauRepository = blocageCreneauRepository;
+        this.reservationRepository = reservationRepository;
+        this.borneRepository = borneRepository;
+        this.utilisateurRepository = utilisateurRepository;
+        this.verrousBornes = verrousBornes;
+        this.transactionTemplate = transactionTemplate;
+        this.dureeMinutes = dureeMinutes;
+        this.maxParUtilisateur = maxParUtilisateur;
+        this.dureeCreneauMax = Duration.ofMinutes(dureeCreneauMaxMinutes);
+        // Assez de cases pour qu'un blocage expire au premier tour de roue (dans la limite de CASES_MAX)
+        int nbCases = (int) Math.min(CASES_MAX, dureeMinutes * 60_000 / dureeTick + 1);
+        this.roue = new RoueTemporelle(dureeTick, nbCases, System.currentTimeMillis());
+    }
+
+    /**
+     * Bloque le créneau de la borne pour l'utilisateur et renvoie le blocage (et son jeton).
+     * Lève CreneauIndisponibleException si le créneau est déjà réservé ou bloqué, ou si l'utilisateur
+     * a déjà le nombre maximal de blocages en cours.
+     * Le verrou de la borne (JVM) puis les verrous de ligne de l'utilisateur et de la borne sérialisent
+     * les blocages et réservations concurrents, y compris entre plusieurs instances.
+     */
+    public Blocage bloquer(Long numBorne, LocalDateTime dateDebut, LocalDateTime dateFin, String adresseMail) {
+        if (numBorne == null || dateDebut == null || dateFin == null || !dateDebut.isBefore(dateFin)) {
+            throw new IllegalArgumentException("La borne et un créneau valide sont obligatoires");
+        }
+        if (!dateFin.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Le créneau à bloquer est déjà terminé");
+        }
+        if (Duration.between(dateDebut, dateFin).compareTo(dureeCreneauMax) > 0) {
+            throw new IllegalArgumentException("Un blocage couvre au plus " + dureeCreneauMax.toMinutes() + " minutes");
+        }
+        Lock verrou = verrousBornes.verrou(numBorne);
+        verrou.lock();
+        try {
+            return transactionTemplate.execute(statut -> enregistrer(numBorne, dateDebut, dateFin, adresseMail));
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    private Blocage enregistrer(Long numBorne, LocalDateTime dateDebut, LocalDateTime dateFin, String adresseMail) {
+        Utilisateur utilisateur = utilisateurRepository.findByAdresseMailPourBlocage(adresseMail)
+                .orElseThrow(() -> new IllegalArgumentException("Utilisateur non trouvé"));
+        borneRepository.findByIdPourReservation(numBorne)
+                .orElseThrow(() -> new IllegalArgumentException("Borne non trouvée"));
+        LocalDateTime maintenant = LocalDateTime.now();
+        if (blocageCreneauRepository.countByNumUtilisateurAndExpirationAfter(utilisateur.getNumUtilisateur(), maintenant) >= maxParUtilisateur) {
+            throw new CreneauIndisponibleException("Nombre maximal de blocages en cours atteint (" + maxParUtilisateur + ")");
+        }
+        if (blocageCreneauRepository.existsChevauchement(numBorne, dateDebut, dateFin, maintenant, null)
+                || reservationRepository.existsChevauchement(numBorne, dateDebut, dateFin, EtatReservation.bloquants(), null)) {
+            throw new CreneauIndisponibleException("Le créneau demandé n'est pas disponible pour cette borne");
+        }
+        BlocageCreneau ligne = blocageCreneauRepository.save(new BlocageCreneau(UUID.randomUUID().toString(), numBorne,
+                utilisateur.getNumUtilisateur(), dateDebut, dateFin, maintenant.plusMinutes(dureeMinutes)));
+        String jeton = ligne.getJeton();
+        TransactionUtils.afterCommit(() -> echeances.put(jeton,
+                roue.planifier(System.currentTimeMillis() + dureeMinutes * 60_000, () -> echus.add(jeton))));
+        return versBlocage(ligne);
+    }
+
+    /**
+     * Libère un blocage avant son expiration. Renvoie faux s'il n'existe pas (ou plus).
+     * Dans une transaction en cours (réservation qui consomme le blocage), la suppression en fait partie.
+     */
+    public boolean liberer(String jeton) {
+        if (jeton == null) {
+            return false;
+        }
+        RoueTemporelle.Echeance echeance = echeances.remove(jeton);
+        if (echeance != null) {
+            echeance.annuler(); // sans effet si l'échéance est en cours d'exécution
+        }
+        Integer supprimes = transactionTemplate.execute(statut -> blocageCreneauRepository.supprimer(jeton));
+        return supprimes != null && supprimes > 0;
+    }
+
+    /**
+     * Vrai si un blocage en cours de la borne, autre que celui du jeton ignoré, chevauche [dateDebut, dateFin).
+     */
+    public boolean chevauche(Long numBorne, LocalDateTime dateDebut, LocalDateTime dateFin, String jetonIgnore) {
+        return blocageCreneauRepository.existsChevauchement(numBorne, dateDebut, dateFin, LocalDateTime.now(), jetonIgnore);
+    }
+
+    /**
+     * Blocages en cours des bornes, en une requête.
+     */
+    public List<Blocage> blocages(Collection<Long> numBornes) {
+        if (numBornes.isEmpty()) {
+            return List.of();
+        }
+        return blocageCreneauRepository.findByNumBorneInAndExpirationAfter(numBornes, LocalDateTime.now()).stream()
+                .map(BlocagesCreneaux::versBlocage)
+                .toList();
+    }
+
+    /**
+     * Supprime les blocages posés ici arrivés à échéance.
+     */
+    @Scheduled(fixedDelayString = "${reservation.blocage.tick-ms:1000}")
+    public void expirer() {
+        expirer(System.currentTimeMillis());
+    }
+
+    int expirer(long maintenant) {
+        int executees = roue.avancer(maintenant);
+        List<String> jetons = new ArrayList<>();
+        for (String jeton = echus.poll(); jeton != null; jeton = echus.poll()) {
+            echeances.remove(jeton);
+            jetons.add(jeton);
+        }
+        if (!jetons.isEmpty()) {
+            blocageCreneauRepository.deleteAllByIdInBatch(jetons);
+        }
+        return executees;
+    }
+
+    /**
+     * Supprime les lignes expirées restantes, y compris celles des instances arrêtées avant leur échéance.
+     */
+    @Scheduled(fixedDelayString = "${reservation.blocage.purge-ms:600000}")
+    public void purger() {
+        transactionTemplate.execute(statut -> blocageCreneauRepository.supprimerExpires(LocalDateTime.now()));
+    }
+
+    /**
+     * Nombre de blocages posés ici dont l'échéance n'est pas encore passée.
+     */
+    public int nombre() {
+        return echeances.size();
+    }
+
+    private static Blocage versBlocage(BlocageCreneau ligne) {
+        return new Blocage(ligne.getJeton(), ligne.getNumBorne(), ligne.getDateDebut(), ligne.getDateFin(), ligne.getExpiration());
+    }
+
+    /**
+     * Blocage d'un créneau, identifié par un jeton aléatoire.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Blocage {
+        private final String jeton;
+        private final Long numBorne;
+        private final LocalDateTime dateDebut;
+        private final LocalDateTime dateFin;
+        private final LocalDateTime expiration;
+    }
+}
@@ -0,0 +1,290 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.dto.BornePosition;
+import com.electricitybusiness.api.model.Borne;
+import com.electricitybusiness.api.model.EtatBorne;
+import com.electricitybusiness.api.repository.BorneRepository;
+import com.electricitybusiness.api.util.BorneUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index des k plus proches voisins sur les positions des bornes (arbre k-d).
+ * Les positions sont projetées sur la sphère unité en coordonnées cartésiennes : la distance
+ * euclidienne (corde) y est monotone avec la distance orthodromique, ce qui rend l'élagage exact.
+ * Le filtre de disponibilité (borne ACTIVE et non occupée) est appliqué pendant le parcours de l'arbre.
+ * L'arbre est immuable : un déplacement de borne le marque à reconstruire au prochain appel,
+ * un changement d'état ou d'occupation est pris en compte immédiatement.
+ * Les modifications faites par les autres instances sont lues en base : l'occupation à chaque passage du
+ * cycle des réservations (CycleReservationsService), les positions et états par un rechargement complet
+ * toutes les borne.index.rechargement-ms, qui borne le retard sur une borne créée, déplacée, supprimée
+ * ou mise hors service ailleurs.
+ */
+@Component
+@RequiredArgsConstructor
+public class BornePlusProchesIndex {
+
+    private final BorneRepository borneRepository;
+
+    private volatile Map<Long, double[]> positions = new ConcurrentHashMap<>(); // numBorne -> {latitude, longitude}
+    private volatile Set<Long> disponibles = ConcurrentHashMap.newKeySet();
+    private volatile ArbreKd arbre;
+    private volatile boolean charge = false;
+
+    /**
+     * Borne trouvée et sa distance en mètres à la position recherchée.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Voisin {
+        private final Long numBorne;
+        private final double distance;
+    }
+
+    /**
+     * Charge l'index au démarrage de l'application.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialiser() {
+        recharger();
+    }
+
+    /**
+     * Recharge périodiquement l'index, pour suivre les bornes modifiées par les autres instances.
+     */
+    @Scheduled(initialDelayString = "${borne.index.rechargement-ms:300000}", fixedDelayString = "${borne.index.rechargement-ms:300000}")
+    public void rechargerPeriodiquement() {
+        if (charge) {
+            recharger();
+        }
+    }
+
+    /**
+     * Recharge positions et disponibilités depuis la base.
+     * Les nouvelles tables remplacent les anciennes d'un bloc : une recherche concurrente ne voit jamais
+     * un index vide ou partiel.
+     */
+    public synchronized void recharger() {
+        Map<Long, double[]> nouvellesPositions = new ConcurrentHashMap<>();
+        Set<Long> nouvellesDisponibles = ConcurrentHashMap.newKeySet();
+        for (BornePosition position : borneRepository.findAllPositions()) {
+            nouvellesPositions.put(position.getNumBorne(),
+                new double[] { position.getLatitude().doubleValue(), position.getLongitude().doubleValue() });
+            if (estDisponible(position.getEtat(), position.getOccupee())) {
+                nouvellesDisponibles.add(position.getNumBorne());
+            }
+        }
+        positions = nouvellesPositions;
+        disponibles = nouvellesDisponibles;
+        arbre = null;
+        charge = true;
+    }
+
+    /**
+     * Ajoute ou met à jour une borne dans l'index.
+     */
+    public synchronized void indexer(Borne borne) {
+        if (!charge || borne.getNumBorne() == null || borne.getLatitude() == null || borne.getLongitude() == null) {
+            return; // le prochain chargement lira la borne en base
+        }
+        double[] nouvelle = { borne.getLatitude().doubleValue(), borne.getLongitude().doubleValue() };
+        double[] ancienne = positions.put(borne.getNumBorne(), nouvelle);
+        if (ancienne == null || ancienne[0] != nouvelle[0] || ancienne[1] != nouvelle[1]) {
+            arbre = null;
+        }
+        if (estDisponible(borne.getEtat(), borne.getOccupee())) {
+            disponibles.add(borne.getNumBorne());
+        } else {
+            disponibles.remove(borne.getNumBorne());
+        }
+    }
+
+    /**
+     * Met à jour la disponibilité d'une borne sans toucher à sa position.
+     */
+    public void changerDisponibilite(Long numBorne, boolean disponible) {
+        if (disponible) {
+            disponibles.add(numBorne);
+        } else {
+            disponibles.remove(numBorne);
+        }
+    }
+
+    /**
+     * Retire une borne de l'index.
+     */
+    public synchronized void retirer(Long numBorne) {
+        if (charge && numBorne != null && positions.remove(numBorne) != null) {
+            disponibles.remove(numBorne);
+            arbre = null;
+        }
+    }
+
+    /**
+     * Renvoie les k bornes disponibles les plus proches de la position, de la plus proche à la plus éloignée.
+     */
+    public List<Voisin> plusProches(double longitude, double latitude, int k) {
+        ArbreKd courant = arbre;
+        if (courant == null) {
+            courant = construire();
+        }
+        if (k <= 0 || courant.ids.length == 0) {
+            return new ArrayList<>();
+        }
+
+        double[] cible = cartesien(latitude, longitude);
+        // Tas max sur la corde au carré : la tête est le pire des k meilleurs candidats
+        PriorityQueue<double[]> meilleurs = new PriorityQueue<>(k + 1, Comparator.comparingDouble((double[] c) -> c[1]).reversed());
+        courant.rechercher(0, courant.ids.length, 0, cible, k, meilleurs, disponibles);
+
+        List<Voisin> voisins = new ArrayList<>(meilleurs.size());
+        for (double[] candidat : meilleurs) {
+            int indice = (int) candidat[0];
+            voisins.add(new Voisin(courant.ids[indice],
+                BorneUtils.distance(longitude, latitude, courant.longitudes[indice], courant.latitudes[indice])));
+        }
+        voisins.sort(Comparator.comparingDouble(Voisin::getDistance).thenComparing(Voisin::getNumBorne));
+        return voisins;
+    }
+
+    private synchronized ArbreKd construire() {
+        if (!charge) {
+            recharger();
+        }
+        if (arbre == null) {
+            List<Map.Entry<Long, double[]>> entrees = new ArrayList<>(positions.entrySet());
+            entrees.sort(Map.Entry.comparingByKey());
+            arbre = new ArbreKd(entrees);
+        }
+        return arbre;
+    }
+
+    private static boolean estDisponible(EtatBorne etat, Boolean occupee) {
+        return etat == EtatBorne.ACTIVE && !Boolean.TRUE.equals(occupee);
+    }
+
+    private static double[] cartesien(double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        return new double[] { Math.cos(phi) * Math.cos(lambda), Math.cos(phi) * Math.sin(lambda), Math.sin(phi) };
+    }
+
+    /**
+     * Arbre k-d implicite : pour chaque sous-tableau [debut, fin), le point médian (selon l'axe
+     * profondeur % 3) est à l'indice (debut + fin) / 2, la moitié gauche avant, la droite après.
+     */
+    private static class ArbreKd {
+        private final long[] ids;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final double[] coordonnees; // x, y, z consécutifs
+
+        ArbreKd(List<Map.Entry<Long, double[]>> entrees) {
+            int n = entrees.size();
+            ids = new long[n];
+            latitudes = new double[n];
+            longitudes = new double[n];
+            coordonnees = new double[n * 3];
+            for (int i = 0; i < n; i++) {
+                Map.Entry<Long, double[]> entree = entrees.get(i);
+                ids[i] = entree.getKey();
+                latitudes[i] = entree.getValue()[0];
+                longitudes[i] = entree.getValue()[1];
+                System.arraycopy(cartesien(latitudes[i], longitudes[i]), 0, coordonnees, i * 3, 3);
+            }
+            partitionner(0, n, 0);
+        }
+
+        private void partitionner(int debut, int fin, int profondeur) {
+            if (fin - debut <= 1) return;
+            int milieu = (debut + fin) >>> 1;
+            selectionner(debut, fin - 1, milieu, profondeur % 3);
+            partitionner(debut, milieu, profondeur + 1);
+            partitionner(milieu + 1, fin, profondeur + 1);
+        }
+
+        // Quickselect : place au rang k l'élément qui y serait après un tri selon l'axe
+        private void selectionner(int gauche, int droite, int k, int axe) {
+            while (gauche < droite) {
+                double pivot = coordonnees[((gauche + droite) >>> 1) * 3 + axe];
+                int i = gauche;
+                int j = droite;
+                while (i <= j) {
+                    while (coordonnees[i * 3 + axe] < pivot) i++;
+                    while (coordonnees[j * 3 + axe] > pivot) j--;
+                    if (i <= j) {
+                        echanger(i, j);
+                        i++;
+                        j--;
+                    }
+                }
+                if (k <= j) {
+                    droite = j;
+                } else if (k >= i) {
+                    gauche = i;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private void echanger(int i, int j) {
+            long id = ids[i]; ids[i] = ids[j]; ids[j] = id;
+            double lat = latitudes[i]; latitudes[i] = latitudes[j]; latitudes[j] = lat;
+            double lon = longitudes[i]; longitudes[i] = longitudes[j]; longitudes[j] = lon;
+            for (int a = 0; a < 3; a++) {
+                double c = coordonnees[i * 3 + a];
+                coordonnees[i * 3 + a] = coordonnees[j * 3 + a];
+                coordonnees[j * 3 + a] = c;
+            }
+        }
+
+        void rechercher(int debut, int fin, int profondeur, double[] cible, int k,
+                        PriorityQueue<double[]> meilleurs, Set<Long> disponibles) {
+            if (debut >= fin) return;
+            int milieu = (debut + fin) >>> 1;
+            int axe = profondeur % 3;
+
+            if (disponibles.contains(ids[milieu])) {
+                double dx = coordonnees[milieu * 3] - cible[0];
+                double dy = coordonnees[milieu * 3 + 1] - cible[1];
+                double dz = coordonnees[milieu * 3 + 2] - cible[2];
+                double corde = dx * dx + dy * dy + dz * dz;
+                if (meilleurs.size() < k) {
+                    meilleurs.add(new double[] { milieu, corde });
+                } else if (corde < meilleurs.peek()[1]) {
+                    meilleurs.poll();
+                    meilleurs.add(new double[] { milieu, corde });
+                }
+            }
+
+            double ecart = cible[axe] - coordonnees[milieu * 3 + axe];
+            boolean gaucheDabord = ecart < 0;
+            if (gaucheDabord) {
+                rechercher(debut, milieu, profondeur + 1, cible, k, meilleurs, disponibles);
+            } else {
+                rechercher(milieu + 1, fin, profondeur + 1, cible, k, meilleurs, disponibles);
+            }
+            if (meilleurs.size() < k || ecart * ecart < meilleurs.peek()[1]) {
+                if (gaucheDabord) {
+                    rechercher(milieu + 1, fin, profondeur + 1, cible, k, meilleurs, disponibles);
+                } else {
+                    rechercher(debut, milieu, profondeur + 1, cible, k, meilleurs, disponibles);
+                }
+            }
+        }
+    }
+}
@@ -1,22 +1,45 @@
 package com.electricitybusiness.api.service;
 
+import com.electricitybusiness.api.dto.BorneDTO;
+import com.electricitybusiness.api.dto.BornePosition;
+import com.electricitybusiness.api.dto.BorneProcheDTO;
+import com.electricitybusiness.api.dto.BorneVue;
+import com.electricitybusiness.api.dto.GrilleDisponibiliteDTO;
+import com.electricitybusiness.api.dto.PageCurseur;
+import com.electricitybusiness.api.dto.ReservationCreneau;
+import com.electricitybusiness.api.mapper.EntityMapper;
 import com.electricitybusiness.api.model.Borne;
+import com.electricitybusiness.api.model.EtatBorne;
 import com.electricitybusiness.api.repository.BorneRepository;
 import com.electricitybusiness.api.util.BorneUtils;
+import com.electricitybusiness.api.util.CalendrierCreneaux;
+import com.electricitybusiness.api.util.Pagination;
+import com.electricitybusiness.api.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
-import com.electricitybusiness.api.model.Lieu;
-import com.electricitybusiness.api.model.Adresse;
-import com.electricitybusiness.api.model.Reservation;
+import com.electricitybusiness.api.model.EtatReservation;
 import com.electricitybusiness.api.repository.LieuRepository;
 import com.electricitybusiness.api.repository.AdresseRepository;
 import com.electricitybusiness.api.repository.ReservationRepository;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service pour la gestion des bornes électriques.
@@ -27,10 +50,21 @@ import java.util.ArrayList;
 @Transactional
 public class BorneService {
 
+    private static final int MAX_PLUS_PROCHES = 100;
+    private static final int MAX_BORNES_GRILLE = 500;
+    private static final int MAX_JOURS_GRILLE = 14;
+
     private final BorneRepository borneRepository;
     private final LieuRepository lieuRepository;
     private final AdresseRepository adresseRepository;
     private final ReservationRepository reservationRepository;
+    private final BorneSpatialIndex borneSpatialIndex;
+    private final BornePlusProchesIndex bornePlusProchesIndex;
+    private final BlocagesCreneaux blocagesCreneaux;
+    private final EntityMapper mapper;
+
+    @Value("${borne.index.actif:true}")
+    private boolean indexActif = true;
 
     /**
      * Récupère toutes les bornes.
@@ -40,6 +74,17 @@ public class BorneService {
         return borneRepository.findAll();
     }
 
+    /**
+     * Récupère une page de bornes par clé, à partir du curseur renvoyé par la page précédente.
+     * Les colonnes de BorneDTO sont lues par projection : aucune entité n'est chargée.
+     */
+    @Transactional(readOnly = true)
+    public PageCurseur<BorneDTO> findPage(String curseur, Integer taille) {
+        int tailleEffective = Pagination.taille(taille);
+        List<BorneVue> lignes = borneRepository.findVuesApres(Pagination.apres(curseur), Pagination.limite(tailleEffective));
+        return Pagination.page(lignes, tailleEffective, BorneVue::getNumBorne).map(mapper::toDTO);
+    }
+
     /**
      * Récupère une borne par son ID.
      */
@@ -48,11 +93,24 @@ public class BorneService {
         return borneRepository.findById(id);
     }
 
+    /**
+     * Récupère une borne par son ID, lue par projection.
+     */
+    @Transactional(readOnly = true)
+    public Optional<BorneDTO> findDTOById(Long id) {
+        return borneRepository.findVueById(id).map(mapper::toDTO);
+    }
+
     /**
      * Crée une nouvelle borne.
      */
     public Borne save(Borne borne) {
-        return borneRepository.save(borne);
+        Borne savedBorne = borneRepository.save(borne);
+        TransactionUtils.afterCommit(() -> {
+            borneSpatialIndex.indexer(savedBorne);
+            bornePlusProchesIndex.indexer(savedBorne);
+        });
+        return savedBorne;
     }
 
     /**
@@ -60,7 +118,12 @@ public class BorneService {
      */
     public Borne update(Long id, Borne borne) {
         borne.setNumBorne(id);
-        return borneRepository.save(borne);
+        Borne updatedBorne = borneRepository.save(borne);
+        TransactionUtils.afterCommit(() -> {
+            borneSpatialIndex.indexer(updatedBorne);
+            bornePlusProchesIndex.indexer(updatedBorne);
+        });
+        return updatedBorne;
     }
 
     /**
@@ -68,6 +131,10 @@ public class BorneService {
      */
     public void deleteById(Long id) {
         borneRepository.deleteById(id);
+        TransactionUtils.afterCommit(() -> {
+            borneSpatialIndex.retirer(id);
+            bornePlusProchesIndex.retirer(id);
+        });
     }
 
     /**
@@ -80,40 +147,162 @@ public class BorneService {
 
     /**
      * Récupère les bornes à proximité d'une position donnée.
+     * La sélection passe par l'index géographique : seules les bornes dans le rayon sont chargées.
+     * Index désactivé, la base filtre d'abord sur la boîte englobante du rayon.
      */
     @Transactional(readOnly = true)
-    public List<Borne> findNearbyBornes(double longitude, double latitude, double rayon) {
-        List<Borne> allBornes = borneRepository.findAll();
-        return BorneUtils.getNearbyBornes(allBornes, longitude, latitude, rayon);
+    public List<BorneDTO> findNearbyBornes(double longitude, double latitude, double rayon) {
+        if (!indexActif) {
+            return findNearbyBornesInBoundingBox(longitude, latitude, rayon);
+        }
+        List<Long> ids = borneSpatialIndex.rechercher(longitude, latitude, rayon);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return borneRepository.findVuesByNumBorneIn(ids).stream()
+                .map(mapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private List<BorneDTO> findNearbyBornesInBoundingBox(double longitude, double latitude, double rayon) {
+        double[] boite = BorneUtils.boiteEnglobante(longitude, latitude, rayon);
+        BigDecimal latMin = BigDecimal.valueOf(boite[0]);
+        BigDecimal latMax = BigDecimal.valueOf(boite[1]);
+        List<BorneVue> candidats = new ArrayList<>();
+        if (boite[2] < -180.0) {
+            // La boîte traverse l'antiméridien : deux plages de longitudes
+            candidats.addAll(borneRepository.findInBoundingBox(latMin, latMax, BigDecimal.valueOf(boite[2] + 360.0), BigDecimal.valueOf(180)));
+            candidats.addAll(borneRepository.findInBoundingBox(latMin, latMax, BigDecimal.valueOf(-180), BigDecimal.valueOf(boite[3])));
+        } else if (boite[3] > 180.0) {
+            candidats.addAll(borneRepository.findInBoundingBox(latMin, latMax, BigDecimal.valueOf(boite[2]), BigDecimal.valueOf(180)));
+            candidats.addAll(borneRepository.findInBoundingBox(latMin, latMax, BigDecimal.valueOf(-180), BigDecimal.valueOf(boite[3] - 360.0)));
+        } else {
+            candidats.addAll(borneRepository.findInBoundingBox(latMin, latMax, BigDecimal.valueOf(boite[2]), BigDecimal.valueOf(boite[3])));
+        }
+        return candidats.stream()
+                .filter(vue -> BorneUtils.distance(longitude, latitude, vue.getLongitude().doubleValue(), vue.getLatitude().doubleValue()) <= rayon)
+                .sorted(Comparator.comparing(BorneVue::getNumBorne))
+                .map(mapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Récupère les k bornes disponibles (ACTIVE et non occupées) les plus proches d'une position,
+     * triées par distance croissante.
+     */
+    @Transactional(readOnly = true)
+    public List<BorneProcheDTO> findNearestAvailableBornes(double longitude, double latitude, int k) {
+        if (k < 1 || k > MAX_PLUS_PROCHES) {
+            throw new IllegalArgumentException("Le nombre de bornes demandé doit être entre 1 et " + MAX_PLUS_PROCHES);
+        }
+        List<BornePlusProchesIndex.Voisin> voisins = bornePlusProchesIndex.plusProches(longitude, latitude, k);
+        if (voisins.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, BorneVue> bornes = borneRepository.findVuesByNumBorneIn(voisins.stream().map(BornePlusProchesIndex.Voisin::getNumBorne).toList())
+                .stream()
+                .collect(Collectors.toMap(BorneVue::getNumBorne, Function.identity()));
+        List<BorneProcheDTO> resultat = new ArrayList<>();
+        for (BornePlusProchesIndex.Voisin voisin : voisins) {
+            BorneVue borne = bornes.get(voisin.getNumBorne());
+            if (borne != null) {
+                resultat.add(new BorneProcheDTO(mapper.toDTO(borne), voisin.getDistance()));
+            }
+        }
+        return resultat;
     }
 
     /**
      * Récupère les bornes disponibles dans une ville à une date donnée (créneau).
+     * Seules les réservations bloquantes (DEMANDE, ACCEPTEE, EN_COURS) et les blocages temporaires
+     * rendent une borne indisponible.
+     * Une seule requête, quel que soit le nombre d'adresses, de lieux et de bornes de la ville ; les blocages
+     * sont lus en base et valent donc pour ceux posés sur toutes les instances.
      */
     @Transactional(readOnly = true)
-    public List<Borne> findAvailableBornesInCityAtDate(String ville, LocalDateTime dateDebut, LocalDateTime dateFin) {
-        List<Adresse> adresses = adresseRepository.findByVille(ville);
-        List<Borne> bornesDisponibles = new ArrayList<>();
-        for (Adresse adresse : adresses) {
-            Lieu lieu = adresse.getLieu();
-            if (lieu == null) continue;
-            List<Borne> bornes = borneRepository.findByLieu(lieu);
-            for (Borne borne : bornes) {
-                boolean isDisponible = true;
-                List<Reservation> reservations = borne.getReservations();
-                if (reservations != null) {
-                    for (Reservation reservation : reservations) {
-                        if (reservation.getDateDebut().isBefore(dateFin) && reservation.getDateFin().isAfter(dateDebut)) {
-                            isDisponible = false;
-                            break;
-                        }
-                    }
-                }
-                if (isDisponible) {
-                    bornesDisponibles.add(borne);
-                }
+    public List<BorneDTO> findAvailableBornesInCityAtDate(String ville, LocalDateTime dateDebut, LocalDateTime dateFin) {
+        return borneRepository.findDisponiblesByVille(ville, dateDebut, dateFin, EtatReservation.bloquants(), LocalDateTime.now()).stream()
+                .map(mapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Grille de disponibilités par créneaux de 15 minutes de plusieurs bornes sur nbJours jours.
+     * Reconstruite à chaque appel depuis la base (état des bornes, réservations bloquantes et blocages
+     * de la fenêtre, une requête chacun), elle reflète les écritures de toutes les instances ; les
+     * disponibilités se combinent ensuite par ET / OU mot à mot sur les calendriers en bits.
+     * Une borne non ACTIVE n'a aucun créneau libre, une borne occupée n'a pas son créneau courant, et les
+     * créneaux déjà écoulés ne sont jamais libres. Les bornes inconnues sont écartées de la grille et
+     * listées dans inconnues.
+     */
+    @Transactional(readOnly = true)
+    public GrilleDisponibiliteDTO getGrilleDisponibilites(List<Long> numBornes, LocalDate premierJour, int nbJours) {
+        if (numBornes == null || numBornes.isEmpty() || numBornes.size() > MAX_BORNES_GRILLE) {
+            throw new IllegalArgumentException("Le nombre de bornes doit être compris entre 1 et " + MAX_BORNES_GRILLE);
+        }
+        if (nbJours < 1 || nbJours > MAX_JOURS_GRILLE) {
+            throw new IllegalArgumentException("Le nombre de jours doit être compris entre 1 et " + MAX_JOURS_GRILLE);
+        }
+
+        // Les jours déjà passés sont écartés : la grille commence au plus tôt aujourd'hui
+        LocalDate aujourdhui = LocalDate.now();
+        if (premierJour.isBefore(aujourdhui)) {
+            nbJours -= (int) Math.min(nbJours, premierJour.until(aujourdhui, ChronoUnit.DAYS));
+            premierJour = aujourdhui;
+            if (nbJours == 0) {
+                throw new IllegalArgumentException("La grille ne peut pas porter uniquement sur des jours passés");
+            }
+        }
+
+        Set<Long> demandees = new LinkedHashSet<>(numBornes);
+        Map<Long, BornePosition> etats = borneRepository.findPositionsByNumBorneIn(demandees).stream()
+                .collect(Collectors.toMap(BornePosition::getNumBorne, Function.identity()));
+        Map<Long, List<BlocagesCreneaux.Blocage>> blocages = blocagesCreneaux.blocages(etats.keySet()).stream()
+                .collect(Collectors.groupingBy(BlocagesCreneaux.Blocage::getNumBorne));
+        LocalDateTime debutGrille = premierJour.atStartOfDay();
+        LocalDateTime finGrille = debutGrille.plusDays(nbJours);
+        Map<Long, List<ReservationCreneau>> reservations = etats.isEmpty() ? Map.of()
+                : reservationRepository.findCreneauxByNumBorneInAndPeriode(etats.keySet(), debutGrille, finGrille, EtatReservation.bloquants())
+                        .stream().collect(Collectors.groupingBy(ReservationCreneau::getNumBorne));
+        long jour = premierJour.toEpochDay();
+        long maintenant = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+
+        int nbMots = nbJours * CalendrierCreneaux.MOTS_PAR_JOUR;
+        long[] toutesLibres = new long[nbMots];
+        long[] auMoinsUneLibre = new long[nbMots];
+        Map<Long, String> bornes = new LinkedHashMap<>();
+        List<Long> inconnues = new ArrayList<>();
+        for (Long numBorne : demandees) {
+            BornePosition etat = etats.get(numBorne);
+            if (etat == null) {
+                inconnues.add(numBorne);
+                continue;
+            }
+            long[] libres = new long[nbMots];
+            if (etat.getEtat() != EtatBorne.ACTIVE) {
+                Arrays.fill(libres, -1L);
+            }
+            CalendrierCreneaux.marquer(libres, jour, nbJours, jour * CalendrierCreneaux.SECONDES_PAR_JOUR, maintenant); // créneaux écoulés
+            if (Boolean.TRUE.equals(etat.getOccupee())) {
+                CalendrierCreneaux.marquer(libres, jour, nbJours, maintenant, maintenant + 1);
+            }
+            for (ReservationCreneau reservation : reservations.getOrDefault(numBorne, List.of())) {
+                CalendrierCreneaux.marquer(libres, jour, nbJours,
+                        reservation.getDateDebut().toEpochSecond(ZoneOffset.UTC), reservation.getDateFin().toEpochSecond(ZoneOffset.UTC));
+            }
+            for (BlocagesCreneaux.Blocage blocage : blocages.getOrDefault(numBorne, List.of())) {
+                CalendrierCreneaux.marquer(libres, jour, nbJours,
+                        blocage.getDateDebut().toEpochSecond(ZoneOffset.UTC), blocage.getDateFin().toEpochSecond(ZoneOffset.UTC));
+            }
+            boolean premiere = bornes.isEmpty();
+            for (int i = 0; i < nbMots; i++) {
+                libres[i] = ~libres[i];
+                toutesLibres[i] = premiere ? libres[i] : toutesLibres[i] & libres[i];
+                auMoinsUneLibre[i] |= libres[i];
             }
+            bornes.put(numBorne, CalendrierCreneaux.enTexte(libres, nbJours));
         }
-        return bornesDisponibles;
+        return new GrilleDisponibiliteDTO(premierJour, nbJours, CalendrierCreneaux.DUREE_CRENEAU_MINUTES, bornes,
+                CalendrierCreneaux.enTexte(toutesLibres, nbJours), CalendrierCreneaux.enTexte(auMoinsUneLibre, nbJours), inconnues);
     }
-} 
\ No newline at end of file
+}
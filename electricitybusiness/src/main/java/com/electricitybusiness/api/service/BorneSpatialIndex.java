@@ -0,0 +1,213 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.dto.BornePosition;
+import com.electricitybusiness.api.model.Borne;
+import com.electricitybusiness.api.repository.BorneRepository;
+import com.electricitybusiness.api.util.BorneUtils;
+import com.electricitybusiness.api.util.CoordonneesBornes;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index géographique en mémoire des bornes, basé sur une grille uniforme en degrés.
+ * Une recherche par rayon ne parcourt que les cellules couvertes par la boîte englobante du cercle,
+ * puis applique le calcul exact de distance de BorneUtils sur les seules bornes candidates.
+ * L'index est chargé au démarrage et maintenu par BorneService pour les bornes modifiées par cette instance.
+ * Il est aussi rechargé depuis la base toutes les borne.index.rechargement-ms : une borne créée, déplacée ou
+ * supprimée par une autre instance y apparaît donc avec au plus cet intervalle de retard.
+ */
+@Component
+@RequiredArgsConstructor
+public class BorneSpatialIndex {
+
+    private final BorneRepository borneRepository;
+
+    @Value("${borne.index.actif:true}")
+    private boolean actif = true;
+
+    @Value("${borne.index.taille-cellule:0.05}")
+    private double tailleCellule = 0.05; // degrés, soit environ 5,5 km en latitude
+
+    private volatile Map<Long, Set<Long>> cellules = new ConcurrentHashMap<>();
+    private volatile Map<Long, double[]> positions = new ConcurrentHashMap<>(); // numBorne -> {latitude, longitude}
+    private volatile CoordonneesBornes instantane; // reconstruit paresseusement après une modification
+    private volatile boolean charge = false;
+
+    /**
+     * Charge l'index au démarrage de l'application.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialiser() {
+        if (actif) {
+            recharger();
+        }
+    }
+
+    /**
+     * Recharge périodiquement l'index, pour suivre les bornes modifiées par les autres instances.
+     */
+    @Scheduled(initialDelayString = "${borne.index.rechargement-ms:300000}", fixedDelayString = "${borne.index.rechargement-ms:300000}")
+    public void rechargerPeriodiquement() {
+        if (actif && charge) {
+            recharger();
+        }
+    }
+
+    /**
+     * Reconstruit l'index à partir des positions stockées en base.
+     * Le nouvel index est construit à part puis remplace l'ancien : les recherches concurrentes ne voient
+     * jamais un index vide ou partiel.
+     */
+    public synchronized void recharger() {
+        Map<Long, Set<Long>> nouvellesCellules = new ConcurrentHashMap<>();
+        Map<Long, double[]> nouvellesPositions = new ConcurrentHashMap<>();
+        for (BornePosition position : borneRepository.findAllPositions()) {
+            ajouter(nouvellesCellules, nouvellesPositions, position.getNumBorne(),
+                    position.getLatitude().doubleValue(), position.getLongitude().doubleValue());
+        }
+        cellules = nouvellesCellules;
+        positions = nouvellesPositions;
+        instantane = null;
+        charge = true;
+    }
+
+    /**
+     * Ajoute ou déplace une borne dans l'index.
+     */
+    public synchronized void indexer(Borne borne) {
+        if (!charge || borne.getNumBorne() == null || borne.getLatitude() == null || borne.getLongitude() == null) {
+            return; // le prochain chargement lira la borne en base
+        }
+        retirerInterne(borne.getNumBorne());
+        ajouter(borne.getNumBorne(), borne.getLatitude().doubleValue(), borne.getLongitude().doubleValue());
+        instantane = null;
+    }
+
+    /**
+     * Retire une borne de l'index.
+     */
+    public synchronized void retirer(Long numBorne) {
+        if (charge && numBorne != null) {
+            retirerInterne(numBorne);
+            instantane = null;
+        }
+    }
+
+    /**
+     * Renvoie les identifiants (triés) des bornes situées à moins de rayon mètres de la position.
+     */
+    public List<Long> rechercher(double longitude, double latitude, double rayon) {
+        if (!charge) {
+            recharger();
+        }
+
+        double[] boite = BorneUtils.boiteEnglobante(longitude, latitude, rayon);
+        int nbColonnes = nbColonnes();
+        int ligneMin = ligne(boite[0]);
+        int ligneMax = ligne(boite[1]);
+        long colonneMin = (long) Math.floor((boite[2] + 180.0) / tailleCellule);
+        long colonneMax = (long) Math.floor((boite[3] + 180.0) / tailleCellule);
+        if (colonneMax - colonneMin + 1 >= nbColonnes) {
+            colonneMin = 0;
+            colonneMax = nbColonnes - 1;
+        }
+
+        List<Long> resultat = new ArrayList<>();
+        long nbCellules = (long) (ligneMax - ligneMin + 1) * (colonneMax - colonneMin + 1);
+        if (nbCellules > cellules.size()) {
+            // Rayon très large : moins coûteux de filtrer en une passe toutes les positions
+            for (long numBorne : instantane().dansRayon(longitude, latitude, rayon)) {
+                resultat.add(numBorne);
+            }
+        } else {
+            for (int ligne = ligneMin; ligne <= ligneMax; ligne++) {
+                for (long colonne = colonneMin; colonne <= colonneMax; colonne++) {
+                    Set<Long> cellule = cellules.get(cle(ligne, (int) Math.floorMod(colonne, nbColonnes)));
+                    if (cellule == null) continue;
+                    for (Long numBorne : cellule) {
+                        double[] position = positions.get(numBorne);
+                        if (position != null && BorneUtils.distance(longitude, latitude, position[1], position[0]) <= rayon) {
+                            resultat.add(numBorne);
+                        }
+                    }
+                }
+            }
+        }
+        Collections.sort(resultat);
+        return resultat;
+    }
+
+    private CoordonneesBornes instantane() {
+        CoordonneesBornes courant = instantane;
+        return courant != null ? courant : construireInstantane();
+    }
+
+    private synchronized CoordonneesBornes construireInstantane() {
+        if (instantane == null) {
+            int n = positions.size();
+            long[] ids = new long[n];
+            double[] latitudes = new double[n];
+            double[] longitudes = new double[n];
+            int i = 0;
+            for (Map.Entry<Long, double[]> entree : positions.entrySet()) {
+                ids[i] = entree.getKey();
+                latitudes[i] = entree.getValue()[0];
+                longitudes[i] = entree.getValue()[1];
+                i++;
+            }
+            instantane = new CoordonneesBornes(ids, latitudes, longitudes);
+        }
+        return instantane;
+    }
+
+    private void ajouter(Long numBorne, double latitude, double longitude) {
+        ajouter(cellules, positions, numBorne, latitude, longitude);
+    }
+
+    private void ajouter(Map<Long, Set<Long>> cellules, Map<Long, double[]> positions, Long numBorne, double latitude, double longitude) {
+        positions.put(numBorne, new double[] { latitude, longitude });
+        cellules.computeIfAbsent(cle(latitude, longitude), k -> ConcurrentHashMap.newKeySet()).add(numBorne);
+    }
+
+    private void retirerInterne(Long numBorne) {
+        double[] ancienne = positions.remove(numBorne);
+        if (ancienne == null) return;
+        long cle = cle(ancienne[0], ancienne[1]);
+        Set<Long> cellule = cellules.get(cle);
+        if (cellule != null) {
+            cellule.remove(numBorne);
+            if (cellule.isEmpty()) {
+                cellules.remove(cle);
+            }
+        }
+    }
+
+    private long cle(double latitude, double longitude) {
+        int colonne = (int) Math.floorMod((long) Math.floor((longitude + 180.0) / tailleCellule), nbColonnes());
+        return cle(ligne(latitude), colonne);
+    }
+
+    private long cle(int ligne, int colonne) {
+        return (long) ligne * nbColonnes() + colonne;
+    }
+
+    private int ligne(double latitude) {
+        int nbLignes = (int) Math.ceil(180.0 / tailleCellule);
+        return Math.max(0, Math.min(nbLignes - 1, (int) Math.floor((latitude + 90.0) / tailleCellule)));
+    }
+
+    private int nbColonnes() {
+        return (int) Math.ceil(360.0 / tailleCellule);
+    }
+}
@@ -0,0 +1,133 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.dto.BornePosition;
+import com.electricitybusiness.api.model.EtatBorne;
+import com.electricitybusiness.api.model.EtatReservation;
+import com.electricitybusiness.api.repository.BorneRepository;
+import com.electricitybusiness.api.repository.ReservationRepository;
+import com.electricitybusiness.api.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fait avancer les réservations dans leur cycle de vie :
+ * DEMANDE / ACCEPTEE -> EN_COURS à la date de début, puis -> TERMINEE à la date de fin,
+ * en maintenant Borne.occupee dans la même transaction.
+ * Le travail est découpé en lots bornés, chacun dans sa propre transaction : les lignes sont
+ * réclamées par SELECT ... FOR UPDATE SKIP LOCKED puis modifiées par des UPDATE JPQL groupés,
+ * sans charger les entités. Plusieurs instances peuvent tourner en même temps sans se gêner.
+ * L'instance qui traite un lot met à jour ses index après le commit ; à chaque passage, toutes les instances
+ * relisent en plus les bornes modifiées depuis le passage précédent (date_modification, moins une marge pour
+ * les transactions validées en retard), pour que l'index des bornes disponibles suive aussi les lots
+ * traités ailleurs. Une instance a donc au plus un intervalle de retard sur l'occupation des bornes.
+ */
+@Service
+@RequiredArgsConstructor
+public class CycleReservationsService {
+
+    private static final Set<String> A_DEMARRER = Set.of(EtatReservation.DEMANDE.name(), EtatReservation.ACCEPTEE.name());
+    private static final Set<String> A_TERMINER = EtatReservation.bloquants().stream()
+            .map(Enum::name).collect(Collectors.toUnmodifiableSet());
+
+    private final ReservationRepository reservationRepository;
+    private final BorneRepository borneRepository;
+    private final BornePlusProchesIndex bornePlusProchesIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${reservation.cycle.taille-lot:500}")
+    private int tailleLot = 500;
+
+    @Value("${reservation.cycle.lots-max:20}")
+    private int lotsMax = 20;
+
+    @Value("${reservation.cycle.marge-synchronisation-ms:60000}")
+    private long margeSynchronisation = 60_000;
+
+    private LocalDateTime derniereSynchronisation = LocalDateTime.now();
+
+    /**
+     * Exécution planifiée.
+     */
+    @Scheduled(fixedDelayString = "${reservation.cycle.intervalle-ms:60000}")
+    public void executer() {
+        executer(LocalDateTime.now());
+        synchroniser();
+    }
+
+    /**
+     * Répercute sur l'index des bornes disponibles l'état des bornes écrites depuis la synchronisation
+     * précédente, sur cette instance ou une autre, et renvoie leur nombre.
+     */
+    public synchronized int synchroniser() {
+        LocalDateTime debut = LocalDateTime.now();
+        List<BornePosition> positions = borneRepository.findPositionsModifieesDepuis(
+                derniereSynchronisation.minus(Duration.ofMillis(margeSynchronisation)));
+        positions.forEach(this::changerDisponibilite);
+        derniereSynchronisation = debut;
+        return positions.size();
+    }
+
+    /**
+     * Traite au plus lotsMax lots de chaque transition et renvoie le nombre de réservations modifiées.
+     * Les réservations terminées passent en premier : une borne qui enchaîne deux réservations reste occupée.
+     */
+    public int executer(LocalDateTime maintenant) {
+        return traiterParLots(true, maintenant) + traiterParLots(false, maintenant);
+    }
+
+    private int traiterParLots(boolean terminer, LocalDateTime maintenant) {
+        int total = 0;
+        for (int lot = 0; lot < lotsMax; lot++) {
+            Integer traitees = transactionTemplate.execute(statut -> terminer ? terminerLot(maintenant) : demarrerLot(maintenant));
+            total += traitees;
+            if (traitees < tailleLot) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int terminerLot(LocalDateTime maintenant) {
+        List<Long> ids = reservationRepository.reclamerATerminer(A_TERMINER, maintenant, tailleLot);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> numBornes = reservationRepository.findNumBornesByNumReservationIn(ids);
+        reservationRepository.updateEtat(ids, EtatReservation.TERMINEE);
+        borneRepository.libererSansReservation(numBornes, EtatReservation.EN_COURS, LocalDateTime.now());
+        rafraichirIndex(numBornes);
+        return ids.size();
+    }
+
+    private int demarrerLot(LocalDateTime maintenant) {
+        List<Long> ids = reservationRepository.reclamerADemarrer(A_DEMARRER, maintenant, tailleLot);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> numBornes = reservationRepository.findNumBornesByNumReservationIn(ids);
+        reservationRepository.updateEtat(ids, EtatReservation.EN_COURS);
+        borneRepository.marquerOccupees(numBornes, LocalDateTime.now());
+        rafraichirIndex(numBornes);
+        return ids.size();
+    }
+
+    // Répercute l'état occupee relu en base sur l'index des bornes disponibles, après commit
+    private void rafraichirIndex(List<Long> numBornes) {
+        List<BornePosition> positions = borneRepository.findPositionsByNumBorneIn(numBornes);
+        TransactionUtils.afterCommit(() -> positions.forEach(this::changerDisponibilite));
+    }
+
+    private void changerDisponibilite(BornePosition position) {
+        bornePlusProchesIndex.changerDisponibilite(position.getNumBorne(),
+                position.getEtat() == EtatBorne.ACTIVE && !Boolean.TRUE.equals(position.getOccupee()));
+    }
+}
@@ -0,0 +1,223 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.dto.RechargeDTO;
+import com.electricitybusiness.api.dto.ReservationDTO;
+import com.electricitybusiness.api.mapper.EntityMapper;
+import com.electricitybusiness.api.model.Recharge;
+import com.electricitybusiness.api.model.Reservation;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Export complet des réservations et des recharges en NDJSON (un objet JSON par ligne) ou en CSV.
+ * Les lignes sont lues par un curseur Hibernate en avant seulement (ScrollableResults, fetch size configurable),
+ * converties une à une par EntityMapper et écrites aussitôt dans le flux de la réponse.
+ * Le contexte de persistance est vidé toutes les export.taille-lot lignes : la mémoire utilisée
+ * ne dépend pas de la taille de la table.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format depuis(String valeur) {
+            try {
+                return Format.valueOf(valeur.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Format d'export inconnu : " + valeur + " (ndjson ou csv)");
+            }
+        }
+    }
+
+    private static final List<Colonne<ReservationDTO>> COLONNES_RESERVATIONS = List.of(
+            new Colonne<>("id", ReservationDTO::getId),
+            new Colonne<>("dateDebut", ReservationDTO::getDateDebutReservation),
+            new Colonne<>("dateFin", ReservationDTO::getDateFinReservation),
+            new Colonne<>("etat", ReservationDTO::getEtatReservation),
+            new Colonne<>("montant", ReservationDTO::getMontantPaye),
+            new Colonne<>("datePaiement", ReservationDTO::getDatePaiement),
+            new Colonne<>("numUtilisateur", ReservationDTO::getNumUtilisateur),
+            new Colonne<>("numBorne", ReservationDTO::getNumBorne));
+
+    private static final List<Colonne<RechargeDTO>> COLONNES_RECHARGES = List.of(
+            new Colonne<>("id", RechargeDTO::getId),
+            new Colonne<>("numero", RechargeDTO::getNumero),
+            new Colonne<>("montant", RechargeDTO::getMontant),
+            new Colonne<>("dateRecharge", RechargeDTO::getDateRecharge),
+            new Colonne<>("reference", RechargeDTO::getReference),
+            new Colonne<>("statut", RechargeDTO::getStatut));
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    private final int tailleLot;
+
+    public ExportService(EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         EntityMapper mapper,
+                         ObjectMapper objectMapper,
+                         @Value("${export.fetch-size:500}") int fetchSize,
+                         @Value("${export.taille-lot:1000}") int tailleLot) {
+        this.entityManager = entityManager;
+        // Le corps de la réponse est écrit hors du thread de la requête : chaque export ouvre sa propre transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+        this.tailleLot = tailleLot;
+    }
+
+    /**
+     * Écrit toutes les réservations, par numéro croissant. Renvoie le nombre de lignes exportées.
+     */
+    public long exporterReservations(Format format, OutputStream sortie) {
+        // Les associations sont chargées par jointure : pas de requête supplémentaire par ligne
+        return exporter("select r from Reservation r join fetch r.utilisateur join fetch r.borne order by r.numReservation",
+                Reservation.class, mapper::toDTO, COLONNES_RESERVATIONS, format, sortie);
+    }
+
+    /**
+     * Écrit toutes les recharges, par identifiant croissant. Renvoie le nombre de lignes exportées.
+     */
+    public long exporterRecharges(Format format, OutputStream sortie) {
+        return exporter("select r from Recharge r order by r.id",
+                Recharge.class, mapper::toDTO, COLONNES_RECHARGES, format, sortie);
+    }
+
+    private <E, D> long exporter(String requete, Class<E> entite, Function<E, D> conversion, List<Colonne<D>> colonnes,
+                                 Format format, OutputStream sortie) {
+        Long lignes = transactionTemplate.execute(statut -> {
+            Session session = entityManager.unwrap(Session.class);
+            try (ScrollableResults<E> resultats = session.createSelectionQuery(requete, entite)
+                    .setReadOnly(true)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+                 Ecriture<D> ecriture = format == Format.CSV ? new EcritureCsv<>(sortie, colonnes) : new EcritureNdjson<>(sortie, objectMapper)) {
+                long nombre = 0;
+                while (resultats.next()) {
+                    ecriture.ecrire(conversion.apply(resultats.get()));
+                    if (++nombre % tailleLot == 0) {
+                        session.clear(); // libère les entités déjà écrites
+                        ecriture.vider();
+                    }
+                }
+                return nombre;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return lignes == null ? 0 : lignes;
+    }
+
+    private record Colonne<D>(String nom, Function<D, Object> valeur) {
+    }
+
+    private interface Ecriture<D> extends AutoCloseable {
+        void ecrire(D ligne) throws IOException;
+
+        void vider() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static class EcritureNdjson<D> implements Ecriture<D> {
+
+        private final JsonGenerator generateur;
+        private final ObjectWriter objectWriter;
+
+        EcritureNdjson(OutputStream sortie, ObjectMapper objectMapper) throws IOException {
+            this.generateur = objectMapper.getFactory().createGenerator(sortie).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generateur.setRootValueSeparator(null);
+            this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void ecrire(D ligne) throws IOException {
+            objectWriter.writeValue(generateur, ligne);
+            generateur.writeRaw('\n'); // chaque ligne, y compris la dernière, se termine par un saut de ligne
+        }
+
+        @Override
+        public void vider() throws IOException {
+            generateur.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generateur.close(); // vide le tampon sans fermer le flux de la réponse
+        }
+    }
+
+    private static class EcritureCsv<D> implements Ecriture<D> {
+
+        private final Writer writer;
+        private final List<Colonne<D>> colonnes;
+
+        EcritureCsv(OutputStream sortie, List<Colonne<D>> colonnes) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(sortie, StandardCharsets.UTF_8));
+            this.colonnes = colonnes;
+            for (int i = 0; i < colonnes.size(); i++) {
+                writer.write(i == 0 ? "" : ",");
+                writer.write(colonnes.get(i).nom());
+            }
+            writer.write("\n");
+        }
+
+        @Override
+        public void ecrire(D ligne) throws IOException {
+            for (int i = 0; i < colonnes.size(); i++) {
+                writer.write(i == 0 ? "" : ",");
+                writer.write(champCsv(colonnes.get(i).valeur().apply(ligne)));
+            }
+            writer.write("\n");
+        }
+
+        @Override
+        public void vider() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    // Valeur d'un champ CSV (RFC 4180) : entre guillemets si elle contient un séparateur, un guillemet ou un saut de ligne
+    static String champCsv(Object valeur) {
+        if (valeur == null) {
+            return "";
+        }
+        String texte = valeur.toString();
+        if (texte.indexOf(',') < 0 && texte.indexOf('"') < 0 && texte.indexOf('\n') < 0 && texte.indexOf('\r') < 0) {
+            return texte;
+        }
+        return '"' + texte.replace("\"", "\"\"") + '"';
+    }
+}
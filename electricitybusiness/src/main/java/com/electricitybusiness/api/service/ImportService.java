@@ -0,0 +1,556 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.dto.LigneImportDTO;
+import com.electricitybusiness.api.dto.ProgressionImportDTO;
+import com.electricitybusiness.api.model.Adresse;
+import com.electricitybusiness.api.model.Borne;
+import com.electricitybusiness.api.model.EtatBorne;
+import com.electricitybusiness.api.model.Lieu;
+import com.electricitybusiness.api.model.TarifHoraire;
+import com.electricitybusiness.api.repository.BorneRepository;
+import com.electricitybusiness.api.util.LecteurCsv;
+import com.electricitybusiness.api.util.TransactionUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Import en masse de bornes (avec leur lieu et leur adresse) et de tarifs horaires depuis un fichier CSV.
+ * Le fichier est lu un enregistrement à la fois (LecteurCsv) ; chaque ligne est convertie et validée
+ * (Bean Validation) sur un pool dédié pendant que le lot précédent est écrit : au plus deux lots de
+ * import.taille-lot lignes sont en mémoire, quelle que soit la taille du fichier.
+ * Chaque lot est écrit dans sa propre transaction, en INSERT groupés (hibernate.jdbc.batch_size).
+ * Une ligne invalide est rejetée sans interrompre l'import ; si la base refuse un lot, ses lignes
+ * sont réécrites une à une pour isoler les fautives. L'avancement reste consultable
+ * import.conservation-minutes minutes après la fin de l'import.
+ */
+@Service
+public class ImportService {
+
+    public enum Type {
+        BORNES, TARIFS
+    }
+
+    private static final List<String> COLONNES_BORNES = List.of("nomBorne", "latitude", "longitude", "puissance", "etat",
+            "numeroEtRue", "codePostal", "ville", "pays");
+
+    private static final List<String> COLONNES_TARIFS = List.of("numBorne", "tarifParMinute", "heureDebut", "heureFin", "dateDebut");
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final BorneRepository borneRepository;
+    private final BorneSpatialIndex borneSpatialIndex;
+    private final BornePlusProchesIndex bornePlusProchesIndex;
+    private final MoteurTarifaire moteurTarifaire;
+    private final ObjectMapper objectMapper;
+    private final int tailleLot;
+    private final Duration conservation;
+    private final ThreadPoolExecutor validation;
+    private final Map<String, Progression> imports = new ConcurrentHashMap<>();
+
+    public ImportService(EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         Validator validator,
+                         BorneRepository borneRepository,
+                         BorneSpatialIndex borneSpatialIndex,
+                         BornePlusProchesIndex bornePlusProchesIndex,
+                         MoteurTarifaire moteurTarifaire,
+                         ObjectMapper objectMapper,
+                         @Value("${import.taille-lot:500}") int tailleLot,
+                         @Value("${import.threads:0}") int threads,
+                         @Value("${import.conservation-minutes:60}") long conservationMinutes) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager); // une transaction par lot
+        this.validator = validator;
+        this.borneRepository = borneRepository;
+        this.borneSpatialIndex = borneSpatialIndex;
+        this.bornePlusProchesIndex = bornePlusProchesIndex;
+        this.moteurTarifaire = moteurTarifaire;
+        this.objectMapper = objectMapper;
+        this.tailleLot = tailleLot;
+        this.conservation = Duration.ofMinutes(conservationMinutes);
+        int taille = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger numero = new AtomicInteger();
+        // File bornée : quand elle est pleine, le thread qui lit le fichier valide lui-même la ligne et ralentit d'autant
+        this.validation = new ThreadPoolExecutor(taille, taille, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(2 * tailleLot),
+                tache -> {
+                    Thread thread = new Thread(tache, "import-" + numero.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Import prêt à être exécuté : l'en-tête du fichier est lu et vérifié.
+     */
+    public static class ImportEnCours {
+
+        private final Progression progression;
+        private final Reader reader;
+        private final LecteurCsv lecteur;
+        private final Map<String, Integer> colonnes;
+        private final int nombreColonnes;
+        private final TypeImport<?> type;
+
+        private ImportEnCours(Progression progression, Reader reader, LecteurCsv lecteur,
+                              Map<String, Integer> colonnes, int nombreColonnes, TypeImport<?> type) {
+            this.progression = progression;
+            this.reader = reader;
+            this.lecteur = lecteur;
+            this.colonnes = colonnes;
+            this.nombreColonnes = nombreColonnes;
+            this.type = type;
+        }
+
+        public String getId() {
+            return progression.id;
+        }
+    }
+
+    /**
+     * Lit l'en-tête du fichier (noms de colonnes, dans un ordre quelconque) et enregistre l'import.
+     * IllegalArgumentException si le fichier est vide ou qu'il manque une colonne obligatoire.
+     */
+    public ImportEnCours demarrer(Type type, InputStream fichier) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(fichier, StandardCharsets.UTF_8));
+        try {
+            LecteurCsv lecteur = new LecteurCsv(reader);
+            List<String> entete = lecteur.lire();
+            if (entete == null) {
+                throw new IllegalArgumentException("Fichier CSV vide");
+            }
+            Map<String, Integer> colonnes = new HashMap<>();
+            for (int i = 0; i < entete.size(); i++) {
+                colonnes.put(entete.get(i).replace("\uFEFF", "").trim(), i);
+            }
+            TypeImport<?> typeImport = type == Type.BORNES ? new ImportBornes() : new ImportTarifs();
+            List<String> manquantes = typeImport.colonnesObligatoires().stream()
+                    .filter(colonne -> !colonnes.containsKey(colonne)).toList();
+            if (!manquantes.isEmpty()) {
+                throw new IllegalArgumentException("Colonnes manquantes : " + String.join(", ", manquantes));
+            }
+            purger();
+            Progression progression = new Progression(UUID.randomUUID().toString(), type);
+            imports.put(progression.id, progression);
+            return new ImportEnCours(progression, reader, lecteur, colonnes, entete.size(), typeImport);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Avancement d'un import en cours ou récemment terminé.
+     */
+    public Optional<ProgressionImportDTO> progression(String id) {
+        return Optional.ofNullable(imports.get(id)).map(Progression::instantane);
+    }
+
+    /**
+     * Exécute l'import et écrit son déroulement en NDJSON : un LigneImportDTO par ligne du fichier,
+     * un ProgressionImportDTO après chaque lot (le flux est alors vidé) et à la fin.
+     */
+    public ProgressionImportDTO importer(ImportEnCours enCours, OutputStream sortie) throws IOException {
+        ObjectWriter objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generateur = objectMapper.getFactory().createGenerator(sortie).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generateur.setRootValueSeparator(null);
+            return importer(enCours, evenement -> {
+                try {
+                    objectWriter.writeValue(generateur, evenement);
+                    generateur.writeRaw('\n');
+                    if (evenement instanceof ProgressionImportDTO) {
+                        generateur.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Exécute l'import : evenements reçoit, dans l'ordre du fichier, un LigneImportDTO par ligne,
+     * puis un ProgressionImportDTO après chaque lot et à la fin (renvoyé aussi par la méthode).
+     * Les lots déjà écrits restent en base si l'import échoue en cours de route.
+     */
+    public ProgressionImportDTO importer(ImportEnCours enCours, Consumer<Object> evenements) {
+        Progression progression = enCours.progression;
+        try (Reader reader = enCours.reader) {
+            traiter(enCours, enCours.type, evenements);
+            progression.terminer("TERMINE", null);
+        } catch (IOException | RuntimeException e) {
+            progression.terminer("ECHOUE", e.getMessage());
+        }
+        ProgressionImportDTO fin = progression.instantane();
+        evenements.accept(fin);
+        return fin;
+    }
+
+    @PreDestroy
+    public void arreter() {
+        validation.shutdown();
+    }
+
+    private <E> void traiter(ImportEnCours enCours, TypeImport<E> type, Consumer<Object> evenements) throws IOException {
+        List<CompletableFuture<LigneLue<E>>> lot = lireLot(enCours, type);
+        while (!lot.isEmpty()) {
+            // Le lot suivant est lu et validé pendant l'écriture du lot courant
+            List<CompletableFuture<LigneLue<E>>> suivant = lireLot(enCours, type);
+            ecrireLot(enCours.progression, type, lot.stream().map(CompletableFuture::join).toList(), evenements);
+            evenements.accept(enCours.progression.instantane());
+            lot = suivant;
+        }
+    }
+
+    private <E> List<CompletableFuture<LigneLue<E>>> lireLot(ImportEnCours enCours, TypeImport<E> type) throws IOException {
+        List<CompletableFuture<LigneLue<E>>> lot = new ArrayList<>(tailleLot);
+        while (lot.size() < tailleLot) {
+            List<String> valeurs;
+            try {
+                valeurs = enCours.lecteur.lire();
+            } catch (IllegalArgumentException e) {
+                // Guillemet non refermé : la suite du fichier a été lue comme un seul champ
+                enCours.progression.lues.incrementAndGet();
+                lot.add(CompletableFuture.completedFuture(new LigneLue<>(enCours.lecteur.ligne(), null, null, e.getMessage())));
+                break;
+            }
+            if (valeurs == null) {
+                break;
+            }
+            enCours.progression.lues.incrementAndGet();
+            int ligne = enCours.lecteur.ligne();
+            if (valeurs.size() != enCours.nombreColonnes) {
+                String erreur = enCours.nombreColonnes + " colonnes attendues, " + valeurs.size() + " trouvées";
+                lot.add(CompletableFuture.completedFuture(new LigneLue<>(ligne, null, null, erreur)));
+            } else {
+                Champs champs = new Champs(enCours.colonnes, valeurs);
+                lot.add(CompletableFuture.supplyAsync(() -> valider(type, ligne, champs), validation));
+            }
+        }
+        return lot;
+    }
+
+    private <E> LigneLue<E> valider(TypeImport<E> type, int ligne, Champs champs) {
+        try {
+            E entite = type.convertir(champs);
+            String violations = type.aValider(entite).stream()
+                    .flatMap(objet -> validator.validate(objet).stream())
+                    .map(violation -> violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return violations.isEmpty() ? new LigneLue<>(ligne, champs, entite, null) : new LigneLue<>(ligne, champs, null, violations);
+        } catch (IllegalArgumentException e) {
+            return new LigneLue<>(ligne, champs, null, e.getMessage());
+        }
+    }
+
+    private <E> void ecrireLot(Progression progression, TypeImport<E> type, List<LigneLue<E>> lot, Consumer<Object> evenements) {
+        List<LigneLue<E>> valides = lot.stream().filter(ligne -> ligne.erreur() == null).toList();
+        List<LigneImportDTO> ecrites;
+        try {
+            ecrites = valides.isEmpty() ? List.of() : transactionTemplate.execute(statut -> type.ecrire(valides));
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            // Une ligne refusée par la base annule tout le lot : chaque ligne est réécrite seule, avec des entités neuves
+            ecrites = valides.stream().map(ligne -> ecrireSeule(type, ligne)).toList();
+        }
+        Iterator<LigneImportDTO> resultats = ecrites.iterator();
+        for (LigneLue<E> ligne : lot) {
+            LigneImportDTO resultat = ligne.erreur() != null ? new LigneImportDTO(ligne.numero(), null, ligne.erreur()) : resultats.next();
+            (resultat.getErreur() == null ? progression.importees : progression.rejetees).incrementAndGet();
+            evenements.accept(resultat);
+        }
+    }
+
+    private <E> LigneImportDTO ecrireSeule(TypeImport<E> type, LigneLue<E> ligne) {
+        LigneLue<E> neuve = new LigneLue<>(ligne.numero(), ligne.champs(), type.convertir(ligne.champs()), null);
+        try {
+            return transactionTemplate.execute(statut -> type.ecrire(List.of(neuve))).get(0);
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            return new LigneImportDTO(ligne.numero(), null, "Refusée par la base : " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private void purger() {
+        LocalDateTime limite = LocalDateTime.now().minus(conservation);
+        imports.values().removeIf(progression -> progression.fin != null && progression.fin.isBefore(limite));
+    }
+
+    private record LigneLue<E>(int numero, Champs champs, E entite, String erreur) {
+    }
+
+    /**
+     * Conversion, validation et écriture des lignes d'un type d'import.
+     * ecrire est appelée dans la transaction du lot et renvoie un résultat par ligne, dans l'ordre.
+     */
+    private abstract static class TypeImport<E> {
+
+        abstract List<String> colonnesObligatoires();
+
+        // IllegalArgumentException si une valeur est illisible
+        abstract E convertir(Champs champs);
+
+        abstract List<Object> aValider(E entite);
+
+        abstract List<LigneImportDTO> ecrire(List<LigneLue<E>> lot);
+    }
+
+    /**
+     * Une borne par ligne. Les lignes d'une même adresse (numéro et rue, code postal, ville, pays)
+     * partagent un lieu, créé par la première d'entre elles avec ses instructions.
+     */
+    private class ImportBornes extends TypeImport<Borne> {
+
+        private final Map<String, Long> lieux = new HashMap<>(); // lieux des lots déjà validés, par adresse
+
+        @Override
+        List<String> colonnesObligatoires() {
+            return COLONNES_BORNES;
+        }
+
+        @Override
+        Borne convertir(Champs champs) {
+            Adresse adresse = new Adresse();
+            adresse.setNomAdresse(champs.texte("nomAdresse"));
+            adresse.setNumeroEtRue(champs.texte("numeroEtRue"));
+            adresse.setCodePostal(champs.texte("codePostal"));
+            adresse.setVille(champs.texte("ville"));
+            adresse.setPays(champs.texte("pays"));
+            adresse.setRegion(champs.texte("region"));
+            adresse.setComplement(champs.texte("complement"));
+            adresse.setEtage(champs.texte("etage"));
+
+            Lieu lieu = new Lieu();
+            lieu.setInstructions(champs.texte("instructionsLieu"));
+            lieu.setAdresse(adresse);
+
+            Borne borne = new Borne();
+            borne.setNomBorne(champs.texte("nomBorne"));
+            borne.setLatitude(champs.valeur("latitude", BigDecimal::new));
+            borne.setLongitude(champs.valeur("longitude", BigDecimal::new));
+            borne.setPuissance(champs.valeur("puissance", BigDecimal::new));
+            borne.setInstruction(champs.texte("instruction"));
+            Optional.ofNullable(champs.valeur("surPied", ImportService::booleen)).ifPresent(borne::setSurPied);
+            borne.setEtat(champs.valeur("etat", valeur -> EtatBorne.valueOf(valeur.toUpperCase(Locale.ROOT))));
+            borne.setLieu(lieu);
+            return borne;
+        }
+
+        @Override
+        List<Object> aValider(Borne borne) {
+            return List.of(borne, borne.getLieu().getAdresse());
+        }
+
+        @Override
+        List<LigneImportDTO> ecrire(List<LigneLue<Borne>> lot) {
+            Map<String, Lieu> lieuxDuLot = new HashMap<>();
+            List<Borne> bornes = new ArrayList<>(lot.size());
+            List<LigneImportDTO> resultats = new ArrayList<>(lot.size());
+            for (LigneLue<Borne> ligne : lot) {
+                Borne borne = ligne.entite();
+                Lieu lieu = lieuxDuLot.computeIfAbsent(cle(borne.getLieu().getAdresse()), cle -> {
+                    Long numLieu = lieux.get(cle);
+                    if (numLieu != null) {
+                        return entityManager.getReference(Lieu.class, numLieu);
+                    }
+                    entityManager.persist(borne.getLieu()); // l'adresse suit par cascade
+                    return borne.getLieu();
+                });
+                borne.setLieu(lieu);
+                entityManager.persist(borne); // identifiant tiré de la séquence, INSERT différé au commit
+                bornes.add(borne);
+                resultats.add(new LigneImportDTO(ligne.numero(), borne.getNumBorne(), null));
+            }
+            TransactionUtils.afterCommit(() -> {
+                lieuxDuLot.forEach((cle, lieu) -> lieux.put(cle, lieu.getNumLieu()));
+                bornes.forEach(borne -> {
+                    borneSpatialIndex.indexer(borne);
+                    bornePlusProchesIndex.indexer(borne);
+                });
+            });
+            return resultats;
+        }
+
+        private String cle(Adresse adresse) {
+            return String.join("|", adresse.getNumeroEtRue(), adresse.getCodePostal(), adresse.getVille(), adresse.getPays())
+                    .replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Un tarif horaire par ligne, rattaché à une borne existante par son numéro (numBorne).
+     */
+    private class ImportTarifs extends TypeImport<TarifHoraire> {
+
+        @Override
+        List<String> colonnesObligatoires() {
+            return COLONNES_TARIFS;
+        }
+
+        @Override
+        TarifHoraire convertir(Champs champs) {
+            Borne borne = new Borne();
+            borne.setNumBorne(champs.valeur("numBorne", Long::valueOf));
+
+            TarifHoraire tarif = new TarifHoraire();
+            tarif.setTarifParMinute(champs.valeur("tarifParMinute", BigDecimal::new));
+            tarif.setHeureDebut(champs.valeur("heureDebut", LocalTime::parse));
+            tarif.setHeureFin(champs.valeur("heureFin", LocalTime::parse));
+            tarif.setJourSemaine(champs.valeur("jourSemaine", Integer::valueOf));
+            tarif.setDateDebut(champs.valeur("dateDebut", LocalDate::parse));
+            tarif.setDateFin(champs.valeur("dateFin", LocalDate::parse));
+            Optional.ofNullable(champs.valeur("actif", ImportService::booleen)).ifPresent(tarif::setActif);
+            tarif.setBorne(borne.getNumBorne() != null ? borne : null);
+            if (tarif.getDateDebut() != null && tarif.getDateFin() != null && tarif.getDateFin().isBefore(tarif.getDateDebut())) {
+                throw new IllegalArgumentException("La date de fin précède la date de début");
+            }
+            return tarif;
+        }
+
+        @Override
+        List<Object> aValider(TarifHoraire tarif) {
+            return List.of(tarif);
+        }
+
+        @Override
+        List<LigneImportDTO> ecrire(List<LigneLue<TarifHoraire>> lot) {
+            Set<Long> existantes = new HashSet<>(borneRepository.findNumBornesByNumBorneIn(
+                    lot.stream().map(ligne -> ligne.entite().getBorne().getNumBorne()).collect(Collectors.toSet())));
+            Set<Long> modifiees = new HashSet<>();
+            List<LigneImportDTO> resultats = new ArrayList<>(lot.size());
+            for (LigneLue<TarifHoraire> ligne : lot) {
+                TarifHoraire tarif = ligne.entite();
+                Long numBorne = tarif.getBorne().getNumBorne();
+                if (!existantes.contains(numBorne)) {
+                    resultats.add(new LigneImportDTO(ligne.numero(), null, "Borne inconnue : " + numBorne));
+                    continue;
+                }
+                tarif.setBorne(entityManager.getReference(Borne.class, numBorne));
+                entityManager.persist(tarif);
+                modifiees.add(numBorne);
+                resultats.add(new LigneImportDTO(ligne.numero(), tarif.getNumTarif(), null));
+            }
+            TransactionUtils.afterCommit(() -> modifiees.forEach(moteurTarifaire::invalider));
+            return resultats;
+        }
+    }
+
+    /**
+     * Valeurs d'une ligne, lues par nom de colonne. Une colonne absente ou vide vaut null.
+     */
+    private static final class Champs {
+
+        private final Map<String, Integer> colonnes;
+        private final List<String> valeurs;
+
+        Champs(Map<String, Integer> colonnes, List<String> valeurs) {
+            this.colonnes = colonnes;
+            this.valeurs = valeurs;
+        }
+
+        String texte(String colonne) {
+            Integer index = colonnes.get(colonne);
+            if (index == null) {
+                return null;
+            }
+            String valeur = valeurs.get(index).trim();
+            return valeur.isEmpty() ? null : valeur;
+        }
+
+        <T> T valeur(String colonne, Function<String, T> conversion) {
+            String texte = texte(colonne);
+            if (texte == null) {
+                return null;
+            }
+            try {
+                return conversion.apply(texte);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Valeur invalide pour " + colonne + " : " + texte);
+            }
+        }
+    }
+
+    private static Boolean booleen(String valeur) {
+        return switch (valeur.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "oui" -> true;
+            case "false", "0", "non" -> false;
+            default -> throw new IllegalArgumentException(valeur);
+        };
+    }
+
+    private static final class Progression {
+
+        private final String id;
+        private final Type type;
+        private final LocalDateTime debut = LocalDateTime.now();
+        private final AtomicLong lues = new AtomicLong();
+        private final AtomicLong importees = new AtomicLong();
+        private final AtomicLong rejetees = new AtomicLong();
+        private volatile String etat = "EN_COURS";
+        private volatile LocalDateTime fin;
+        private volatile String erreur;
+
+        Progression(String id, Type type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        void terminer(String etat, String erreur) {
+            this.erreur = erreur;
+            this.fin = LocalDateTime.now();
+            this.etat = etat;
+        }
+
+        ProgressionImportDTO instantane() {
+            return new ProgressionImportDTO(id, type.name(), etat, lues.get(), importees.get(), rejetees.get(), debut, fin, erreur);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.electricitybusiness.api.service;
 
+import com.electricitybusiness.api.dto.PageCurseur;
 import com.electricitybusiness.api.model.Lieu;
 import com.electricitybusiness.api.repository.LieuRepository;
+import com.electricitybusiness.api.util.Pagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +30,16 @@ public class LieuService {
         return lieuRepository.findAll();
     }
 
+    /**
+     * Récupère une page de lieux par clé, à partir du curseur renvoyé par la page précédente.
+     */
+    @Transactional(readOnly = true)
+    public PageCurseur<Lieu> findPage(String curseur, Integer taille) {
+        int tailleEffective = Pagination.taille(taille);
+        List<Lieu> lignes = lieuRepository.findByNumLieuGreaterThanOrderByNumLieuAsc(Pagination.apres(curseur), Pagination.limite(tailleEffective));
+        return Pagination.page(lignes, tailleEffective, Lieu::getNumLieu);
+    }
+
     /**
      * Récupère un lieu par son ID.
      */
@@ -1,7 +1,9 @@
 package com.electricitybusiness.api.service;
 
+import com.electricitybusiness.api.dto.PageCurseur;
 import com.electricitybusiness.api.model.Media;
 import com.electricitybusiness.api.repository.MediaRepository;
+import com.electricitybusiness.api.util.Pagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +30,16 @@ public class MediaService {
         return mediaRepository.findAll();
     }
 
+    /**
+     * Récupère une page de médias par clé, à partir du curseur renvoyé par la page précédente.
+     */
+    @Transactional(readOnly = true)
+    public PageCurseur<Media> findPage(String curseur, Integer taille) {
+        int tailleEffective = Pagination.taille(taille);
+        List<Media> lignes = mediaRepository.findByNumMediaGreaterThanOrderByNumMediaAsc(Pagination.apres(curseur), Pagination.limite(tailleEffective));
+        return Pagination.page(lignes, tailleEffective, Media::getNumMedia);
+    }
+
     /**
      * Récupère un média par son ID.
      */
@@ -0,0 +1,167 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.dto.DevisRequest;
+import com.electricitybusiness.api.dto.RegleTarifaireBorne;
+import com.electricitybusiness.api.repository.TarifHoraireRepository;
+import com.electricitybusiness.api.util.ChronologieTarifaire;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moteur de résolution des tarifs horaires.
+ * Garde en cache la chronologie tarifaire compilée de chaque borne ; TarifHoraireService
+ * l'invalide après chaque création, modification ou suppression d'un tarif de la borne.
+ * Toutes les chronologies sont compilées au démarrage ; ensuite, les bornes absentes du cache
+ * sont chargées en une seule requête, y compris pour un devis multi-bornes.
+ * Le cache est borné en taille et ses entrées expirent après tarifs.chronologies.ttl-secondes :
+ * un tarif modifié sur une autre instance y est appliqué au plus tard à cette échéance.
+ * Les bornes sans tarif actif (ou inexistantes) ne sont pas conservées.
+ */
+@Component
+public class MoteurTarifaire {
+
+    private final TarifHoraireRepository tarifHoraireRepository;
+
+    private final Cache<Long, ChronologieTarifaire> chronologies;
+    private final AtomicLong generation = new AtomicLong(); // incrémentée à chaque invalidation
+
+    public MoteurTarifaire(TarifHoraireRepository tarifHoraireRepository,
+                           @Value("${tarifs.chronologies.taille-max:10000}") long tailleMax,
+                           @Value("${tarifs.chronologies.ttl-secondes:300}") long ttlSecondes) {
+        this.tarifHoraireRepository = tarifHoraireRepository;
+        this.chronologies = Caffeine.newBuilder()
+                .maximumSize(tailleMax)
+                .expireAfterWrite(Duration.ofSeconds(ttlSecondes))
+                .build();
+    }
+
+    /**
+     * Compile au démarrage les chronologies de toutes les bornes ayant des tarifs actifs.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialiser() {
+        long generationLue = generation.get();
+        Map<Long, List<RegleTarifaireBorne>> regles = new HashMap<>();
+        for (RegleTarifaireBorne regle : tarifHoraireRepository.findReglesActives()) {
+            regles.computeIfAbsent(regle.getNumBorne(), k -> new ArrayList<>()).add(regle);
+        }
+        compilerEtConserver(regles, generationLue, new HashMap<>());
+    }
+
+    /**
+     * Prix du créneau [dateDebut, dateFin) sur la borne, arrondi au centime.
+     */
+    public BigDecimal calculerPrix(Long numBorne, LocalDateTime dateDebut, LocalDateTime dateFin) {
+        return chronologie(numBorne).calculerPrix(dateDebut, dateFin);
+    }
+
+    /**
+     * Prix de chaque demande, dans l'ordre des demandes.
+     * Les chronologies sont lues en une fois ; chaque prix n'est ensuite qu'une recherche dichotomique,
+     * calculée sur le thread de la requête (1000 demandes au plus) plutôt que sur le pool commun ForkJoin.
+     * Le prix vaut null si la demande est incomplète ou si une partie du créneau n'a aucun tarif.
+     */
+    public List<BigDecimal> devis(List<DevisRequest> demandes) {
+        Set<Long> numBornes = new HashSet<>();
+        for (DevisRequest demande : demandes) {
+            if (demande != null && demande.getNumBorne() != null) {
+                numBornes.add(demande.getNumBorne());
+            }
+        }
+        Map<Long, ChronologieTarifaire> parBorne = chronologies(numBornes);
+
+        List<BigDecimal> prix = new ArrayList<>(demandes.size());
+        for (DevisRequest demande : demandes) {
+            prix.add(prix(parBorne, demande));
+        }
+        return prix;
+    }
+
+    /**
+     * Chronologie compilée de la borne, chargée et compilée au premier accès.
+     */
+    public ChronologieTarifaire chronologie(Long numBorne) {
+        return chronologies(Collections.singleton(numBorne)).get(numBorne);
+    }
+
+    /**
+     * Chronologies des bornes demandées ; celles qui ne sont pas en cache sont chargées en une requête.
+     */
+    public Map<Long, ChronologieTarifaire> chronologies(Collection<Long> numBornes) {
+        Map<Long, ChronologieTarifaire> resultat = new HashMap<>();
+        List<Long> manquantes = new ArrayList<>();
+        for (Long numBorne : numBornes) {
+            ChronologieTarifaire chronologie = chronologies.getIfPresent(numBorne);
+            if (chronologie != null) {
+                resultat.put(numBorne, chronologie);
+            } else {
+                manquantes.add(numBorne);
+            }
+        }
+        if (manquantes.isEmpty()) {
+            return resultat;
+        }
+
+        long generationLue = generation.get();
+        Map<Long, List<RegleTarifaireBorne>> regles = new HashMap<>();
+        for (Long numBorne : manquantes) {
+            regles.put(numBorne, new ArrayList<>());
+        }
+        for (RegleTarifaireBorne regle : tarifHoraireRepository.findReglesActivesByNumBorneIn(manquantes)) {
+            regles.get(regle.getNumBorne()).add(regle);
+        }
+        compilerEtConserver(regles, generationLue, resultat);
+        return resultat;
+    }
+
+    /**
+     * Oublie la chronologie de la borne (recompilée au prochain accès).
+     */
+    public void invalider(Long numBorne) {
+        generation.incrementAndGet();
+        if (numBorne != null) {
+            chronologies.invalidate(numBorne);
+        }
+    }
+
+    private void compilerEtConserver(Map<Long, List<RegleTarifaireBorne>> regles, long generationLue,
+                                     Map<Long, ChronologieTarifaire> resultat) {
+        regles.forEach((numBorne, reglesBorne) -> {
+            ChronologieTarifaire chronologie = ChronologieTarifaire.compiler(reglesBorne);
+            // Une invalidation survenue pendant le chargement rend le résultat potentiellement périmé : on ne le garde pas
+            if (!reglesBorne.isEmpty() && generation.get() == generationLue) {
+                chronologies.asMap().putIfAbsent(numBorne, chronologie);
+            }
+            resultat.put(numBorne, chronologie);
+        });
+    }
+
+    private static BigDecimal prix(Map<Long, ChronologieTarifaire> parBorne, DevisRequest demande) {
+        if (demande == null || demande.getNumBorne() == null || demande.getDateDebut() == null || demande.getDateFin() == null) {
+            return null;
+        }
+        ChronologieTarifaire chronologie = parBorne.get(demande.getNumBorne());
+        try {
+            return chronologie == null ? null : chronologie.calculerPrix(demande.getDateDebut(), demande.getDateFin());
+        } catch (IllegalArgumentException e) {
+            return null; // créneau non couvert ou dates inversées
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.electricitybusiness.api.service;
 
 import com.electricitybusiness.api.dto.RechargeRequest;
+import com.electricitybusiness.api.dto.PageCurseur;
 import com.electricitybusiness.api.dto.RechargeResponse;
 import com.electricitybusiness.api.model.Recharge;
 import com.electricitybusiness.api.repository.RechargeRepository;
+import com.electricitybusiness.api.util.Pagination;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -54,4 +56,11 @@ public class RechargeService {
     public List<Recharge> getHistoriqueRecharges() {
         return rechargeRepository.findAll();
     }
+
+    @Transactional(readOnly = true)
+    public PageCurseur<Recharge> getHistoriqueRecharges(String curseur, Integer taille) {
+        int tailleEffective = Pagination.taille(taille);
+        List<Recharge> lignes = rechargeRepository.findByIdGreaterThanOrderByIdAsc(Pagination.apres(curseur), Pagination.limite(tailleEffective));
+        return Pagination.page(lignes, tailleEffective, Recharge::getId);
+    }
 } 
\ No newline at end of file
@@ -1,16 +1,29 @@
 package com.electricitybusiness.api.service;
 
+import com.electricitybusiness.api.dto.PageCurseur;
+import com.electricitybusiness.api.dto.ReservationDTO;
+import com.electricitybusiness.api.dto.ReservationVue;
+import com.electricitybusiness.api.exception.CreneauIndisponibleException;
+import com.electricitybusiness.api.mapper.EntityMapper;
+import com.electricitybusiness.api.model.EtatReservation;
 import com.electricitybusiness.api.model.Reservation;
-import com.electricitybusiness.api.model.Utilisateur;
+import com.electricitybusiness.api.repository.BorneRepository;
 import com.electricitybusiness.api.repository.ReservationRepository;
 import com.electricitybusiness.api.repository.UtilisateurRepository;
+import com.electricitybusiness.api.util.MicroCentimes;
+import com.electricitybusiness.api.util.Pagination;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Service pour la gestion des réservations.
@@ -21,8 +34,17 @@ import java.util.Optional;
 @Transactional
 public class ReservationService {
 
+    // SQLState PostgreSQL exclusion_violation : seule la contrainte reserver_sans_chevauchement en produit
+    // (voir db/postgresql/reserver-sans-chevauchement.sql)
+    static final String VIOLATION_EXCLUSION = "23P01";
+
     private final ReservationRepository reservationRepository;
     private final UtilisateurRepository utilisateurRepository;
+    private final BorneRepository borneRepository;
+    private final VerrousBornes verrousBornes;
+    private final BlocagesCreneaux blocagesCreneaux;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityMapper mapper;
 
     /**
      * Récupère toutes les réservations.
@@ -32,6 +54,17 @@ public class ReservationService {
         return reservationRepository.findAll();
     }
 
+    /**
+     * Récupère une page de réservations par clé, à partir du curseur renvoyé par la page précédente.
+     * Les colonnes de ReservationDTO sont lues par projection : aucune entité n'est chargée.
+     */
+    @Transactional(readOnly = true)
+    public PageCurseur<ReservationDTO> findPage(String curseur, Integer taille) {
+        int tailleEffective = Pagination.taille(taille);
+        List<ReservationVue> lignes = reservationRepository.findVuesApres(Pagination.apres(curseur), Pagination.limite(tailleEffective));
+        return Pagination.page(lignes, tailleEffective, ReservationVue::getNumReservation).map(mapper::toDTO);
+    }
+
     /**
      * Récupère une réservation par son ID.
      */
@@ -41,18 +74,106 @@ public class ReservationService {
     }
 
     /**
-     * Crée une nouvelle réservation.
+     * Récupère une réservation par son ID, lue par projection.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ReservationDTO> findDTOById(Long id) {
+        return reservationRepository.findVueById(id).map(mapper::toDTO);
+    }
+
+    /**
+     * Réserve un créneau de façon atomique : échoue avec CreneauIndisponibleException si une réservation
+     * bloquante (DEMANDE, ACCEPTEE, EN_COURS) de la même borne chevauche le créneau.
+     * Le verrou de la borne (JVM) est pris avant d'ouvrir la transaction et relâché après le commit ;
+     * le verrou de ligne sur la borne protège le test de chevauchement entre plusieurs instances.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Reservation reserver(Reservation reservation) {
+        return reserver(reservation, null);
+    }
+
+    /**
+     * Réserve un créneau en consommant le blocage temporaire identifié par jetonBlocage (peut être null).
+     * Les blocages des autres utilisateurs rendent le créneau indisponible au même titre qu'une réservation.
      */
-    public Reservation save(Reservation reservation) {
-        return reservationRepository.save(reservation);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Reservation reserver(Reservation reservation, String jetonBlocage) {
+        if (reservation.getBorne() == null || reservation.getBorne().getNumBorne() == null) {
+            throw new IllegalArgumentException("La borne est obligatoire");
+        }
+        if (reservation.getDateDebut() == null || reservation.getDateFin() == null
+                || !reservation.getDateDebut().isBefore(reservation.getDateFin())) {
+            throw new IllegalArgumentException("La date de début doit précéder la date de fin");
+        }
+
+        Long numBorne = reservation.getBorne().getNumBorne();
+        Lock verrou = verrousBornes.verrou(numBorne);
+        verrou.lock();
+        try {
+            return transactionTemplate.execute(statut -> enregistrerSansChevauchement(numBorne, reservation, jetonBlocage));
+        } catch (DataIntegrityViolationException e) {
+            if (!violeExclusion(e)) {
+                throw e; // clé étrangère, colonne obligatoire... : pas un conflit de créneau
+            }
+            throw new CreneauIndisponibleException("Le créneau demandé n'est plus disponible pour cette borne");
+        } finally {
+            verrou.unlock();
+        }
+    }
+
+    private static boolean violeExclusion(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && VIOLATION_EXCLUSION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Met à jour une réservation existante.
+     * Met à jour une réservation existante, avec le même contrôle de chevauchement que reserver.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Reservation update(Long id, Reservation reservation) {
         reservation.setNumReservation(id);
-        return reservationRepository.save(reservation);
+        return reserver(reservation);
+    }
+
+    private Reservation enregistrerSansChevauchement(Long numBorne, Reservation reservation, String jetonBlocage) {
+        reservation.setBorne(borneRepository.findByIdPourReservation(numBorne)
+                .orElseThrow(() -> new IllegalArgumentException("Borne non trouvée")));
+        if (reservation.getEtat() != null && reservation.getEtat().estBloquant()) {
+            if (blocagesCreneaux.chevauche(numBorne, reservation.getDateDebut(), reservation.getDateFin(), jetonBlocage)) {
+                throw new CreneauIndisponibleException("Le créneau demandé est temporairement bloqué par un autre utilisateur");
+            }
+            if (reservationRepository.existsChevauchement(numBorne, reservation.getDateDebut(), reservation.getDateFin(),
+                    EtatReservation.bloquants(), reservation.getNumReservation())) {
+                throw new CreneauIndisponibleException("Le créneau demandé chevauche une réservation existante de cette borne");
+            }
+        }
+        if (reservation.getMontantTotal() == null && reservation.getPrixMinuteHisto() != null) {
+            reservation.setMontantTotal(MicroCentimes.montant(reservation.getPrixMinuteHisto(),
+                    reservation.getDateDebut(), reservation.getDateFin()));
+        }
+        Reservation savedReservation = reservationRepository.saveAndFlush(reservation);
+        blocagesCreneaux.liberer(jetonBlocage); // le blocage consommé disparaît dans la même transaction
+        return savedReservation;
+    }
+
+    /**
+     * Bloque temporairement un créneau pour l'utilisateur d'adresse mail donnée pendant la finalisation
+     * d'une réservation. Comme pour reserver, la transaction est ouverte sous le verrou de la borne.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BlocagesCreneaux.Blocage bloquer(Long numBorne, LocalDateTime dateDebut, LocalDateTime dateFin, String adresseMail) {
+        return blocagesCreneaux.bloquer(numBorne, dateDebut, dateFin, adresseMail);
+    }
+
+    /**
+     * Libère un blocage temporaire.
+     */
+    public boolean libererBlocage(String jeton) {
+        return blocagesCreneaux.liberer(jeton);
     }
 
     /**
@@ -74,9 +195,12 @@ public class ReservationService {
      * Récupère les réservations passées d'un utilisateur (date de fin avant maintenant).
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findPastReservationsByUtilisateurId(Long utilisateurId) {
-        Utilisateur utilisateur = utilisateurRepository.findById(utilisateurId)
-                .orElseThrow(() -> new IllegalArgumentException("Utilisateur non trouvé"));
-        return reservationRepository.findByUtilisateurAndDateFinBefore(utilisateur, LocalDateTime.now());
+    public List<ReservationDTO> findPastReservationsByUtilisateurId(Long utilisateurId) {
+        if (!utilisateurRepository.existsById(utilisateurId)) {
+            throw new IllegalArgumentException("Utilisateur non trouvé");
+        }
+        return reservationRepository.findVuesByNumUtilisateurAndDateFinBefore(utilisateurId, LocalDateTime.now()).stream()
+                .map(mapper::toDTO)
+                .toList();
     }
 } 
\ No newline at end of file
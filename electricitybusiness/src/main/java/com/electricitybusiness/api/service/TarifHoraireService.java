@@ -1,11 +1,20 @@
 package com.electricitybusiness.api.service;
 
+import com.electricitybusiness.api.dto.DevisRequest;
+import com.electricitybusiness.api.dto.PageCurseur;
+import com.electricitybusiness.api.dto.RegleTarifaireBorne;
+import com.electricitybusiness.api.dto.TarifHoraireDTO;
+import com.electricitybusiness.api.mapper.EntityMapper;
 import com.electricitybusiness.api.model.TarifHoraire;
 import com.electricitybusiness.api.repository.TarifHoraireRepository;
+import com.electricitybusiness.api.util.Pagination;
+import com.electricitybusiness.api.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,7 +27,11 @@ import java.util.Optional;
 @Transactional
 public class TarifHoraireService {
 
+    private static final int MAX_DEVIS = 1000;
+
     private final TarifHoraireRepository tarifHoraireRepository;
+    private final MoteurTarifaire moteurTarifaire;
+    private final EntityMapper mapper;
 
     /**
      * Récupère tous les tarifs horaires.
@@ -28,6 +41,17 @@ public class TarifHoraireService {
         return tarifHoraireRepository.findAll();
     }
 
+    /**
+     * Récupère une page de tarifs horaires par clé, à partir du curseur renvoyé par la page précédente.
+     * Les colonnes de TarifHoraireDTO sont lues par projection : aucune entité n'est chargée.
+     */
+    @Transactional(readOnly = true)
+    public PageCurseur<TarifHoraireDTO> findPage(String curseur, Integer taille) {
+        int tailleEffective = Pagination.taille(taille);
+        List<RegleTarifaireBorne> lignes = tarifHoraireRepository.findReglesApres(Pagination.apres(curseur), Pagination.limite(tailleEffective));
+        return Pagination.page(lignes, tailleEffective, RegleTarifaireBorne::getNumTarif).map(mapper::toDTO);
+    }
+
     /**
      * Récupère un tarif horaire par son ID.
      */
@@ -36,25 +60,39 @@ public class TarifHoraireService {
         return tarifHoraireRepository.findById(id);
     }
 
+    /**
+     * Récupère un tarif horaire par son ID, lu par projection.
+     */
+    @Transactional(readOnly = true)
+    public Optional<TarifHoraireDTO> findDTOById(Long id) {
+        return tarifHoraireRepository.findRegleById(id).map(mapper::toDTO);
+    }
+
     /**
      * Crée un nouveau tarif horaire.
      */
     public TarifHoraire save(TarifHoraire tarifHoraire) {
-        return tarifHoraireRepository.save(tarifHoraire);
+        TarifHoraire savedTarif = tarifHoraireRepository.save(tarifHoraire);
+        invaliderApresCommit(savedTarif);
+        return savedTarif;
     }
 
     /**
      * Met à jour un tarif horaire existant.
      */
     public TarifHoraire update(Long id, TarifHoraire tarifHoraire) {
+        tarifHoraireRepository.findById(id).ifPresent(this::invaliderApresCommit); // la borne a pu changer
         tarifHoraire.setNumTarif(id);
-        return tarifHoraireRepository.save(tarifHoraire);
+        TarifHoraire updatedTarif = tarifHoraireRepository.save(tarifHoraire);
+        invaliderApresCommit(updatedTarif);
+        return updatedTarif;
     }
 
     /**
      * Supprime un tarif horaire.
      */
     public void deleteById(Long id) {
+        tarifHoraireRepository.findById(id).ifPresent(this::invaliderApresCommit);
         tarifHoraireRepository.deleteById(id);
     }
 
@@ -65,4 +103,38 @@ public class TarifHoraireService {
     public boolean existsById(Long id) {
         return tarifHoraireRepository.existsById(id);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Calcule le prix d'un créneau sur une borne à partir de ses tarifs horaires actifs.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal calculerPrix(Long numBorne, LocalDateTime dateDebut, LocalDateTime dateFin) {
+        return moteurTarifaire.calculerPrix(numBorne, dateDebut, dateFin);
+    }
+
+    /**
+     * Calcule en un appel le prix de plusieurs créneaux, éventuellement sur des bornes différentes.
+     * Une demande incomplète ou dont le créneau est vide ou inversé est refusée (400) avec son indice.
+     */
+    @Transactional(readOnly = true)
+    public List<BigDecimal> devis(List<DevisRequest> demandes) {
+        if (demandes == null || demandes.isEmpty() || demandes.size() > MAX_DEVIS) {
+            throw new IllegalArgumentException("Le nombre de devis doit être compris entre 1 et " + MAX_DEVIS);
+        }
+        for (int i = 0; i < demandes.size(); i++) {
+            DevisRequest demande = demandes.get(i);
+            if (demande == null || demande.getNumBorne() == null || demande.getDateDebut() == null || demande.getDateFin() == null) {
+                throw new IllegalArgumentException("Devis " + i + " : la borne, la date de début et la date de fin sont obligatoires");
+            }
+            if (!demande.getDateDebut().isBefore(demande.getDateFin())) {
+                throw new IllegalArgumentException("Devis " + i + " : la date de début doit précéder la date de fin");
+            }
+        }
+        return moteurTarifaire.devis(demandes);
+    }
+
+    private void invaliderApresCommit(TarifHoraire tarifHoraire) {
+        Long numBorne = tarifHoraire.getBorne() != null ? tarifHoraire.getBorne().getNumBorne() : null;
+        TransactionUtils.afterCommit(() -> moteurTarifaire.invalider(numBorne));
+    }
+}
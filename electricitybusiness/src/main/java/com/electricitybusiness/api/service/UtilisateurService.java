@@ -1,12 +1,22 @@
 package com.electricitybusiness.api.service;
 
+import com.electricitybusiness.api.dto.PageCurseur;
+import com.electricitybusiness.api.dto.UtilisateurDTO;
+import com.electricitybusiness.api.dto.UtilisateurVue;
+import com.electricitybusiness.api.mapper.EntityMapper;
+import com.electricitybusiness.api.model.RevocationUtilisateur;
 import com.electricitybusiness.api.model.Utilisateur;
+import com.electricitybusiness.api.repository.RevocationUtilisateurRepository;
 import com.electricitybusiness.api.repository.UtilisateurRepository;
+import com.electricitybusiness.api.security.CachePrincipaux;
+import com.electricitybusiness.api.util.Pagination;
+import com.electricitybusiness.api.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,7 +30,10 @@ import java.util.Optional;
 public class UtilisateurService {
 
     private final UtilisateurRepository utilisateurRepository;
+    private final RevocationUtilisateurRepository revocationRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CachePrincipaux cachePrincipaux;
+    private final EntityMapper mapper;
 
     /**
      * Récupère tous les utilisateurs.
@@ -30,6 +43,17 @@ public class UtilisateurService {
         return utilisateurRepository.findAll();
     }
 
+    /**
+     * Récupère une page d'utilisateurs par clé, à partir du curseur renvoyé par la page précédente.
+     * Les colonnes de UtilisateurDTO sont lues par projection : aucune entité n'est chargée.
+     */
+    @Transactional(readOnly = true)
+    public PageCurseur<UtilisateurDTO> findPage(String curseur, Integer taille) {
+        int tailleEffective = Pagination.taille(taille);
+        List<UtilisateurVue> lignes = utilisateurRepository.findVuesApres(Pagination.apres(curseur), Pagination.limite(tailleEffective));
+        return Pagination.page(lignes, tailleEffective, UtilisateurVue::getNumUtilisateur).map(mapper::toDTO);
+    }
+
     /**
      * Récupère un utilisateur par son ID.
      */
@@ -38,6 +62,14 @@ public class UtilisateurService {
         return utilisateurRepository.findById(id);
     }
 
+    /**
+     * Récupère un utilisateur par son ID, lu par projection.
+     */
+    @Transactional(readOnly = true)
+    public Optional<UtilisateurDTO> findDTOById(Long id) {
+        return utilisateurRepository.findVueById(id).map(mapper::toDTO);
+    }
+
     /**
      * Crée un nouveau utilisateur.
      */
@@ -54,13 +86,29 @@ public class UtilisateurService {
         utilisateur.setNumUtilisateur(id);
         // Si le mot de passe est modifié, l'encoder
         utilisateur.setMotDePasse(passwordEncoder.encode(utilisateur.getMotDePasse()));
-        return utilisateurRepository.save(utilisateur);
+        utilisateurRepository.findById(id).ifPresent(this::invaliderApresCommit); // l'email a pu changer
+        Utilisateur updatedUtilisateur = utilisateurRepository.save(utilisateur);
+        invaliderApresCommit(updatedUtilisateur);
+        return updatedUtilisateur;
+    }
+
+    /**
+     * Bannit un utilisateur : ses jetons en cours ne permettent plus de s'authentifier.
+     */
+    public Optional<Utilisateur> bannir(Long id) {
+        return utilisateurRepository.findById(id).map(utilisateur -> {
+            utilisateur.setBanni(true);
+            Utilisateur banni = utilisateurRepository.save(utilisateur);
+            invaliderApresCommit(banni);
+            return banni;
+        });
     }
 
     /**
      * Supprime un utilisateur.
      */
     public void deleteById(Long id) {
+        utilisateurRepository.findById(id).ifPresent(this::invaliderApresCommit);
         utilisateurRepository.deleteById(id);
     }
 
@@ -71,4 +119,11 @@ public class UtilisateurService {
     public boolean existsById(Long id) {
         return utilisateurRepository.existsById(id);
     }
-} 
\ No newline at end of file
+
+    // Révocation enregistrée dans la transaction pour les autres instances, invalidation locale après commit
+    private void invaliderApresCommit(Utilisateur utilisateur) {
+        String email = utilisateur.getAdresseMail();
+        revocationRepository.save(new RevocationUtilisateur(null, email, LocalDateTime.now()));
+        TransactionUtils.afterCommit(() -> cachePrincipaux.invalider(email));
+    }
+}
@@ -0,0 +1,42 @@
+package com.electricitybusiness.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verrous de réservation par borne, répartis sur un nombre fixe de verrous (striping).
+ * Deux réservations d'une même borne sont sérialisées dans la JVM, celles de bornes différentes
+ * ne se bloquent que si elles tombent sur le même verrou. Le verrou de ligne pris en base par
+ * ReservationService garantit la même exclusion entre plusieurs instances de l'application.
+ */
+@Component
+public class VerrousBornes {
+
+    private final Lock[] verrous;
+
+    public VerrousBornes(@Value("${reservation.verrous.nombre:64}") int nombre) {
+        if (nombre < 1) {
+            throw new IllegalArgumentException("Le nombre de verrous doit être positif");
+        }
+        int taille = nombre == 1 ? 1 : Integer.highestOneBit((nombre - 1) << 1); // puissance de 2 supérieure ou égale
+        verrous = new Lock[taille];
+        for (int i = 0; i < taille; i++) {
+            verrous[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Verrou associé à la borne.
+     */
+    public Lock verrou(Long numBorne) {
+        long h = numBorne * 0x9E3779B97F4A7C15L; // dispersion des identifiants consécutifs
+        return verrous[(int) (h >>> 32) & (verrous.length - 1)];
+    }
+
+    public int taille() {
+        return verrous.length;
+    }
+}
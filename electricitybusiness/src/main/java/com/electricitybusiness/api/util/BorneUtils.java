@@ -7,8 +7,11 @@ import com.electricitybusiness.api.model.Borne;
 
 public class BorneUtils {
 
-    private static double distance(double longitude, double latitude, double longitude2, double latitude2) {
-        double R = 6371e3; // metres
+    public static final double RAYON_TERRE = 6371e3; // metres
+
+    // Distance en mètres entre deux positions (formule de haversine)
+    public static double distance(double longitude, double latitude, double longitude2, double latitude2) {
+        double R = RAYON_TERRE;
 
         double latitude_radian = latitude * Math.PI/180; // φ, λ in radians
         double latitude_radian2 = latitude2 * Math.PI/180;
@@ -40,4 +43,30 @@ public class BorneUtils {
 
         return bornesProches;
     }
-} 
\ No newline at end of file
+
+    // Position Utilisateur, Rayon
+    // Renvoie la boîte englobante {latMin, latMax, lonMin, lonMax} (en degrés) du cercle de recherche.
+    // Les longitudes peuvent sortir de [-180, 180] si la boîte traverse l'antiméridien ;
+    // si le cercle contient un pôle, la boîte couvre toutes les longitudes.
+    public static double[] boiteEnglobante(double longitude, double latitude, double rayon) {
+        double distanceAngulaire = rayon / RAYON_TERRE;
+        double latitudeRadian = Math.toRadians(latitude);
+        double latMin = latitudeRadian - distanceAngulaire;
+        double latMax = latitudeRadian + distanceAngulaire;
+
+        if (latMin <= -Math.PI / 2 || latMax >= Math.PI / 2 || distanceAngulaire >= Math.PI) {
+            return new double[] {
+                Math.max(-90.0, Math.toDegrees(latMin)), Math.min(90.0, Math.toDegrees(latMax)), -180.0, 180.0
+            };
+        }
+
+        double sinus = Math.sin(distanceAngulaire) / Math.cos(latitudeRadian);
+        if (sinus >= 1) {
+            return new double[] { Math.toDegrees(latMin), Math.toDegrees(latMax), -180.0, 180.0 };
+        }
+        double differenceLongitude = Math.toDegrees(Math.asin(sinus));
+        return new double[] {
+            Math.toDegrees(latMin), Math.toDegrees(latMax), longitude - differenceLongitude, longitude + differenceLongitude
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.electricitybusiness.api.util;
+
+/**
+ * Calendrier d'occupation en bits : un bit par créneau de 15 minutes, deux mots long par jour
+ * (96 créneaux, les 32 bits de poids fort du second mot sont inutilisés).
+ * Les instants sont des secondes epoch (UTC), les jours des jours epoch (LocalDate.toEpochDay).
+ * La disponibilité de plusieurs bornes sur plusieurs créneaux se calcule alors par ET / OU mot à mot.
+ */
+public final class CalendrierCreneaux {
+
+    public static final int DUREE_CRENEAU_MINUTES = 15;
+    public static final int CRENEAUX_PAR_JOUR = 24 * 60 / DUREE_CRENEAU_MINUTES;
+    public static final int MOTS_PAR_JOUR = (CRENEAUX_PAR_JOUR + 63) / 64;
+    public static final long SECONDES_PAR_JOUR = 86_400;
+
+    private static final long DUREE_CRENEAU = DUREE_CRENEAU_MINUTES * 60L;
+
+    private CalendrierCreneaux() {
+    }
+
+    // Positionne les bits [premier, dernier) à partir du mot decalage
+    public static void marquer(long[] mots, int decalage, int premier, int dernier) {
+        while (premier < dernier) {
+            int mot = decalage + (premier >>> 6);
+            int bit = premier & 63;
+            int nb = Math.min(64 - bit, dernier - premier);
+            long masque = nb == 64 ? -1L : ((1L << nb) - 1) << bit;
+            mots[mot] |= masque;
+            premier += nb;
+        }
+    }
+
+    // Positionne les créneaux couverts (même partiellement) par [debut, fin) dans une grille de nbJours jours
+    // commençant au jour premierJour
+    public static void marquer(long[] mots, long premierJour, int nbJours, long debut, long fin) {
+        for (int i = 0; i < nbJours; i++) {
+            long debutJour = (premierJour + i) * SECONDES_PAR_JOUR;
+            if (fin <= debutJour || debut >= debutJour + SECONDES_PAR_JOUR) {
+                continue;
+            }
+            int premier = (int) Math.max(0, Math.floorDiv(debut - debutJour, DUREE_CRENEAU));
+            int dernier = (int) Math.min(CRENEAUX_PAR_JOUR, Math.floorDiv(fin - debutJour + DUREE_CRENEAU - 1, DUREE_CRENEAU));
+            marquer(mots, i * MOTS_PAR_JOUR, premier, dernier);
+        }
+    }
+
+    public static boolean estVide(long[] mots) {
+        for (long mot : mots) {
+            if (mot != 0) return false;
+        }
+        return true;
+    }
+
+    // Un caractère par créneau ('1' si le bit est positionné), jour après jour
+    public static String enTexte(long[] mots, int nbJours) {
+        StringBuilder texte = new StringBuilder(nbJours * CRENEAUX_PAR_JOUR);
+        for (int jour = 0; jour < nbJours; jour++) {
+            for (int creneau = 0; creneau < CRENEAUX_PAR_JOUR; creneau++) {
+                long mot = mots[jour * MOTS_PAR_JOUR + (creneau >>> 6)];
+                texte.append((mot >>> (creneau & 63) & 1L) != 0 ? '1' : '0');
+            }
+        }
+        return texte.toString();
+    }
+}
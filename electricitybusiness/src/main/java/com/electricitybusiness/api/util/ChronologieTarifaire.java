@@ -0,0 +1,211 @@
+package com.electricitybusiness.api.util;
+
+import com.electricitybusiness.api.model.RegleTarifaire;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Chronologie tarifaire compilée d'une borne.
+ * Les règles TarifHoraire actives sont découpées en périodes de validité (bornées par les dateDebut / dateFin)
+ * et, pour chaque période, résolues en une semaine type de segments triés et disjoints
+ * (début en secondes depuis le lundi 00:00, tarif par minute).
+ * En cas de chevauchement, une règle d'un jour précis l'emporte sur une règle de tous les jours,
+ * puis la règle la plus récente (dateDebut, puis numTarif) l'emporte.
+ * Le prix d'un créneau se calcule par recherche dichotomique puis parcours linéaire des segments,
+ * en micro-centimes sur des long (voir MicroCentimes) ; seul le résultat est converti en BigDecimal.
+ */
+public class ChronologieTarifaire {
+
+    public static final int SECONDES_PAR_JOUR = 86_400;
+    public static final int SECONDES_PAR_SEMAINE = 7 * SECONDES_PAR_JOUR;
+
+    private static final int MINUTES_PAR_JOUR = 1_440;
+    private static final int MINUTES_PAR_SEMAINE = 7 * MINUTES_PAR_JOUR;
+    private static final long AUCUN_TARIF = -1;
+
+    private static final Comparator<RegleTarifaire> PRIORITE = Comparator
+            .comparing((RegleTarifaire tarif) -> tarif.getJourSemaine() != null)
+            .thenComparing(RegleTarifaire::getDateDebut)
+            .thenComparing(tarif -> tarif.getNumTarif() == null ? Long.MAX_VALUE : tarif.getNumTarif());
+
+    private final long[] debutsPeriodes;   // jour epoch du début de chaque période, trié ; la dernière est ouverte
+    private final int[][] debutsSegments;  // par période : début de chaque segment (secondes de la semaine), le premier vaut 0
+    private final long[][] tarifs;         // par période : tarif par minute (micro-centimes) de chaque segment, AUCUN_TARIF sinon
+
+    private ChronologieTarifaire(long[] debutsPeriodes, int[][] debutsSegments, long[][] tarifs) {
+        this.debutsPeriodes = debutsPeriodes;
+        this.debutsSegments = debutsSegments;
+        this.tarifs = tarifs;
+    }
+
+    /**
+     * Compile les règles actives (les règles inactives sont ignorées).
+     */
+    public static ChronologieTarifaire compiler(List<? extends RegleTarifaire> regles) {
+        List<RegleTarifaire> actives = new ArrayList<>();
+        TreeSet<Long> dates = new TreeSet<>();
+        for (RegleTarifaire regle : regles) {
+            if (!Boolean.FALSE.equals(regle.getActif()) && regle.getDateDebut() != null) {
+                actives.add(regle);
+                dates.add(regle.getDateDebut().toEpochDay());
+                if (regle.getDateFin() != null) {
+                    dates.add(regle.getDateFin().toEpochDay() + 1); // dateFin incluse
+                }
+            }
+        }
+        actives.sort(PRIORITE);
+
+        long[] debutsPeriodes = new long[dates.size()];
+        int[][] debutsSegments = new int[dates.size()][];
+        long[][] tarifs = new long[dates.size()][];
+        int periode = 0;
+        for (long jour : dates) {
+            debutsPeriodes[periode] = jour;
+            compilerSemaine(actives, jour, debutsSegments, tarifs, periode);
+            periode++;
+        }
+        return new ChronologieTarifaire(debutsPeriodes, debutsSegments, tarifs);
+    }
+
+    // Semaine type de la période commençant au jour donné : les plages des règles valides découpent la semaine
+    // en tranches élémentaires, peintes par priorité croissante puis fusionnées quand le tarif ne change pas
+    private static void compilerSemaine(List<RegleTarifaire> actives, long jour, int[][] debutsSegments, long[][] tarifs, int periode) {
+        List<long[]> plages = new ArrayList<>(); // {debut, fin, tarif} en minutes de la semaine, par priorité croissante
+        TreeSet<Integer> limites = new TreeSet<>();
+        limites.add(0);
+        limites.add(MINUTES_PAR_SEMAINE);
+        for (RegleTarifaire regle : actives) {
+            boolean valide = regle.getDateDebut().toEpochDay() <= jour
+                    && (regle.getDateFin() == null || regle.getDateFin().toEpochDay() >= jour);
+            if (!valide) continue;
+            long tarif = MicroCentimes.depuisEuros(regle.getTarifParMinute());
+            int debut = regle.getHeureDebut().toSecondOfDay() / 60;
+            int fin = regle.getHeureFin().toSecondOfDay() / 60;
+            if (fin <= debut) {
+                fin += MINUTES_PAR_JOUR; // règle de nuit (ou journée entière si début = fin)
+            }
+            int premierJour = regle.getJourSemaine() == null ? 0 : regle.getJourSemaine() - 1;
+            int dernierJour = regle.getJourSemaine() == null ? 6 : regle.getJourSemaine() - 1;
+            for (int j = premierJour; j <= dernierJour; j++) {
+                int debutPlage = j * MINUTES_PAR_JOUR + debut;
+                int finPlage = j * MINUTES_PAR_JOUR + fin;
+                if (finPlage > MINUTES_PAR_SEMAINE) { // la nuit du dimanche déborde sur le lundi
+                    ajouterPlage(plages, limites, 0, finPlage - MINUTES_PAR_SEMAINE, tarif);
+                    finPlage = MINUTES_PAR_SEMAINE;
+                }
+                ajouterPlage(plages, limites, debutPlage, finPlage, tarif);
+            }
+        }
+
+        int[] bornes = limites.stream().mapToInt(Integer::intValue).toArray();
+        long[] parTranche = new long[bornes.length - 1];
+        Arrays.fill(parTranche, AUCUN_TARIF);
+        for (long[] plage : plages) {
+            Arrays.fill(parTranche, Arrays.binarySearch(bornes, (int) plage[0]), Arrays.binarySearch(bornes, (int) plage[1]), plage[2]);
+        }
+
+        int[] debuts = new int[parTranche.length];
+        long[] valeurs = new long[parTranche.length];
+        int n = 0;
+        for (int tranche = 0; tranche < parTranche.length; tranche++) {
+            if (n == 0 || valeurs[n - 1] != parTranche[tranche]) {
+                debuts[n] = bornes[tranche] * 60;
+                valeurs[n] = parTranche[tranche];
+                n++;
+            }
+        }
+        debutsSegments[periode] = Arrays.copyOf(debuts, n);
+        tarifs[periode] = Arrays.copyOf(valeurs, n);
+    }
+
+    private static void ajouterPlage(List<long[]> plages, TreeSet<Integer> limites, int debut, int fin, long tarif) {
+        plages.add(new long[] { debut, fin, tarif });
+        limites.add(debut);
+        limites.add(fin);
+    }
+
+    /**
+     * Prix du créneau [dateDebut, dateFin), arrondi au centime.
+     * Lève IllegalArgumentException si une partie du créneau n'est couverte par aucun tarif.
+     */
+    public BigDecimal calculerPrix(LocalDateTime dateDebut, LocalDateTime dateFin) {
+        return MicroCentimes.versEuros(calculerCentimes(dateDebut.toEpochSecond(ZoneOffset.UTC), dateFin.toEpochSecond(ZoneOffset.UTC)));
+    }
+
+    /**
+     * Prix en centimes du créneau [debut, fin) exprimé en secondes epoch (UTC).
+     */
+    public long calculerCentimes(long debut, long fin) {
+        if (fin < debut) {
+            throw new IllegalArgumentException("La date de début doit précéder la date de fin");
+        }
+
+        long total = 0; // somme des tarifs par minute (micro-centimes) x secondes
+        long instant = debut;
+        while (instant < fin) {
+            long jour = Math.floorDiv(instant, SECONDES_PAR_JOUR);
+            int periode = periode(jour);
+            if (periode < 0) {
+                throw new IllegalArgumentException("Aucun tarif applicable le " + LocalDate.ofEpochDay(jour));
+            }
+            int seconde = secondeDeSemaine(instant);
+            int[] debuts = debutsSegments[periode];
+            int segment = dernierInferieurOuEgal(debuts, seconde);
+            long tarif = tarifs[periode][segment];
+            if (tarif == AUCUN_TARIF) {
+                throw new IllegalArgumentException("Aucun tarif applicable le " + LocalDateTime.ofEpochSecond(instant, 0, ZoneOffset.UTC));
+            }
+
+            int finSegment = segment + 1 < debuts.length ? debuts[segment + 1] : SECONDES_PAR_SEMAINE;
+            long limite = Math.min(fin, instant + (finSegment - seconde));
+            if (periode + 1 < debutsPeriodes.length) {
+                limite = Math.min(limite, debutsPeriodes[periode + 1] * SECONDES_PAR_JOUR);
+            }
+            total = Math.addExact(total, Math.multiplyExact(tarif, limite - instant));
+            instant = limite;
+        }
+        return MicroCentimes.centimes(total, 60);
+    }
+
+    /**
+     * Nombre de périodes de validité compilées.
+     */
+    public int nbPeriodes() {
+        return debutsPeriodes.length;
+    }
+
+    // Indice de la période contenant le jour epoch, -1 avant la première
+    private int periode(long jour) {
+        int bas = 0;
+        int haut = debutsPeriodes.length - 1;
+        while (bas <= haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (debutsPeriodes[milieu] <= jour) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu - 1;
+            }
+        }
+        return haut;
+    }
+
+    // Secondes écoulées depuis le lundi 00:00 (le 1er janvier 1970 était un jeudi)
+    static int secondeDeSemaine(long instant) {
+        long jour = Math.floorDiv(instant, SECONDES_PAR_JOUR);
+        int jourSemaine = (int) Math.floorMod(jour + 3, 7);
+        return jourSemaine * SECONDES_PAR_JOUR + (int) Math.floorMod(instant, SECONDES_PAR_JOUR);
+    }
+
+    private static int dernierInferieurOuEgal(int[] valeurs, int cle) {
+        int indice = Arrays.binarySearch(valeurs, cle);
+        return indice >= 0 ? indice : -indice - 2;
+    }
+}
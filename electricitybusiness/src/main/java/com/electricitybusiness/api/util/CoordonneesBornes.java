@@ -0,0 +1,75 @@
+package com.electricitybusiness.api.util;
+
+/**
+ * Instantané immuable des positions des bornes en tableaux primitifs parallèles (structure de tableaux).
+ * Les coordonnées sont stockées en radians avec le cosinus de la latitude précalculé, ce qui permet
+ * de filtrer tout le tableau en une passe, sans conversion BigDecimal ni allocation par borne.
+ */
+public class CoordonneesBornes {
+
+    private final long[] ids;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] cosLatitudes;
+
+    // Identifiants, latitudes et longitudes (en degrés) des bornes, aux mêmes indices
+    public CoordonneesBornes(long[] ids, double[] latitudes, double[] longitudes) {
+        if (ids.length != latitudes.length || ids.length != longitudes.length) {
+            throw new IllegalArgumentException("Les tableaux de coordonnées doivent avoir la même taille");
+        }
+        int n = ids.length;
+        this.ids = ids.clone();
+        this.latitudes = new double[n];
+        this.longitudes = new double[n];
+        this.cosLatitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            this.latitudes[i] = Math.toRadians(latitudes[i]);
+            this.longitudes[i] = Math.toRadians(longitudes[i]);
+            this.cosLatitudes[i] = Math.cos(this.latitudes[i]);
+        }
+    }
+
+    public int taille() {
+        return ids.length;
+    }
+
+    // Renvoie les identifiants des bornes situées à moins de rayon mètres de la position
+    public long[] dansRayon(double longitude, double latitude, double rayon) {
+        long[] resultat = new long[ids.length];
+        int n = dansRayon(longitude, latitude, rayon, resultat);
+        long[] copie = new long[n];
+        System.arraycopy(resultat, 0, copie, 0, n);
+        return copie;
+    }
+
+    // Écrit dans resultat (de taille >= taille()) les identifiants des bornes dans le rayon et renvoie leur nombre.
+    // Compare directement le terme a de la formule de haversine au seuil sin²(rayon / 2R) :
+    // d = 2R·asin(√a) <= rayon  <=>  a <= sin²(rayon / 2R), ce qui évite atan2 et sqrt par borne.
+    public int dansRayon(double longitude, double latitude, double rayon, long[] resultat) {
+        double demiAngle = rayon / (2 * BorneUtils.RAYON_TERRE);
+        int n = ids.length;
+        if (demiAngle >= Math.PI / 2) {
+            System.arraycopy(ids, 0, resultat, 0, n);
+            return n;
+        }
+        if (demiAngle < 0) {
+            return 0;
+        }
+        double sinus = Math.sin(demiAngle);
+        double seuil = sinus * sinus;
+        double latitude0 = Math.toRadians(latitude);
+        double longitude0 = Math.toRadians(longitude);
+        double cosLatitude0 = Math.cos(latitude0);
+
+        int trouves = 0;
+        for (int i = 0; i < n; i++) {
+            double sinLatitude = Math.sin((latitudes[i] - latitude0) * 0.5);
+            double sinLongitude = Math.sin((longitudes[i] - longitude0) * 0.5);
+            double a = sinLatitude * sinLatitude + cosLatitude0 * cosLatitudes[i] * sinLongitude * sinLongitude;
+            if (a <= seuil) {
+                resultat[trouves++] = ids[i];
+            }
+        }
+        return trouves;
+    }
+}
@@ -0,0 +1,98 @@
+package com.electricitybusiness.api.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecture incrémentale d'un fichier CSV (RFC 4180) : un enregistrement à la fois, sans charger le fichier.
+ * Séparateur virgule ; champs entre guillemets pouvant contenir virgules, guillemets doublés et sauts de ligne ;
+ * fins de ligne \n ou \r\n. Les lignes vides sont ignorées.
+ */
+public class LecteurCsv {
+
+    private final Reader reader;
+    private int ligneCourante = 1;
+    private int ligneEnregistrement;
+    private int suivant = -2; // caractère lu en avance (-2 : aucun)
+
+    public LecteurCsv(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Enregistrement suivant, ou null en fin de fichier.
+     * IllegalArgumentException si un champ entre guillemets n'est pas refermé.
+     */
+    public List<String> lire() throws IOException {
+        int c = caractere();
+        while (c == '\n' || c == '\r') {
+            c = caractere();
+        }
+        if (c < 0) {
+            return null;
+        }
+        ligneEnregistrement = ligneCourante;
+        List<String> champs = new ArrayList<>();
+        StringBuilder champ = new StringBuilder();
+        boolean entreGuillemets = false;
+        while (true) {
+            if (entreGuillemets) {
+                if (c < 0) {
+                    throw new IllegalArgumentException("Ligne " + ligneEnregistrement + " : guillemet non refermé");
+                }
+                if (c == '"') {
+                    int apres = caractere();
+                    if (apres == '"') {
+                        champ.append('"');
+                    } else {
+                        entreGuillemets = false;
+                        c = apres;
+                        continue;
+                    }
+                } else {
+                    champ.append((char) c);
+                }
+            } else if (c == '"' && champ.isEmpty()) {
+                entreGuillemets = true;
+            } else if (c == ',') {
+                champs.add(champ.toString());
+                champ.setLength(0);
+            } else if (c < 0 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int apres = caractere();
+                    if (apres != '\n') {
+                        suivant = apres;
+                    }
+                }
+                champs.add(champ.toString());
+                return champs;
+            } else {
+                champ.append((char) c);
+            }
+            c = caractere();
+        }
+    }
+
+    /**
+     * Numéro (à partir de 1) de la ligne du fichier où commence le dernier enregistrement lu.
+     */
+    public int ligne() {
+        return ligneEnregistrement;
+    }
+
+    private int caractere() throws IOException {
+        int c;
+        if (suivant != -2) {
+            c = suivant;
+            suivant = -2;
+            return c;
+        }
+        c = reader.read();
+        if (c == '\n') {
+            ligneCourante++;
+        }
+        return c;
+    }
+}
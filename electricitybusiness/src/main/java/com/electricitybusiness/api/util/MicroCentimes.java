@@ -0,0 +1,63 @@
+package com.electricitybusiness.api.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Arithmétique monétaire en virgule fixe : les montants sont des long en micro-centimes (1e-8 euro).
+ * Un tarif par minute stocké en base (échelle 4) est donc représenté exactement.
+ * Politique d'arrondi :
+ * - à l'entrée (depuisEuros), un montant plus fin que le micro-centime est arrondi au plus proche, demi vers le haut ;
+ * - les calculs intermédiaires sont exacts (Math.multiplyExact / addExact : un dépassement lève ArithmeticException) ;
+ * - à la sortie, un seul arrondi au centime, demi vers le haut (RoundingMode.HALF_UP, symétrique pour les négatifs).
+ * Les BigDecimal ne sont utilisés qu'aux frontières (API, persistance).
+ */
+public final class MicroCentimes {
+
+    public static final long PAR_CENTIME = 1_000_000L;
+    public static final long PAR_EURO = 100 * PAR_CENTIME;
+
+    private static final int ECHELLE = 8; // PAR_EURO = 10^8
+
+    private MicroCentimes() {
+    }
+
+    /**
+     * Convertit un montant en euros en micro-centimes.
+     */
+    public static long depuisEuros(BigDecimal euros) {
+        return euros.setScale(ECHELLE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Convertit un nombre de centimes en euros (échelle 2).
+     */
+    public static BigDecimal versEuros(long centimes) {
+        return BigDecimal.valueOf(centimes, 2);
+    }
+
+    /**
+     * Arrondit au centime le quotient microCentimes / diviseur (diviseur > 0).
+     * Permet de n'arrondir qu'une fois une somme de tarifs par minute x secondes (diviseur 60).
+     */
+    public static long centimes(long microCentimes, long diviseur) {
+        long unite = Math.multiplyExact(diviseur, PAR_CENTIME);
+        long absolu = Math.abs(microCentimes);
+        long quotient = absolu / unite;
+        long reste = absolu % unite;
+        if (reste >= unite - reste) { // reste >= unite / 2 sans débordement
+            quotient++;
+        }
+        return microCentimes < 0 ? -quotient : quotient;
+    }
+
+    /**
+     * Montant au centime d'une durée facturée au prix par minute donné (prorata à la seconde).
+     */
+    public static BigDecimal montant(BigDecimal prixParMinute, LocalDateTime dateDebut, LocalDateTime dateFin) {
+        long secondes = Duration.between(dateDebut, dateFin).getSeconds();
+        return versEuros(centimes(Math.multiplyExact(depuisEuros(prixParMinute), secondes), 60));
+    }
+}
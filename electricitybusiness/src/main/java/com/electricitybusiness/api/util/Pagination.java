@@ -0,0 +1,83 @@
+package com.electricitybusiness.api.util;
+
+import com.electricitybusiness.api.dto.PageCurseur;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pagination par clé (keyset) sur les clés primaires.
+ * Une page est lue par "clé > dernière clé vue ORDER BY clé LIMIT taille + 1" : le coût ne dépend pas
+ * de la profondeur de la page (contrairement à un OFFSET), et la ligne supplémentaire indique s'il reste une page.
+ * Le curseur transmis au client est opaque (Base64 URL) et n'encode que la dernière clé de la page.
+ */
+public final class Pagination {
+
+    public static final int TAILLE_DEFAUT = 50;
+    public static final int TAILLE_MAX = 500;
+
+    private static final String PREFIXE = "k1:"; // version du format du curseur
+
+    private Pagination() {
+    }
+
+    /**
+     * Taille de page effective : TAILLE_DEFAUT si absente, plafonnée à TAILLE_MAX.
+     */
+    public static int taille(Integer demandee) {
+        if (demandee == null) {
+            return TAILLE_DEFAUT;
+        }
+        if (demandee < 1) {
+            throw new IllegalArgumentException("La taille de page doit être positive");
+        }
+        return Math.min(demandee, TAILLE_MAX);
+    }
+
+    /**
+     * Nombre de lignes à lire pour une page de la taille donnée (une de plus pour détecter la page suivante).
+     */
+    public static Limit limite(int taille) {
+        return Limit.of(taille + 1);
+    }
+
+    /**
+     * Clé après laquelle commence la page : 0 sans curseur (les clés primaires sont positives).
+     */
+    public static long apres(String curseur) {
+        if (curseur == null || curseur.isBlank()) {
+            return 0L;
+        }
+        try {
+            String valeur = new String(Base64.getUrlDecoder().decode(curseur), StandardCharsets.UTF_8);
+            if (!valeur.startsWith(PREFIXE)) {
+                throw new IllegalArgumentException("Curseur de pagination invalide");
+            }
+            return Long.parseLong(valeur.substring(PREFIXE.length()));
+        } catch (IllegalArgumentException e) { // Base64 ou nombre invalide (NumberFormatException)
+            throw new IllegalArgumentException("Curseur de pagination invalide");
+        }
+    }
+
+    /**
+     * Curseur opaque désignant la page qui suit la clé donnée.
+     */
+    public static String curseur(long derniereCle) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIXE + derniereCle).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Construit la page à partir des lignes lues avec limite(taille).
+     */
+    public static <T> PageCurseur<T> page(List<T> lignes, int taille, Function<T, Long> cle) {
+        if (lignes.size() <= taille) {
+            return new PageCurseur<>(lignes, null);
+        }
+        List<T> elements = lignes.subList(0, taille);
+        return new PageCurseur<>(List.copyOf(elements), curseur(cle.apply(elements.get(taille - 1))));
+    }
+}
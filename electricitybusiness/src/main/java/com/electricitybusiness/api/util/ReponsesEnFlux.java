@@ -0,0 +1,19 @@
+package com.electricitybusiness.api.util;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public class ReponsesEnFlux {
+
+    // Écrit le corps de la réponse sur le pool asynchrone de Spring MVC, avec un délai propre à cette réponse :
+    // les exports et imports, qui peuvent durer des minutes, ne relèvent pas le délai de toutes les autres.
+    // Les en-têtes doivent être posés sur la réponse avant l'appel.
+    public static WebAsyncTask<Void> ecrire(HttpServletResponse reponse, long delaiMs, StreamingResponseBody corps) {
+        return new WebAsyncTask<>(delaiMs, () -> {
+            corps.writeTo(reponse.getOutputStream());
+            reponse.flushBuffer();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package com.electricitybusiness.api.util;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Roue temporelle hachée : les échéances sont rangées dans la case (tick d'échéance modulo nombre de cases).
+ * Planifier et annuler coûtent O(1) ; chaque avancée ne parcourt que les cases des ticks écoulés,
+ * indépendamment du nombre total d'échéances. Les entrées dont l'échéance est à plus d'un tour
+ * restent dans leur case jusqu'au tour concerné.
+ * Le temps est fourni par l'appelant (millisecondes), ce qui rend la roue déterministe à tester.
+ */
+public class RoueTemporelle {
+
+    private final long dureeTick;
+    private final Queue<Echeance>[] cases;
+    private final int masque;
+    private long tickCourant; // dernier tick traité
+
+    @SuppressWarnings("unchecked")
+    public RoueTemporelle(long dureeTick, int nbCases, long maintenant) {
+        if (dureeTick <= 0 || nbCases <= 0) {
+            throw new IllegalArgumentException("La durée d'un tick et le nombre de cases doivent être positifs");
+        }
+        int taille = nbCases == 1 ? 1 : Integer.highestOneBit((nbCases - 1) << 1);
+        this.dureeTick = dureeTick;
+        this.cases = new Queue[taille];
+        for (int i = 0; i < taille; i++) {
+            cases[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.masque = taille - 1;
+        this.tickCourant = Math.floorDiv(maintenant, dureeTick);
+    }
+
+    // Planifie l'action à l'instant echeance (millisecondes) ; une échéance passée expire à la prochaine avancée
+    public synchronized Echeance planifier(long echeance, Runnable action) {
+        long tick = Math.max(tickCourant + 1, Math.floorDiv(echeance + dureeTick - 1, dureeTick));
+        Echeance entree = new Echeance(tick, action);
+        cases[(int) (tick & masque)].add(entree);
+        return entree;
+    }
+
+    // Exécute les actions arrivées à échéance jusqu'à maintenant et renvoie leur nombre
+    public synchronized int avancer(long maintenant) {
+        long cible = Math.floorDiv(maintenant, dureeTick);
+        if (cible <= tickCourant) {
+            return 0;
+        }
+        long nbTicks = Math.min(cible - tickCourant, cases.length); // au-delà d'un tour, chaque case une seule fois
+        int executees = 0;
+        for (long tick = cible - nbTicks + 1; tick <= cible; tick++) {
+            Iterator<Echeance> iterateur = cases[(int) (tick & masque)].iterator();
+            while (iterateur.hasNext()) {
+                Echeance entree = iterateur.next();
+                if (entree.annulee) {
+                    iterateur.remove();
+                } else if (entree.tick <= cible) {
+                    iterateur.remove();
+                    entree.action.run();
+                    executees++;
+                }
+            }
+        }
+        tickCourant = cible;
+        return executees;
+    }
+
+    /**
+     * Échéance planifiée ; l'annulation est paresseuse (l'entrée est retirée au passage de sa case).
+     */
+    public static class Echeance {
+
+        private final long tick;
+        private final Runnable action;
+        private volatile boolean annulee;
+
+        private Echeance(long tick, Runnable action) {
+            this.tick = tick;
+            this.action = action;
+        }
+
+        public void annuler() {
+            annulee = true;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.electricitybusiness.api.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons sans verrou : capacite jetons au plus, un jeton regagné toutes les intervalleNanos.
+ * L'état tient dans un seul long, l'instant théorique où le seau sera de nouveau plein
+ * (algorithme GCRA, équivalent au seau à jetons) ; la consommation est un simple compareAndSet,
+ * et le remplissage est implicite : il découle du temps écoulé, sans tâche de fond.
+ */
+public class SeauJetons {
+
+    private final long intervalleNanos;
+    private final long toleranceNanos; // capacite x intervalle : avance maximale sur l'instant courant
+    private final AtomicLong plein = new AtomicLong(Long.MIN_VALUE);
+
+    public SeauJetons(long capacite, long intervalleNanos) {
+        if (capacite <= 0 || intervalleNanos <= 0) {
+            throw new IllegalArgumentException("La capacité et l'intervalle doivent être positifs");
+        }
+        this.intervalleNanos = intervalleNanos;
+        this.toleranceNanos = Math.multiplyExact(capacite, intervalleNanos);
+    }
+
+    /**
+     * Consomme un jeton à l'instant donné (System.nanoTime).
+     * Renvoie 0 si le jeton est accordé, sinon le délai en nanosecondes avant qu'un jeton soit disponible.
+     */
+    public long consommer(long maintenant) {
+        while (true) {
+            long actuel = plein.get();
+            long suivant = Math.max(actuel, maintenant) + intervalleNanos;
+            long attente = suivant - maintenant - toleranceNanos;
+            if (attente > 0) {
+                return attente; // seau vide : l'état n'est pas modifié
+            }
+            if (plein.compareAndSet(actuel, suivant)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.electricitybusiness.api.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUtils {
+
+    // Exécute l'action après le commit de la transaction courante (immédiatement s'il n'y en a pas)
+    // Utilisé pour maintenir les index en mémoire sans y propager une écriture annulée par un rollback
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
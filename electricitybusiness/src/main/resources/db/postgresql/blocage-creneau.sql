@@ -0,0 +1,23 @@
+-- Table des blocages temporaires de créneaux (entité BlocageCreneau), lue par toutes les instances :
+-- réservation, recherche des bornes disponibles d'une ville et grille de disponibilités.
+-- À appliquer sur la base PostgreSQL de production avant de déployer la version qui l'utilise
+-- (le schéma y est validé, pas généré). Le script peut être rejoué.
+-- Une ligne dont l'expiration est passée n'a plus d'effet ; elle est supprimée par l'instance qui l'a créée
+-- à son échéance, sinon par la purge périodique (reservation.blocage.purge-ms).
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS blocage_creneau (
+    jeton           VARCHAR(36) PRIMARY KEY,
+    num_borne       BIGINT      NOT NULL,
+    num_utilisateur BIGINT      NOT NULL,
+    date_debut      TIMESTAMP(6) NOT NULL,
+    date_fin        TIMESTAMP(6) NOT NULL,
+    expiration      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_blocage_borne_dates ON blocage_creneau (num_borne, date_debut, date_fin);
+CREATE INDEX IF NOT EXISTS idx_blocage_utilisateur ON blocage_creneau (num_utilisateur);
+CREATE INDEX IF NOT EXISTS idx_blocage_expiration ON blocage_creneau (expiration);
+
+COMMIT;
@@ -0,0 +1,11 @@
+-- Date de dernière écriture des bornes (Borne.dateModification), posée par Hibernate et par les UPDATE groupés
+-- du cycle des réservations. Chaque instance relit les bornes modifiées depuis son passage précédent
+-- (BorneRepository.findPositionsModifieesDepuis) pour rafraîchir ses index en mémoire.
+-- À appliquer sur la base PostgreSQL de production avant de déployer la version qui l'utilise
+-- (le schéma y est validé, pas généré). Le script peut être rejoué.
+-- L'index est construit après coup, CONCURRENTLY, hors transaction : la table reste accessible en écriture.
+
+ALTER TABLE borne ADD COLUMN IF NOT EXISTS date_modification TIMESTAMP(6);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_borne_date_modification
+    ON borne (date_modification);
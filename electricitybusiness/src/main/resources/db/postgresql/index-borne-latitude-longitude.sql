@@ -0,0 +1,8 @@
+-- Index du préfiltre par boîte englobante de la recherche à proximité (BorneRepository.findInBoundingBox).
+-- À appliquer sur la base PostgreSQL de production : le schéma y est validé, pas généré, et l'index
+-- déclaré sur l'entité Borne (@Index idx_borne_latitude_longitude) n'y est donc jamais créé.
+-- CONCURRENTLY : la table borne reste accessible en écriture pendant la construction ; l'instruction
+-- ne peut pas s'exécuter dans une transaction (pas de BEGIN / COMMIT). Le script peut être rejoué.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_borne_latitude_longitude
+    ON borne (latitude, longitude);
@@ -0,0 +1,13 @@
+-- Index de la recherche des bornes disponibles d'une ville (BorneRepository.findDisponiblesByVille) :
+-- filtre des adresses par ville, et sous-requête NOT EXISTS sur les réservations de chaque borne
+-- (num_borne, puis chevauchement des dates).
+-- À appliquer sur la base PostgreSQL de production : le schéma y est validé, pas généré, et les index
+-- déclarés sur les entités Reservation et Adresse (@Index) n'y sont donc jamais créés.
+-- CONCURRENTLY : les tables restent accessibles en écriture pendant la construction ; les instructions
+-- ne peuvent pas s'exécuter dans une transaction (pas de BEGIN / COMMIT). Le script peut être rejoué.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reserver_borne_dates
+    ON reserver (num_borne, date_debut, date_fin);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_adresse_ville
+    ON adresse (ville);
@@ -0,0 +1,13 @@
+-- Contrainte d'exclusion : deux réservations bloquantes d'une même borne ne peuvent pas se chevaucher.
+-- À appliquer sur la base PostgreSQL de production (le schéma y est validé, pas généré).
+-- Complète le verrou de ligne pris par ReservationService.reserver : même une écriture qui
+-- contournerait le service est refusée, ce qui se traduit par une réponse 409.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE reserver
+    ADD CONSTRAINT reserver_sans_chevauchement
+    EXCLUDE USING gist (
+        num_borne WITH =,
+        tsrange(date_debut, date_fin, '[)') WITH &&
+    )
+    WHERE (etat IN ('DEMANDE', 'ACCEPTEE', 'EN_COURS'));
@@ -0,0 +1,20 @@
+-- Table des révocations de jetons (entité RevocationUtilisateur), écrite par UtilisateurService à chaque
+-- modification, bannissement ou suppression d'un utilisateur, et relue périodiquement par toutes les instances
+-- (CachePrincipaux) pour ne plus faire confiance aux claims des jetons émis avant.
+-- À appliquer sur la base PostgreSQL de production avant de déployer la version qui l'utilise
+-- (le schéma y est validé, pas généré). Le script peut être rejoué.
+-- Les lignes plus anciennes que la durée de vie d'un jeton (jwt.expiration) sont purgées par l'application.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS revocation_utilisateur_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS revocation_utilisateur (
+    num_revocation  BIGINT       PRIMARY KEY,
+    adresse_mail    VARCHAR(150) NOT NULL,
+    date_revocation TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revocation_date ON revocation_utilisateur (date_revocation);
+
+COMMIT;
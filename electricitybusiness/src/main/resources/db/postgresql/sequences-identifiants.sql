@@ -0,0 +1,48 @@
+-- Passage des clés primaires num_* (et recharge.id) de IDENTITY / SERIAL aux séquences "poolées" des entités.
+-- À appliquer une fois sur la base PostgreSQL de production avant de déployer la version qui les utilise
+-- (le schéma y est validé, pas généré).
+-- Chaque séquence avance par pas de 50 (allocationSize) : Hibernate réserve un bloc de 50 identifiants
+-- par appel à nextval, ce qui permet de regrouper les INSERT en lots JDBC.
+-- setval(..., max + 50, false) : le premier nextval renvoie max + 50, Hibernate attribue alors max + 1 .. max + 50,
+-- sans collision avec les lignes existantes.
+-- Le script peut être rejoué : les séquences existantes ne sont pas recréées et sont recalées sur les données.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS adresse_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS borne_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS lieu_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS media_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS recharge_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS reserver_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tarif_horaire_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS utilisateur_seq START WITH 1 INCREMENT BY 50;
+
+-- Les identifiants viennent désormais de l'application : plus de valeur par défaut côté base
+ALTER TABLE adresse ALTER COLUMN num_adresse DROP IDENTITY IF EXISTS;
+ALTER TABLE adresse ALTER COLUMN num_adresse DROP DEFAULT;
+ALTER TABLE borne ALTER COLUMN num_borne DROP IDENTITY IF EXISTS;
+ALTER TABLE borne ALTER COLUMN num_borne DROP DEFAULT;
+ALTER TABLE lieu ALTER COLUMN num_lieu DROP IDENTITY IF EXISTS;
+ALTER TABLE lieu ALTER COLUMN num_lieu DROP DEFAULT;
+ALTER TABLE media ALTER COLUMN num_media DROP IDENTITY IF EXISTS;
+ALTER TABLE media ALTER COLUMN num_media DROP DEFAULT;
+ALTER TABLE recharge ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE recharge ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE reserver ALTER COLUMN num_reservation DROP IDENTITY IF EXISTS;
+ALTER TABLE reserver ALTER COLUMN num_reservation DROP DEFAULT;
+ALTER TABLE tarif_horaire ALTER COLUMN num_tarif DROP IDENTITY IF EXISTS;
+ALTER TABLE tarif_horaire ALTER COLUMN num_tarif DROP DEFAULT;
+ALTER TABLE utilisateur ALTER COLUMN num_utilisateur DROP IDENTITY IF EXISTS;
+ALTER TABLE utilisateur ALTER COLUMN num_utilisateur DROP DEFAULT;
+
+SELECT setval('adresse_seq', COALESCE(MAX(num_adresse), 0) + 50, false) FROM adresse;
+SELECT setval('borne_seq', COALESCE(MAX(num_borne), 0) + 50, false) FROM borne;
+SELECT setval('lieu_seq', COALESCE(MAX(num_lieu), 0) + 50, false) FROM lieu;
+SELECT setval('media_seq', COALESCE(MAX(num_media), 0) + 50, false) FROM media;
+SELECT setval('recharge_seq', COALESCE(MAX(id), 0) + 50, false) FROM recharge;
+SELECT setval('reserver_seq', COALESCE(MAX(num_reservation), 0) + 50, false) FROM reserver;
+SELECT setval('tarif_horaire_seq', COALESCE(MAX(num_tarif), 0) + 50, false) FROM tarif_horaire;
+SELECT setval('utilisateur_seq', COALESCE(MAX(num_utilisateur), 0) + 50, false) FROM utilisateur;
+
+COMMIT;
@@ -0,0 +1,127 @@
+package com.electricitybusiness.api.benchmark;
+
+import com.electricitybusiness.api.model.Recharge;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit d'insertion de recharges (insertions par seconde) selon la génération des identifiants.
+ * identite reproduit l'ancien mapping (GenerationType.IDENTITY) : chaque INSERT est exécuté aussitôt pour lire
+ * la clé générée, Hibernate ne peut pas les regrouper.
+ * sequencePoolee insère l'entité Recharge actuelle : un nextval par bloc de 50 identifiants et des INSERT
+ * envoyés par lots JDBC de 50 (hibernate.jdbc.batch_size).
+ * La base H2 est servie en TCP sur la boucle locale : chaque requête coûte un aller-retour, comme avec une base distante
+ * (l'écart mesuré est un minimum, il croît avec la latence du réseau).
+ * Lancement : mvn test-compile exec:java -Dexec.mainClass=com.electricitybusiness.api.benchmark.InsertionBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InsertionBenchmark {
+
+    private static final int LIGNES = 1000;
+
+    private Server serveur;
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() throws SQLException {
+        serveur = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Recharge.class)
+                .addAnnotatedClass(RechargeIdentite.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:tcp://localhost:" + serveur.getPort() + "/mem:insertions;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Iteration)
+    public void vider() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("delete from Recharge").executeUpdate();
+            session.createMutationQuery("delete from RechargeIdentite").executeUpdate();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        serveur.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LIGNES)
+    public void identite() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < LIGNES; i++) {
+                RechargeIdentite recharge = new RechargeIdentite();
+                recharge.setNumero("06" + i);
+                recharge.setMontant(10.0);
+                recharge.setDateRecharge(LocalDateTime.now());
+                recharge.setReference("REF-" + i);
+                recharge.setStatut("SUCCESS");
+                session.persist(recharge);
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LIGNES)
+    public void sequencePoolee() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < LIGNES; i++) {
+                Recharge recharge = new Recharge();
+                recharge.setNumero("06" + i);
+                recharge.setMontant(10.0);
+                recharge.setDateRecharge(LocalDateTime.now());
+                recharge.setReference("REF-" + i);
+                recharge.setStatut("SUCCESS");
+                session.persist(recharge);
+            }
+        });
+    }
+
+    /**
+     * Recharge avec l'ancienne génération d'identifiant.
+     */
+    @Entity(name = "RechargeIdentite")
+    @Table(name = "recharge_identite")
+    @Data
+    public static class RechargeIdentite {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        private String numero;
+        private Double montant;
+        private LocalDateTime dateRecharge;
+        private String reference;
+        private String statut;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(InsertionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.electricitybusiness.api.benchmark;
+
+import com.electricitybusiness.api.model.Borne;
+import com.electricitybusiness.api.util.BorneUtils;
+import com.electricitybusiness.api.util.CoordonneesBornes;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare le filtrage par rayon sur des entités Borne (BorneUtils.getNearbyBornes)
+ * au noyau sur tableaux primitifs (CoordonneesBornes.dansRayon).
+ * Lancement : mvn test-compile exec:java -Dexec.mainClass=com.electricitybusiness.api.benchmark.ProximiteBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProximiteBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int nbBornes;
+
+    private List<Borne> bornes;
+    private CoordonneesBornes coordonnees;
+    private long[] resultat;
+
+    private final double longitude = 2.3522;
+    private final double latitude = 48.8566;
+    private final double rayon = 20_000;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        bornes = new ArrayList<>(nbBornes);
+        long[] ids = new long[nbBornes];
+        double[] latitudes = new double[nbBornes];
+        double[] longitudes = new double[nbBornes];
+        for (int i = 0; i < nbBornes; i++) {
+            // Bornes réparties sur la France métropolitaine
+            double lat = 42 + random.nextDouble() * 9;
+            double lon = -5 + random.nextDouble() * 13;
+            Borne borne = new Borne();
+            borne.setNumBorne((long) i);
+            borne.setLatitude(BigDecimal.valueOf(lat));
+            borne.setLongitude(BigDecimal.valueOf(lon));
+            bornes.add(borne);
+            ids[i] = i;
+            latitudes[i] = lat;
+            longitudes[i] = lon;
+        }
+        coordonnees = new CoordonneesBornes(ids, latitudes, longitudes);
+        resultat = new long[nbBornes];
+    }
+
+    @Benchmark
+    public void entitesBigDecimal(Blackhole blackhole) {
+        blackhole.consume(BorneUtils.getNearbyBornes(bornes, longitude, latitude, rayon));
+    }
+
+    @Benchmark
+    public void tableauxPrimitifs(Blackhole blackhole) {
+        blackhole.consume(coordonnees.dansRayon(longitude, latitude, rayon, resultat));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProximiteBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.electricitybusiness.api.benchmark;
+
+import com.electricitybusiness.api.util.MicroCentimes;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare le calcul du total d'une facture (somme de tarifs par minute x durées, arrondie au centime)
+ * en BigDecimal et en micro-centimes sur des long (MicroCentimes).
+ * Lancement : mvn test-compile exec:java -Dexec.mainClass=com.electricitybusiness.api.benchmark.TarificationBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TarificationBenchmark {
+
+    private static final BigDecimal SOIXANTE = BigDecimal.valueOf(60);
+
+    @Param({"100", "10000", "1000000"})
+    private int nbLignes;
+
+    private BigDecimal[] prix;
+    private BigDecimal[] durees;
+    private long[] prixMicroCentimes;
+    private long[] secondes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        prix = new BigDecimal[nbLignes];
+        durees = new BigDecimal[nbLignes];
+        prixMicroCentimes = new long[nbLignes];
+        secondes = new long[nbLignes];
+        for (int i = 0; i < nbLignes; i++) {
+            prix[i] = BigDecimal.valueOf(random.nextInt(1_000), 4); // jusqu'à 0,0999 euro par minute
+            secondes[i] = random.nextInt(12 * 3_600);                 // sessions de 0 à 12 heures
+            durees[i] = BigDecimal.valueOf(secondes[i]);
+            prixMicroCentimes[i] = MicroCentimes.depuisEuros(prix[i]);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < nbLignes; i++) {
+            total = total.add(prix[i].multiply(durees[i]));
+        }
+        return total.divide(SOIXANTE, 2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public BigDecimal microCentimes() {
+        long total = 0;
+        for (int i = 0; i < nbLignes; i++) {
+            total = Math.addExact(total, Math.multiplyExact(prixMicroCentimes[i], secondes[i]));
+        }
+        return MicroCentimes.versEuros(MicroCentimes.centimes(total, 60));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TarificationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
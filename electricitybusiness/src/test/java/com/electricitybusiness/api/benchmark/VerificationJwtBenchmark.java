@@ -0,0 +1,82 @@
+package com.electricitybusiness.api.benchmark;
+
+import com.electricitybusiness.api.security.CacheJetons;
+import com.electricitybusiness.api.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de la vérification d'un jeton par requête authentifiée.
+ * ancienneVerification reproduit l'ancien JwtService : clé reconstruite et jeton analysé
+ * à chaque extraction (sujet, puis sujet et expiration dans isTokenValid), soit trois analyses.
+ * analyseUnique analyse le jeton une fois avec le parseur construit au démarrage et réutilise les claims.
+ * jetonEnCache relit les claims d'un jeton déjà vérifié dans CacheJetons (empreinte SHA-256 seulement).
+ * Lancement : mvn test-compile exec:java -Dexec.mainClass=com.electricitybusiness.api.benchmark.VerificationJwtBenchmark -Dexec.classpathScope=test
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerificationJwtBenchmark {
+
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private CacheJetons cacheJetons;
+    private UserDetails utilisateur;
+    private String jeton;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET_KEY, 3_600_000);
+        utilisateur = User.withUsername("jean.dupont@email.com").password("").roles("CLIENT").build();
+        jeton = jwtService.generateToken(utilisateur);
+        cacheJetons = new CacheJetons(jwtService, new SimpleMeterRegistry(), 10_000);
+    }
+
+    @Benchmark
+    public boolean ancienneVerification() {
+        String email = ancienneAnalyse(jeton).getSubject();
+        return email.equals(utilisateur.getUsername())
+                && ancienneAnalyse(jeton).getSubject().equals(utilisateur.getUsername())
+                && !ancienneAnalyse(jeton).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean analyseUnique() {
+        Claims claims = jwtService.verifier(jeton);
+        return jwtService.isTokenValid(claims, utilisateur);
+    }
+
+    @Benchmark
+    public boolean jetonEnCache() {
+        Claims claims = cacheJetons.verifier(jeton);
+        return jwtService.isTokenValid(claims, utilisateur);
+    }
+
+    private static Claims ancienneAnalyse(String jeton) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_KEY)))
+                .build()
+                .parseSignedClaims(jeton)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VerificationJwtBenchmark.class.getSimpleName()).build()).run();
+    }
+}
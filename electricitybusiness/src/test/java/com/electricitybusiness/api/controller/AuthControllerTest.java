@@ -2,9 +2,13 @@ package com.electricitybusiness.api.controller;
 
 import com.electricitybusiness.api.dto.AuthenticationRequest;
 import com.electricitybusiness.api.dto.RegisterRequest;
+import com.electricitybusiness.api.model.Lieu;
+import com.electricitybusiness.api.model.RoleUtilisateur;
 import com.electricitybusiness.api.model.Utilisateur;
+import com.electricitybusiness.api.repository.LieuRepository;
 import com.electricitybusiness.api.repository.UtilisateurRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,9 +17,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -32,12 +39,26 @@ public class AuthControllerTest {
     @Autowired
     private UtilisateurRepository utilisateurRepository;
 
+    @Autowired
+    private LieuRepository lieuRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    private Lieu lieu;
+
     @BeforeEach
     void setUp() {
         utilisateurRepository.deleteAll();
+        lieu = new Lieu();
+        lieu.setInstructions("Parking principal");
+        lieu = lieuRepository.save(lieu);
+    }
+
+    @AfterEach
+    void tearDown() {
+        utilisateurRepository.deleteAll();
+        lieuRepository.delete(lieu);
     }
 
     @Test
@@ -49,16 +70,40 @@ public class AuthControllerTest {
         request.setNom("Test");
         request.setPrenom("User");
         request.setDateDeNaissance(LocalDate.of(2000, 1, 1));
+        request.setNumLieu(lieu.getNumLieu());
 
-        mockMvc.perform(post("/api/auth/register")
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").exists());
 
         Utilisateur savedUser = utilisateurRepository.findByAdresseMail("test@example.com").orElse(null);
         assertNotNull(savedUser);
         assertEquals("test@example.com", savedUser.getAdresseMail());
+        assertEquals(lieu.getNumLieu(), savedUser.getLieu().getNumLieu());
+    }
+
+    @Test
+    void register_WithoutLieu_ShouldReturnBadRequest() throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail("test@example.com");
+        request.setPassword("password123");
+        request.setPseudo("testuser");
+        request.setNom("Test");
+        request.setPrenom("User");
+        request.setDateDeNaissance(LocalDate.of(2000, 1, 1));
+
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        assertTrue(utilisateurRepository.findByAdresseMail("test@example.com").isEmpty());
     }
 
     @Test
@@ -70,15 +115,22 @@ public class AuthControllerTest {
         user.setPseudo("testuser");
         user.setNomUtilisateur("Test");
         user.setPrenom("User");
+        user.setRole(RoleUtilisateur.CLIENT);
+        user.setDateDeNaissance(LocalDate.of(2000, 1, 1));
+        user.setLieu(lieu);
         utilisateurRepository.save(user);
 
         AuthenticationRequest request = new AuthenticationRequest();
         request.setEmail("test@example.com");
         request.setPassword("password123");
 
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").exists());
     }
@@ -89,9 +141,44 @@ public class AuthControllerTest {
         request.setEmail("test@example.com");
         request.setPassword("wrongpassword");
 
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void login_WhenUserIsBanned_ShouldReturnUnauthorized() throws Exception {
+        // Arrange
+        Utilisateur user = new Utilisateur();
+        user.setAdresseMail("banni@example.com");
+        user.setMotDePasse(passwordEncoder.encode("password123"));
+        user.setPseudo("banni");
+        user.setNomUtilisateur("Test");
+        user.setPrenom("User");
+        user.setRole(RoleUtilisateur.CLIENT);
+        user.setDateDeNaissance(LocalDate.of(2000, 1, 1));
+        user.setBanni(true);
+        user.setLieu(lieu);
+        utilisateurRepository.save(user);
+
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setEmail("banni@example.com");
+        request.setPassword("password123");
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isUnauthorized());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.electricitybusiness.api.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Exports en flux continu : délai de réponse propre aux exports, en-têtes posés avant le flux.
+ */
+@SpringBootTest(properties = "export.delai-ms=120000")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void exporterReservations_ShouldStreamWithItsOwnTimeout() throws Exception {
+        // Act
+        MvcResult resultat = mockMvc.perform(get("/api/reservations/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert : délai propre à l'export, les autres réponses asynchrones gardent celui par défaut
+        assertEquals(120_000, resultat.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(resultat))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=reservations.csv"));
+    }
+
+    @Test
+    void exporterRecharges_WithUnknownFormat_ShouldReturnBadRequestBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/api/recharge/export").param("format", "xml"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+    }
+}
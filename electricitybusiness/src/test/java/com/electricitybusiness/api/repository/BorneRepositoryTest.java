@@ -1,18 +1,24 @@
 package com.electricitybusiness.api.repository;
 
+import com.electricitybusiness.api.dto.BorneVue;
 import com.electricitybusiness.api.model.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class BorneRepositoryTest {
 
     @Autowired
@@ -296,4 +302,186 @@ class BorneRepositoryTest {
         assertThat(updated.getNomBorne()).isEqualTo("Borne modifiée");
         assertThat(updated.getPuissance()).isEqualTo(new BigDecimal("50.0"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void whenFindInBoundingBox_thenReturnOnlyBornesInsideBox() {
+        // Arrange
+        Lieu lieu = new Lieu();
+        lieu.setInstructions("Parking principal");
+        entityManager.persist(lieu);
+
+        Borne paris = new Borne();
+        paris.setNomBorne("Borne Paris");
+        paris.setLatitude(new BigDecimal("48.8566"));
+        paris.setLongitude(new BigDecimal("2.3522"));
+        paris.setPuissance(new BigDecimal("22.0"));
+        paris.setEtat(EtatBorne.ACTIVE);
+        paris.setOccupee(false);
+        paris.setSurPied(true);
+        paris.setLieu(lieu);
+        entityManager.persist(paris);
+
+        Borne lyon = new Borne();
+        lyon.setNomBorne("Borne Lyon");
+        lyon.setLatitude(new BigDecimal("45.7640"));
+        lyon.setLongitude(new BigDecimal("4.8357"));
+        lyon.setPuissance(new BigDecimal("50.0"));
+        lyon.setEtat(EtatBorne.ACTIVE);
+        lyon.setOccupee(false);
+        lyon.setSurPied(true);
+        lyon.setLieu(lieu);
+        entityManager.persist(lyon);
+
+        entityManager.flush();
+
+        // Act
+        List<BorneVue> bornes = borneRepository.findInBoundingBox(
+                new BigDecimal("48.80"), new BigDecimal("48.90"), new BigDecimal("2.30"), new BigDecimal("2.40"));
+
+        // Assert
+        assertThat(bornes).extracting(BorneVue::getNomBorne).containsExactly("Borne Paris");
+    }
+
+    @Test
+    void whenFindDisponiblesByVille_thenOnlyBlockingOverlapsExcludeBornes() {
+        // Arrange
+        LocalDateTime midi = LocalDateTime.now().plusDays(1).withHour(12).withMinute(0).withSecond(0).withNano(0);
+        Utilisateur utilisateur = persisterUtilisateur();
+        Lieu lieu = persisterLieu("Lyon", 0);
+        Borne libre = persisterBorne(lieu, "Libre");
+        Borne occupee = persisterBorne(lieu, "Occupée");
+        Borne annulee = persisterBorne(lieu, "Annulée");
+        Borne adjacente = persisterBorne(lieu, "Adjacente");
+        persisterBorne(persisterLieu("Paris", 0), "Autre ville");
+        persisterReservation(utilisateur, occupee, midi.minusHours(1), midi.plusHours(1), EtatReservation.ACCEPTEE);
+        persisterReservation(utilisateur, annulee, midi, midi.plusHours(2), EtatReservation.ANNULEE);
+        persisterReservation(utilisateur, adjacente, midi.plusHours(2), midi.plusHours(3), EtatReservation.DEMANDE);
+        Borne bloquee = persisterBorne(lieu, "Bloquée");
+        Borne blocageExpire = persisterBorne(lieu, "Blocage expiré");
+        LocalDateTime maintenant = LocalDateTime.now();
+        entityManager.persist(new BlocageCreneau("jeton-1", bloquee.getNumBorne(), utilisateur.getNumUtilisateur(),
+                midi.plusHours(1), midi.plusHours(3), maintenant.plusMinutes(10)));
+        entityManager.persist(new BlocageCreneau("jeton-2", blocageExpire.getNumBorne(), utilisateur.getNumUtilisateur(),
+                midi, midi.plusHours(2), maintenant.minusMinutes(1)));
+        entityManager.flush();
+
+        // Act
+        List<BorneVue> bornes = borneRepository.findDisponiblesByVille("Lyon", midi, midi.plusHours(2), EtatReservation.bloquants(), maintenant);
+
+        // Assert
+        assertThat(bornes).extracting(BorneVue::getNumBorne)
+                .containsExactly(libre.getNumBorne(), annulee.getNumBorne(), adjacente.getNumBorne(), blocageExpire.getNumBorne());
+    }
+
+    @Test
+    void whenFindDisponiblesByVille_thenStatementCountDoesNotGrowWithData() {
+        // Arrange
+        LocalDateTime midi = LocalDateTime.now().plusDays(1).withHour(12).withMinute(0).withSecond(0).withNano(0);
+        Utilisateur utilisateur = persisterUtilisateur();
+        Statistics statistiques = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        for (int nbLieux : new int[] { 1, 10 }) {
+            for (int i = 0; i < nbLieux; i++) {
+                Lieu lieu = persisterLieu("Ville" + nbLieux, i);
+                for (int j = 0; j < 3; j++) {
+                    Borne borne = persisterBorne(lieu, "Borne " + i + "-" + j);
+                    persisterReservation(utilisateur, borne, midi.plusHours(j), midi.plusHours(j + 1), EtatReservation.ACCEPTEE);
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            statistiques.clear();
+
+            // Act
+            List<BorneVue> bornes = borneRepository.findDisponiblesByVille("Ville" + nbLieux, midi.plusHours(2), midi.plusHours(3),
+                    EtatReservation.bloquants(), LocalDateTime.now());
+
+            // Assert
+            assertThat(bornes).hasSize(2 * nbLieux);
+            assertThat(bornes).allSatisfy(borne -> assertThat(borne.getNumLieu()).isNotNull());
+            assertThat(statistiques.getEntityLoadCount()).isZero();
+            assertThat(statistiques.getPrepareStatementCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void whenFindVuesApres_thenReadPageColumnsWithoutLoadingEntities() {
+        // Arrange
+        Lieu lieu = persisterLieu("Lyon", 0);
+        Borne premiere = persisterBorne(lieu, "Première");
+        Borne deuxieme = persisterBorne(lieu, "Deuxième");
+        persisterBorne(lieu, "Troisième");
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistiques = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistiques.clear();
+
+        // Act
+        List<BorneVue> bornes = borneRepository.findVuesApres(premiere.getNumBorne() - 1, Limit.of(2));
+
+        // Assert
+        assertThat(bornes).extracting(BorneVue::getNumBorne).containsExactly(premiere.getNumBorne(), deuxieme.getNumBorne());
+        assertThat(bornes.get(0).getNomBorne()).isEqualTo("Première");
+        assertThat(bornes.get(0).getNumLieu()).isEqualTo(lieu.getNumLieu());
+        assertThat(bornes.get(0).getInstructionsLieu()).isEqualTo("Parking 0");
+        assertThat(statistiques.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistiques.getEntityLoadCount()).isZero();
+    }
+
+    private Utilisateur persisterUtilisateur() {
+        Lieu lieu = new Lieu();
+        lieu.setInstructions("Domicile");
+        entityManager.persist(lieu);
+
+        Utilisateur utilisateur = new Utilisateur();
+        utilisateur.setPseudo("test.user");
+        utilisateur.setNomUtilisateur("Test");
+        utilisateur.setPrenom("User");
+        utilisateur.setAdresseMail("test@example.com");
+        utilisateur.setMotDePasse("password");
+        utilisateur.setDateDeNaissance(LocalDate.of(1990, 1, 1));
+        utilisateur.setRole(RoleUtilisateur.CLIENT);
+        utilisateur.setLieu(lieu);
+        return entityManager.persist(utilisateur);
+    }
+
+    private Lieu persisterLieu(String ville, int numero) {
+        Adresse adresse = new Adresse();
+        adresse.setNumeroEtRue(numero + " rue de la République");
+        adresse.setCodePostal("69001");
+        adresse.setVille(ville);
+        adresse.setPays("France");
+
+        Lieu lieu = new Lieu();
+        lieu.setInstructions("Parking " + numero);
+        lieu.setAdresse(adresse);
+        return entityManager.persist(lieu);
+    }
+
+    private Borne persisterBorne(Lieu lieu, String nom) {
+        Borne borne = new Borne();
+        borne.setNomBorne(nom);
+        borne.setLatitude(new BigDecimal("45.7640"));
+        borne.setLongitude(new BigDecimal("4.8357"));
+        borne.setPuissance(new BigDecimal("22.0"));
+        borne.setEtat(EtatBorne.ACTIVE);
+        borne.setOccupee(false);
+        borne.setSurPied(true);
+        borne.setLieu(lieu);
+        return entityManager.persist(borne);
+    }
+
+    private void persisterReservation(Utilisateur utilisateur, Borne borne, LocalDateTime debut, LocalDateTime fin, EtatReservation etat) {
+        Reservation reservation = new Reservation();
+        reservation.setDateDebut(debut);
+        reservation.setDateFin(fin);
+        reservation.setPrixMinuteHisto(new BigDecimal("0.004167"));
+        reservation.setEtat(etat);
+        reservation.setMontantTotal(new BigDecimal("15.0"));
+        reservation.setUtilisateur(utilisateur);
+        reservation.setBorne(borne);
+        entityManager.persist(reservation);
+    }
+}
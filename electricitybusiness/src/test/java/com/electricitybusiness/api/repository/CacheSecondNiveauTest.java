@@ -0,0 +1,192 @@
+package com.electricitybusiness.api.repository;
+
+import com.electricitybusiness.api.config.CacheHibernateConfig;
+import com.electricitybusiness.api.dto.BorneVue;
+import com.electricitybusiness.api.dto.RegleTarifaireBorne;
+import com.electricitybusiness.api.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache de second niveau et cache de requêtes, avec des transactions validées (pas de transaction de test) :
+ * les entrées ne sont ajoutées ou invalidées qu'au commit.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheSecondNiveauTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LieuRepository lieuRepository;
+
+    @Autowired
+    private BorneRepository borneRepository;
+
+    @Autowired
+    private TarifHoraireRepository tarifHoraireRepository;
+
+    private Statistics statistics;
+    private Lieu lieu;
+    private Borne borne;
+
+    @BeforeEach
+    void setUp() {
+        Adresse adresse = new Adresse();
+        adresse.setNumeroEtRue("8 rue Scribe");
+        adresse.setCodePostal("75009");
+        adresse.setVille("Paris");
+        adresse.setPays("France");
+        lieu = new Lieu();
+        lieu.setInstructions("Parking principal");
+        lieu.setAdresse(adresse);
+        lieu = lieuRepository.save(lieu);
+
+        borne = new Borne();
+        borne.setNomBorne("Borne test");
+        borne.setLatitude(new BigDecimal("48.8566"));
+        borne.setLongitude(new BigDecimal("2.3522"));
+        borne.setPuissance(new BigDecimal("22.0"));
+        borne.setEtat(EtatBorne.ACTIVE);
+        borne.setLieu(lieu);
+        borne = borneRepository.save(borne);
+        tarifHoraireRepository.save(tarif(new BigDecimal("0.25")));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tarifHoraireRepository.deleteAll();
+        borneRepository.deleteAll();
+        lieuRepository.deleteAll();
+    }
+
+    @Test
+    void whenFindLieuById_thenServedFromCache() {
+        // Act
+        Lieu premier = lieuRepository.findById(lieu.getNumLieu()).orElseThrow();
+        Lieu second = lieuRepository.findById(lieu.getNumLieu()).orElseThrow();
+
+        // Assert : le lieu et son adresse ont été mis en cache par leur insertion ; seul le côté inverse
+        // Adresse.lieu (mappedBy) est encore résolu par une requête à chaque lecture
+        assertThat(second.getInstructions()).isEqualTo(premier.getInstructions());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getDomainDataRegionStatistics("lieu").getHitCount()).isEqualTo(2);
+        assertThat(statistics.getDomainDataRegionStatistics("adresse").getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void whenSaveLieu_thenCachedEntryIsUpdated() {
+        // Arrange
+        Lieu enCache = lieuRepository.findById(lieu.getNumLieu()).orElseThrow();
+        enCache.setInstructions("Accès par la rue Auber");
+
+        // Act
+        lieuRepository.save(enCache);
+        Lieu relu = lieuRepository.findById(lieu.getNumLieu()).orElseThrow();
+
+        // Assert
+        assertThat(relu.getInstructions()).isEqualTo("Accès par la rue Auber");
+    }
+
+    @Test
+    void whenFindRegleByIdTwice_thenSecondCallHitsQueryCacheUntilTarifsChange() {
+        // Arrange
+        Long numTarif = tarifHoraireRepository.findReglesActivesByNumBorneIn(List.of(borne.getNumBorne())).get(0).getNumTarif();
+        tarifHoraireRepository.findRegleById(numTarif);
+        long requetes = statistics.getPrepareStatementCount();
+
+        // Act
+        RegleTarifaireBorne enCache = tarifHoraireRepository.findRegleById(numTarif).orElseThrow();
+        long requetesEnCache = statistics.getPrepareStatementCount() - requetes;
+        TarifHoraire tarif = tarifHoraireRepository.findById(numTarif).orElseThrow();
+        tarif.setTarifParMinute(new BigDecimal("0.10"));
+        tarifHoraireRepository.save(tarif);
+        RegleTarifaireBorne apresEcriture = tarifHoraireRepository.findRegleById(numTarif).orElseThrow();
+
+        // Assert
+        assertThat(enCache.getTarifParMinute()).isEqualByComparingTo("0.25");
+        assertThat(requetesEnCache).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(apresEcriture.getTarifParMinute()).isEqualByComparingTo("0.10");
+    }
+
+    @Test
+    void whenFindBorneVuesTwice_thenBothReadDatabaseAndSeeBulkUpdates() {
+        // Arrange
+        borneRepository.findVueById(borne.getNumBorne());
+        borneRepository.findVuesApres(0L, Limit.of(20));
+        long requetes = statistics.getPrepareStatementCount();
+
+        // Act : UPDATE JPQL groupé, comme à chaque passage du cycle des réservations
+        transactionTemplate.executeWithoutResult(statut -> borneRepository.marquerOccupees(List.of(borne.getNumBorne()), LocalDateTime.now()));
+        BorneVue vue = borneRepository.findVueById(borne.getNumBorne()).orElseThrow();
+        List<BorneVue> page = borneRepository.findVuesApres(0L, Limit.of(20));
+
+        // Assert : lectures non mises en cache, la table borne étant réécrite en continu
+        assertThat(vue.getOccupee()).isTrue();
+        assertThat(page).extracting(BorneVue::getNumBorne).containsExactly(borne.getNumBorne());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(requetes + 3);
+        assertThat(statistics.getQueryCachePutCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+
+    @Test
+    void whenBindMetrics_thenPublishHitRatioPerRegion() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new CacheHibernateConfig().metriquesCacheHibernate(entityManagerFactory).bindTo(registry);
+
+        // Act
+        lieuRepository.findById(lieu.getNumLieu());
+        lieuRepository.findById(-1L);
+
+        // Assert
+        assertThat(registry.get(CacheHibernateConfig.METRIQUE + ".hits").tag("region", "lieu").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get(CacheHibernateConfig.METRIQUE + ".misses").tag("region", "lieu").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get(CacheHibernateConfig.METRIQUE + ".ratio").tag("region", "lieu").gauge().value()).isEqualTo(0.5);
+        assertThat(registry.find(CacheHibernateConfig.METRIQUE + ".ratio").tag("region", "default-query-results-region").gauge()).isNotNull();
+    }
+
+    private TarifHoraire tarif(BigDecimal tarifParMinute) {
+        TarifHoraire tarif = new TarifHoraire();
+        tarif.setTarifParMinute(tarifParMinute);
+        tarif.setHeureDebut(LocalTime.of(8, 0));
+        tarif.setHeureFin(LocalTime.of(20, 0));
+        tarif.setDateDebut(LocalDate.of(2025, 1, 1));
+        tarif.setBorne(borne);
+        return tarif;
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 import java.util.Optional;
@@ -42,6 +43,28 @@ class LieuRepositoryTest {
                 .containsExactlyInAnyOrder("Parking 1", "Parking 2");
     }
 
+    @Test
+    void whenFindByNumLieuGreaterThan_thenReturnNextPageInKeyOrder() {
+        // Arrange
+        Long[] cles = new Long[5];
+        for (int i = 0; i < 5; i++) {
+            Lieu lieu = new Lieu();
+            lieu.setInstructions("Parking " + i);
+            cles[i] = entityManager.persist(lieu).getNumLieu();
+        }
+        entityManager.flush();
+
+        // Act
+        List<Lieu> premiere = lieuRepository.findByNumLieuGreaterThanOrderByNumLieuAsc(0L, Limit.of(2));
+        List<Lieu> suivante = lieuRepository.findByNumLieuGreaterThanOrderByNumLieuAsc(premiere.get(1).getNumLieu(), Limit.of(2));
+        List<Lieu> derniere = lieuRepository.findByNumLieuGreaterThanOrderByNumLieuAsc(suivante.get(1).getNumLieu(), Limit.of(2));
+
+        // Assert
+        assertThat(premiere).extracting(Lieu::getNumLieu).containsExactly(cles[0], cles[1]);
+        assertThat(suivante).extracting(Lieu::getNumLieu).containsExactly(cles[2], cles[3]);
+        assertThat(derniere).extracting(Lieu::getNumLieu).containsExactly(cles[4]);
+    }
+
     @Test
     void whenFindById_thenReturnLieu() {
         // Arrange
@@ -1,6 +1,9 @@
 package com.electricitybusiness.api.repository;
 
+import com.electricitybusiness.api.dto.RegleTarifaireBorne;
 import com.electricitybusiness.api.model.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -9,12 +12,13 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class TarifHoraireRepositoryTest {
 
     @Autowired
@@ -330,4 +334,94 @@ class TarifHoraireRepositoryTest {
         assertThat(updated.getTarifParMinute()).isEqualTo(new BigDecimal("0.005000"));
         assertThat(updated.getActif()).isFalse();
     }
-} 
\ No newline at end of file
+
+    @Test
+    void whenFindReglesActivesByNumBorneIn_thenLoadRulesOfAllBornesInOneStatement() {
+        // Arrange
+        Lieu lieu = new Lieu();
+        lieu.setInstructions("Parking principal");
+        entityManager.persist(lieu);
+        Borne[] bornes = new Borne[3];
+        for (int i = 0; i < bornes.length; i++) {
+            bornes[i] = new Borne();
+            bornes[i].setNomBorne("Borne " + i);
+            bornes[i].setLatitude(new BigDecimal("48.8566"));
+            bornes[i].setLongitude(new BigDecimal("2.3522"));
+            bornes[i].setPuissance(new BigDecimal("22.0"));
+            bornes[i].setEtat(EtatBorne.ACTIVE);
+            bornes[i].setOccupee(false);
+            bornes[i].setSurPied(true);
+            bornes[i].setLieu(lieu);
+            entityManager.persist(bornes[i]);
+            for (boolean actif : new boolean[] { true, false }) {
+                TarifHoraire tarif = new TarifHoraire();
+                tarif.setTarifParMinute(new BigDecimal(actif ? "0.0040" : "0.0090"));
+                tarif.setDateDebut(LocalDate.now());
+                tarif.setHeureDebut(LocalTime.of(8, 0));
+                tarif.setHeureFin(LocalTime.of(20, 0));
+                tarif.setJourSemaine(i + 1);
+                tarif.setActif(actif);
+                tarif.setBorne(bornes[i]);
+                entityManager.persist(tarif);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistiques = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistiques.clear();
+
+        // Act
+        List<RegleTarifaireBorne> regles = tarifHoraireRepository.findReglesActivesByNumBorneIn(
+                List.of(bornes[0].getNumBorne(), bornes[1].getNumBorne()));
+
+        // Assert
+        assertThat(regles).extracting(RegleTarifaireBorne::getNumBorne)
+                .containsExactlyInAnyOrder(bornes[0].getNumBorne(), bornes[1].getNumBorne());
+        assertThat(regles).extracting(RegleTarifaireBorne::getTarifParMinute).containsOnly(new BigDecimal("0.0040"));
+        assertThat(regles).extracting(RegleTarifaireBorne::getJourSemaine).containsExactlyInAnyOrder(1, 2);
+        assertThat(statistiques.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenSaveAll_thenInsertsAreSentInJdbcBatches() {
+        // Arrange
+        Lieu lieu = new Lieu();
+        lieu.setInstructions("Parking principal");
+        entityManager.persist(lieu);
+        Borne borne = new Borne();
+        borne.setNomBorne("Borne import");
+        borne.setLatitude(new BigDecimal("48.8566"));
+        borne.setLongitude(new BigDecimal("2.3522"));
+        borne.setPuissance(new BigDecimal("22.0"));
+        borne.setEtat(EtatBorne.ACTIVE);
+        borne.setOccupee(false);
+        borne.setSurPied(true);
+        borne.setLieu(lieu);
+        entityManager.persist(borne);
+        entityManager.flush();
+        List<TarifHoraire> tarifs = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            TarifHoraire tarif = new TarifHoraire();
+            tarif.setTarifParMinute(new BigDecimal("0.0040"));
+            tarif.setDateDebut(LocalDate.now().plusDays(i));
+            tarif.setHeureDebut(LocalTime.of(8, 0));
+            tarif.setHeureFin(LocalTime.of(20, 0));
+            tarif.setActif(true);
+            tarif.setBorne(borne);
+            tarifs.add(tarif);
+        }
+        Statistics statistiques = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistiques.clear();
+
+        // Act
+        tarifHoraireRepository.saveAll(tarifs);
+        entityManager.flush();
+
+        // Assert : quelques nextval (blocs de 50 identifiants) et trois lots d'INSERT, au lieu de 120 INSERT unitaires
+        assertThat(statistiques.getEntityInsertCount()).isEqualTo(120);
+        assertThat(statistiques.getPrepareStatementCount()).isLessThan(10);
+        assertThat(tarifs).extracting(TarifHoraire::getNumTarif).doesNotContainNull().doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,97 @@
+package com.electricitybusiness.api.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheJetonsTest {
+
+    private JwtService jwtService;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheJetons cacheJetons;
+    private UserDetails client;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = spy(new JwtService(JwtServiceTest.SECRET, 3_600_000));
+        meterRegistry = new SimpleMeterRegistry();
+        cacheJetons = new CacheJetons(jwtService, meterRegistry, 100);
+        client = User.withUsername("jean.dupont@email.com").password("").roles("CLIENT").build();
+    }
+
+    @Test
+    void verifier_WithRepeatedToken_ShouldVerifyOnceAndCountHits() {
+        // Arrange
+        String jeton = jwtService.generateToken(client);
+
+        // Act
+        Claims premier = cacheJetons.verifier(jeton);
+        Claims second = cacheJetons.verifier(jeton);
+        Claims troisieme = cacheJetons.verifier(jeton);
+
+        // Assert
+        assertEquals("jean.dupont@email.com", premier.getSubject());
+        assertSame(premier, second);
+        assertSame(premier, troisieme);
+        verify(jwtService, times(1)).verifier(jeton);
+        assertEquals(2.0, acces("hit"));
+        assertEquals(1.0, acces("miss"));
+    }
+
+    @Test
+    void verifier_WithDifferentTokens_ShouldVerifyEach() {
+        // Arrange
+        String jetonClient = jwtService.generateToken(client);
+        String jetonAdmin = jwtService.generateToken(User.withUsername("admin@email.com").password("").roles("ADMIN").build());
+
+        // Act
+        cacheJetons.verifier(jetonClient);
+        Claims admin = cacheJetons.verifier(jetonAdmin);
+
+        // Assert
+        assertEquals("admin@email.com", admin.getSubject());
+        assertEquals(2, cacheJetons.taille());
+    }
+
+    @Test
+    void verifier_WithInvalidToken_ShouldThrowAndNotCache() {
+        // Arrange
+        String jeton = jwtService.generateToken(client);
+        String falsifie = jeton.substring(0, jeton.length() - 2) + (jeton.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThrows(JwtException.class, () -> cacheJetons.verifier(falsifie));
+        assertThrows(JwtException.class, () -> cacheJetons.verifier(falsifie));
+        verify(jwtService, times(2)).verifier(falsifie);
+        assertEquals(0, cacheJetons.taille());
+    }
+
+    @Test
+    void verifier_AfterTokenExpiration_ShouldNotServeCachedClaims() throws Exception {
+        // Arrange
+        JwtService courte = new JwtService(JwtServiceTest.SECRET, 1_000);
+        CacheJetons cache = new CacheJetons(courte, new SimpleMeterRegistry(), 100);
+        String jeton = courte.generateToken(client);
+        cache.verifier(jeton);
+
+        // Act
+        Thread.sleep(1_100); // exp est exprimé en secondes : il est au plus 1 s après l'émission
+
+        // Assert
+        assertThrows(ExpiredJwtException.class, () -> cache.verifier(jeton));
+        assertEquals(0, cache.taille());
+    }
+
+    private double acces(String resultat) {
+        return meterRegistry.get("cache.gets").tag("cache", CacheJetons.METRIQUE).tag("result", resultat)
+                .functionCounter().count();
+    }
+}
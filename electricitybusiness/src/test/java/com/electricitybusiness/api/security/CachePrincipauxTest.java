@@ -0,0 +1,148 @@
+package com.electricitybusiness.api.security;
+
+import com.electricitybusiness.api.model.RevocationUtilisateur;
+import com.electricitybusiness.api.repository.RevocationUtilisateurRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachePrincipauxTest {
+
+    private static final String EMAIL = "jean.dupont@email.com";
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private RevocationUtilisateurRepository revocationRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CachePrincipaux cachePrincipaux;
+
+    @BeforeEach
+    void setUp() {
+        cachePrincipaux = new CachePrincipaux(userDetailsService, revocationRepository, transactionTemplate, 100, 300, 3_600_000, 60_000);
+    }
+
+    @Test
+    void principal_WithRoleClaim_ShouldNotLoadUser() {
+        // Act
+        UserDetails principal = cachePrincipaux.principal(EMAIL, "ADMIN", new Date());
+
+        // Assert
+        assertEquals(EMAIL, principal.getUsername());
+        assertEquals("ROLE_ADMIN", principal.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void principal_WithoutRoleClaim_ShouldLoadUserOnce() {
+        // Arrange
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(utilisateur(false));
+
+        // Act
+        cachePrincipaux.principal(EMAIL, null, new Date());
+        UserDetails principal = cachePrincipaux.principal(EMAIL, null, new Date());
+
+        // Assert
+        assertEquals(EMAIL, principal.getUsername());
+        verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+        assertEquals(1, cachePrincipaux.taille());
+    }
+
+    @Test
+    void invalider_ShouldDistrustTokensIssuedBeforeAndReloadUser() {
+        // Arrange
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(utilisateur(false), utilisateur(true));
+        cachePrincipaux.charger(EMAIL);
+        Date emissionAvant = new Date(System.currentTimeMillis() - 1_000);
+
+        // Act
+        cachePrincipaux.invalider(EMAIL);
+        UserDetails principal = cachePrincipaux.principal(EMAIL, "CLIENT", emissionAvant);
+
+        // Assert : le principal rechargé est celui de l'utilisateur banni
+        assertFalse(principal.isAccountNonLocked());
+        verify(userDetailsService, times(2)).loadUserByUsername(EMAIL);
+    }
+
+    @Test
+    void invalider_ShouldStillTrustTokensIssuedAfter() {
+        // Arrange
+        cachePrincipaux.invalider(EMAIL);
+
+        // Act
+        UserDetails principal = cachePrincipaux.principal(EMAIL, "CLIENT", new Date(System.currentTimeMillis() + 1_000));
+
+        // Assert
+        assertTrue(principal.isAccountNonLocked());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void rafraichirRevocations_ShouldDistrustTokensOfUsersChangedElsewhere() {
+        // Arrange : bannissement prononcé sur une autre instance, invisible ici jusqu'au rafraîchissement
+        when(revocationRepository.findByDateRevocationAfter(any()))
+                .thenReturn(List.of(new RevocationUtilisateur(1L, EMAIL, LocalDateTime.now())));
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(utilisateur(true));
+        Date emissionAvant = new Date(System.currentTimeMillis() - 1_000);
+        assertTrue(cachePrincipaux.principal(EMAIL, "CLIENT", emissionAvant).isAccountNonLocked());
+
+        // Act
+        cachePrincipaux.rafraichirRevocations();
+        cachePrincipaux.rafraichirRevocations();
+        UserDetails principal = cachePrincipaux.principal(EMAIL, "CLIENT", emissionAvant);
+
+        // Assert : rechargé une seule fois, une révocation déjà lue n'invalide pas à nouveau
+        assertFalse(principal.isAccountNonLocked());
+        cachePrincipaux.principal(EMAIL, "CLIENT", emissionAvant);
+        verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+    }
+
+    @Test
+    void rafraichirRevocations_WhenUserDeletedElsewhere_ShouldRejectItsTokens() {
+        // Arrange : premier passage après le démarrage, relit les révocations encore utiles
+        when(revocationRepository.findByDateRevocationAfter(any()))
+                .thenReturn(List.of(new RevocationUtilisateur(1L, EMAIL, LocalDateTime.now().minusMinutes(30))));
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenThrow(new UsernameNotFoundException(EMAIL));
+
+        // Act
+        cachePrincipaux.rafraichirRevocations();
+
+        // Assert
+        assertThrows(UsernameNotFoundException.class,
+                () -> cachePrincipaux.principal(EMAIL, "ADMIN", new Date(System.currentTimeMillis() - 1_000)));
+        verify(revocationRepository).findByDateRevocationAfter(argThat(depuis -> depuis.isBefore(LocalDateTime.now().minusMinutes(60))));
+    }
+
+    @Test
+    void charger_WhenUserDoesNotExist_ShouldThrowAndCacheNothing() {
+        // Arrange
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenThrow(new UsernameNotFoundException(EMAIL));
+
+        // Act & Assert
+        assertThrows(UsernameNotFoundException.class, () -> cachePrincipaux.charger(EMAIL));
+        assertEquals(0, cachePrincipaux.taille());
+    }
+
+    private static UserDetails utilisateur(boolean banni) {
+        return User.withUsername(EMAIL).password("hash").roles("CLIENT").accountLocked(banni).build();
+    }
+}
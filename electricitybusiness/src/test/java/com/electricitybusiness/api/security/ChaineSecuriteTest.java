@@ -0,0 +1,89 @@
+package com.electricitybusiness.api.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChaineSecuriteTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void contexte_ShouldDeclareSingleSecurityFilterChain() {
+        assertEquals(1, context.getBeansOfType(SecurityFilterChain.class).size());
+        assertEquals(1, context.getBeansOfType(JwtAuthenticationFilter.class).size());
+    }
+
+    @Test
+    void requeteAuthentifiee_ShouldInvokeJwtFilterExactlyOnce() throws Exception {
+        // Arrange
+        String jeton = jwtService.generateToken(User.withUsername("jean.dupont@email.com").password("").roles("CLIENT").build());
+        double total = invocations();
+        double authentifiees = invocations("authentifie");
+
+        // Act
+        mockMvc.perform(get("/api/bornes").header("Authorization", "Bearer " + jeton))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertEquals(total + 1, invocations());
+        assertEquals(authentifiees + 1, invocations("authentifie"));
+    }
+
+    @Test
+    void requeteAnonyme_ShouldBeRejectedAfterSingleInvocation() throws Exception {
+        // Arrange
+        double total = invocations();
+        double anonymes = invocations("anonyme");
+
+        // Act
+        mockMvc.perform(get("/api/bornes"))
+                .andExpect(status().isForbidden());
+
+        // Assert
+        assertEquals(total + 1, invocations());
+        assertEquals(anonymes + 1, invocations("anonyme"));
+    }
+
+    @Test
+    void bannir_WithClientRole_ShouldBeForbidden() throws Exception {
+        // Arrange
+        String jeton = jwtService.generateToken(User.withUsername("jean.dupont@email.com").password("").roles("CLIENT").build());
+
+        // Act & Assert
+        mockMvc.perform(put("/api/utilisateurs/1/bannir").header("Authorization", "Bearer " + jeton))
+                .andExpect(status().isForbidden());
+    }
+
+    private double invocations(String resultat) {
+        return meterRegistry.get(JwtAuthenticationFilter.METRIQUE).tag("resultat", resultat).counter().count();
+    }
+
+    private double invocations() {
+        return meterRegistry.get(JwtAuthenticationFilter.METRIQUE).counters().stream().mapToDouble(Counter::count).sum();
+    }
+}
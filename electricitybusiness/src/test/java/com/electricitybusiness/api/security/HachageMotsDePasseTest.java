@@ -0,0 +1,96 @@
+package com.electricitybusiness.api.security;
+
+import com.electricitybusiness.api.exception.SurchargeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HachageMotsDePasseTest {
+
+    private final CountDownLatch demarre = new CountDownLatch(1);
+    private final CountDownLatch liberation = new CountDownLatch(1);
+    private BCryptPasswordEncoder passwordEncoder;
+    private SimpleMeterRegistry meterRegistry;
+    private HachageMotsDePasse hachage;
+
+    @BeforeEach
+    void setUp() {
+        // La vérification du mot de passe "bloquant" occupe le thread jusqu'à la libération
+        passwordEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence motDePasse, String hache) {
+                if ("bloquant".contentEquals(motDePasse)) {
+                    demarre.countDown();
+                    return attendre(liberation);
+                }
+                return super.matches(motDePasse, hache);
+            }
+        };
+        meterRegistry = new SimpleMeterRegistry();
+        hachage = new HachageMotsDePasse(passwordEncoder, meterRegistry, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hachage.arreter();
+    }
+
+    @Test
+    void hacher_ShouldRunOnDedicatedThreadAndRecordDuration() throws Exception {
+        // Act
+        String hache = hachage.hacher("motdepasse").get(5, TimeUnit.SECONDS);
+        String executant = hachage.hacher("motdepasse")
+                .thenApply(resultat -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(passwordEncoder.matches("motdepasse", hache));
+        assertTrue(executant.startsWith("bcrypt-"));
+        assertEquals(2, meterRegistry.get(HachageMotsDePasse.METRIQUE + ".duree").tag("operation", "hacher").timer().count());
+    }
+
+    @Test
+    void verifier_ShouldMatchHashAndRejectUnknownUser() throws Exception {
+        // Arrange
+        String hache = passwordEncoder.encode("motdepasse");
+
+        // Act & Assert
+        assertTrue(hachage.verifier("motdepasse", hache).get(5, TimeUnit.SECONDS));
+        assertFalse(hachage.verifier("autre", hache).get(5, TimeUnit.SECONDS));
+        assertFalse(hachage.verifier("motdepasse", null).get(5, TimeUnit.SECONDS));
+        assertEquals(3, meterRegistry.get(HachageMotsDePasse.METRIQUE + ".duree").tag("operation", "verifier").timer().count());
+    }
+
+    @Test
+    void verifier_WhenQueueIsFull_ShouldRejectImmediately() throws Exception {
+        // Arrange : le seul thread est occupé et la file (1 place) est pleine
+        CompletableFuture<Boolean> occupe = hachage.verifier("bloquant", "haché");
+        assertTrue(demarre.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> enFile = hachage.hacher("motdepasse");
+
+        // Act & Assert
+        assertThrows(SurchargeException.class, () -> hachage.hacher("refuse"));
+        assertEquals(1, hachage.enAttente());
+        assertEquals(1.0, meterRegistry.get("executor.queued").tag("name", HachageMotsDePasse.METRIQUE).gauge().value());
+
+        liberation.countDown();
+        assertTrue(occupe.get(5, TimeUnit.SECONDS));
+        assertNotNull(enFile.get(5, TimeUnit.SECONDS));
+    }
+
+    private static boolean attendre(CountDownLatch liberation) {
+        try {
+            return liberation.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
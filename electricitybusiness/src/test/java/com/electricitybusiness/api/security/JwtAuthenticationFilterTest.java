@@ -0,0 +1,147 @@
+package com.electricitybusiness.api.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Spy
+    private JwtService jwtService = new JwtService(JwtServiceTest.SECRET, 3_600_000);
+
+    @Mock
+    private CachePrincipaux cachePrincipaux;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtAuthenticationFilter filtre;
+    private UserDetails client;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filtre = new JwtAuthenticationFilter(jwtService, new CacheJetons(jwtService, meterRegistry, 100), cachePrincipaux, meterRegistry);
+        client = User.withUsername("jean.dupont@email.com").password("").roles("CLIENT").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WithValidToken_ShouldParseTokenOnceAndAuthenticate() throws Exception {
+        // Arrange
+        String jeton = jwtService.generateToken(client);
+        when(cachePrincipaux.principal(eq("jean.dupont@email.com"), eq("CLIENT"), any())).thenReturn(client);
+        MockHttpServletRequest requete = new MockHttpServletRequest();
+        requete.addHeader("Authorization", "Bearer " + jeton);
+
+        // Act
+        filtre.doFilter(requete, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentification = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentification);
+        assertEquals(client, authentification.getPrincipal());
+        verify(jwtService, times(1)).verifier(jeton);
+        verify(jwtService, never()).extractUsername(anyString());
+        assertEquals(1.0, invocations("authentifie"));
+        assertEquals(1.0, invocations());
+    }
+
+    @Test
+    void doFilter_WithRepeatedToken_ShouldVerifySignatureOnce() throws Exception {
+        // Arrange
+        String jeton = jwtService.generateToken(client);
+        when(cachePrincipaux.principal(eq("jean.dupont@email.com"), eq("CLIENT"), any())).thenReturn(client);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest requete = new MockHttpServletRequest();
+            requete.addHeader("Authorization", "Bearer " + jeton);
+            filtre.doFilter(requete, new MockHttpServletResponse(), new MockFilterChain());
+            SecurityContextHolder.clearContext();
+        }
+
+        // Assert
+        verify(jwtService, times(1)).verifier(jeton);
+        verify(cachePrincipaux, times(3)).principal(eq("jean.dupont@email.com"), eq("CLIENT"), any());
+        assertEquals(3.0, invocations("authentifie"));
+    }
+
+    @Test
+    void doFilter_WithInvalidToken_ShouldContinueUnauthenticated() throws Exception {
+        // Arrange
+        MockHttpServletRequest requete = new MockHttpServletRequest();
+        requete.addHeader("Authorization", "Bearer pas.un.jeton");
+        MockFilterChain chaine = new MockFilterChain();
+
+        // Act
+        filtre.doFilter(requete, new MockHttpServletResponse(), chaine);
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chaine.getRequest());
+        verifyNoInteractions(cachePrincipaux);
+        assertEquals(1.0, invocations("invalide"));
+        assertEquals(1.0, invocations());
+    }
+
+    @Test
+    void doFilter_WithLockedPrincipal_ShouldNotAuthenticate() throws Exception {
+        // Arrange
+        String jeton = jwtService.generateToken(client);
+        UserDetails banni = User.withUsername("jean.dupont@email.com").password("").roles("CLIENT").accountLocked(true).build();
+        when(cachePrincipaux.principal(anyString(), any(), any())).thenReturn(banni);
+        MockHttpServletRequest requete = new MockHttpServletRequest();
+        requete.addHeader("Authorization", "Bearer " + jeton);
+
+        // Act
+        filtre.doFilter(requete, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1.0, invocations("refuse"));
+        assertEquals(1.0, invocations());
+    }
+
+    @Test
+    void doFilter_WithoutToken_ShouldCountAnonymousRequestOnce() throws Exception {
+        // Arrange
+        MockFilterChain chaine = new MockFilterChain();
+
+        // Act
+        filtre.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chaine);
+
+        // Assert
+        assertNotNull(chaine.getRequest());
+        assertEquals(1.0, invocations("anonyme"));
+        assertEquals(1.0, invocations());
+        verifyNoInteractions(cachePrincipaux);
+    }
+
+    private double invocations(String resultat) {
+        return meterRegistry.get(JwtAuthenticationFilter.METRIQUE).tag("resultat", resultat).counter().count();
+    }
+
+    private double invocations() {
+        return meterRegistry.get(JwtAuthenticationFilter.METRIQUE).counters().stream().mapToDouble(c -> c.count()).sum();
+    }
+}
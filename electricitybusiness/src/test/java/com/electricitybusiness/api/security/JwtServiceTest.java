@@ -1,5 +1,7 @@
 package com.electricitybusiness.api.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.userdetails.User;
@@ -11,12 +13,14 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class JwtServiceTest {
 
+    static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
     private JwtService jwtService;
     private UserDetails userDetails;
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService();
+        jwtService = new JwtService(SECRET, 3_600_000);
         userDetails = new User("test@example.com", "password", new ArrayList<>());
     }
 
@@ -46,4 +50,47 @@ class JwtServiceTest {
         UserDetails differentUser = new User("different@example.com", "password", new ArrayList<>());
         assertFalse(jwtService.isTokenValid(token, differentUser));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void generateToken_ShouldCarryRoleClaim() {
+        UserDetails client = User.withUsername("client@example.com").password("password").roles("CLIENT").build();
+        String token = jwtService.generateToken(client);
+        assertEquals("CLIENT", jwtService.extractRole(token));
+        assertNotNull(jwtService.extractIssuedAt(token));
+    }
+
+    @Test
+    void generateToken_WithoutRole_ShouldOmitRoleClaim() {
+        String token = jwtService.generateToken(userDetails);
+        assertNull(jwtService.extractRole(token));
+    }
+
+    @Test
+    void verifier_ShouldReturnClaimsOfValidToken() {
+        String token = jwtService.generateToken(userDetails);
+        Claims claims = jwtService.verifier(token);
+        assertEquals(userDetails.getUsername(), claims.getSubject());
+        assertTrue(jwtService.isTokenValid(claims, userDetails));
+    }
+
+    @Test
+    void generateToken_ShouldUseConfiguredExpiration() {
+        JwtService courte = new JwtService(SECRET, 60_000);
+        Claims claims = courte.verifier(courte.generateToken(userDetails));
+        assertEquals(60_000, claims.getExpiration().getTime() - claims.getIssuedAt().getTime(), 1_000);
+    }
+
+    @Test
+    void verifier_ShouldRejectTokenSignedWithAnotherSecret() {
+        JwtService autre = new JwtService("QXV0cmVTZWNyZXRQb3VyU2lnbmVyRGVzSmV0b25zSldUVGVzdA==", 3_600_000);
+        String token = autre.generateToken(userDetails);
+        assertThrows(JwtException.class, () -> jwtService.verifier(token));
+    }
+
+    @Test
+    void verifier_ShouldRejectTamperedToken() {
+        String token = jwtService.generateToken(userDetails);
+        String falsifie = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertThrows(JwtException.class, () -> jwtService.verifier(falsifie));
+    }
+}
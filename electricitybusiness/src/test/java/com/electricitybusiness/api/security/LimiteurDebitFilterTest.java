@@ -0,0 +1,122 @@
+package com.electricitybusiness.api.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteurDebitFilterTest {
+
+    private JwtService jwtService;
+    private CacheJetons cacheJetons;
+    private SimpleMeterRegistry meterRegistry;
+    private LimiteurDebitFilter filtre;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(JwtServiceTest.SECRET, 3_600_000);
+        meterRegistry = new SimpleMeterRegistry();
+        cacheJetons = new CacheJetons(jwtService, meterRegistry, 100);
+
+        LimitesDebitProperties.Regle login = new LimitesDebitProperties.Regle();
+        login.setMotif("/api/auth/login");
+        login.setCapacite(2);
+        login.setPeriode(Duration.ofMinutes(1));
+        LimitesDebitProperties proprietes = new LimitesDebitProperties();
+        proprietes.setRegles(List.of(login));
+        filtre = new LimiteurDebitFilter(proprietes, cacheJetons, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void doFilter_BeyondCapacity_ShouldReject429WithRetryAfter() throws Exception {
+        // Act
+        MockHttpServletResponse premiere = executer(requete("/api/auth/login", "10.0.0.1"));
+        MockHttpServletResponse deuxieme = executer(requete("/api/auth/login", "10.0.0.1"));
+        MockHttpServletResponse troisieme = executer(requete("/api/auth/login", "10.0.0.1"));
+
+        // Assert
+        assertEquals(200, premiere.getStatus());
+        assertEquals(200, deuxieme.getStatus());
+        assertEquals(429, troisieme.getStatus());
+        assertEquals("30", troisieme.getHeader("Retry-After"));
+        assertTrue(troisieme.getContentAsString().contains("\"status\":429"));
+        assertEquals(1.0, meterRegistry.get(LimiteurDebitFilter.METRIQUE).tag("motif", "/api/auth/login").counter().count());
+    }
+
+    @Test
+    void doFilter_ShouldKeepSeparateBucketsPerClient() throws Exception {
+        // Arrange
+        executer(requete("/api/auth/login", "10.0.0.1"));
+        executer(requete("/api/auth/login", "10.0.0.1"));
+
+        // Act
+        MockHttpServletResponse autreClient = executer(requete("/api/auth/login", "10.0.0.2"));
+
+        // Assert
+        assertEquals(200, autreClient.getStatus());
+    }
+
+    @Test
+    void doFilter_OnUnlimitedRoute_ShouldNotLimit() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockFilterChain chaine = new MockFilterChain();
+            filtre.doFilter(requete("/api/bornes", "10.0.0.1"), new MockHttpServletResponse(), chaine);
+            assertNotNull(chaine.getRequest());
+        }
+    }
+
+    @Test
+    void doFilter_WithVerifiedToken_ShouldKeyBySubjectAcrossAddresses() throws Exception {
+        // Arrange
+        String jeton = jwtService.generateToken(User.withUsername("jean.dupont@email.com").password("").roles("CLIENT").build());
+        cacheJetons.verifier(jeton);
+
+        // Act
+        executer(avecJeton(requete("/api/auth/login", "10.0.0.1"), jeton));
+        executer(avecJeton(requete("/api/auth/login", "10.0.0.2"), jeton));
+        MockHttpServletResponse troisieme = executer(avecJeton(requete("/api/auth/login", "10.0.0.3"), jeton));
+
+        // Assert
+        assertEquals(429, troisieme.getStatus());
+    }
+
+    @Test
+    void doFilter_WithUnverifiedToken_ShouldKeyByAddress() throws Exception {
+        // Arrange : un jeton jamais vérifié ne doit pas épuiser le seau de son sujet
+        String jeton = jwtService.generateToken(User.withUsername("jean.dupont@email.com").password("").roles("CLIENT").build());
+        executer(avecJeton(requete("/api/auth/login", "10.0.0.1"), jeton));
+        executer(avecJeton(requete("/api/auth/login", "10.0.0.1"), jeton));
+
+        // Act
+        MockHttpServletResponse autreAdresse = executer(avecJeton(requete("/api/auth/login", "10.0.0.2"), jeton));
+
+        // Assert
+        assertEquals(200, autreAdresse.getStatus());
+    }
+
+    private MockHttpServletResponse executer(MockHttpServletRequest requete) throws Exception {
+        MockHttpServletResponse reponse = new MockHttpServletResponse();
+        filtre.doFilter(requete, reponse, new MockFilterChain());
+        return reponse;
+    }
+
+    private static MockHttpServletRequest requete(String chemin, String adresse) {
+        MockHttpServletRequest requete = new MockHttpServletRequest("POST", chemin);
+        requete.setRemoteAddr(adresse);
+        return requete;
+    }
+
+    private static MockHttpServletRequest avecJeton(MockHttpServletRequest requete, String jeton) {
+        requete.addHeader("Authorization", "Bearer " + jeton);
+        return requete;
+    }
+}
@@ -0,0 +1,196 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.exception.CreneauIndisponibleException;
+import com.electricitybusiness.api.model.*;
+import com.electricitybusiness.api.repository.BlocageCreneauRepository;
+import com.electricitybusiness.api.repository.BorneRepository;
+import com.electricitybusiness.api.repository.LieuRepository;
+import com.electricitybusiness.api.repository.ReservationRepository;
+import com.electricitybusiness.api.repository.UtilisateurRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Blocages posés et lus par deux instances (verrous JVM et roues distincts) sur la même base,
+ * avec des transactions validées (pas de transaction de test).
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BlocagesCreneauxTest {
+
+    private static final LocalDateTime MIDI = LocalDateTime.now().plusDays(1).withHour(12).withMinute(0).withSecond(0).withNano(0);
+    private static final String MAIL = "test@example.com";
+
+    @Autowired
+    private BlocageCreneauRepository blocageCreneauRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private BorneRepository borneRepository;
+
+    @Autowired
+    private UtilisateurRepository utilisateurRepository;
+
+    @Autowired
+    private LieuRepository lieuRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private BlocagesCreneaux blocagesCreneaux;
+    private BlocagesCreneaux autreNoeud;
+    private Utilisateur utilisateur;
+    private Borne borne;
+    private Borne autreBorne;
+
+    @BeforeEach
+    void setUp() {
+        Lieu lieu = new Lieu();
+        lieu.setInstructions("Parking principal");
+        lieu = lieuRepository.save(lieu);
+
+        utilisateur = new Utilisateur();
+        utilisateur.setPseudo("test.user");
+        utilisateur.setNomUtilisateur("Test");
+        utilisateur.setPrenom("User");
+        utilisateur.setAdresseMail(MAIL);
+        utilisateur.setMotDePasse("password");
+        utilisateur.setDateDeNaissance(LocalDate.of(1990, 1, 1));
+        utilisateur.setRole(RoleUtilisateur.CLIENT);
+        utilisateur.setLieu(lieu);
+        utilisateur = utilisateurRepository.save(utilisateur);
+
+        borne = borne(lieu, "Borne 1");
+        autreBorne = borne(lieu, "Borne 2");
+
+        blocagesCreneaux = instance();
+        autreNoeud = instance();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blocageCreneauRepository.deleteAll();
+        reservationRepository.deleteAll();
+        borneRepository.deleteAll();
+        utilisateurRepository.deleteAll();
+        lieuRepository.deleteAll();
+    }
+
+    @Test
+    void bloquer_ShouldBlockOverlappingSlotsOnOtherInstances() {
+        // Act
+        BlocagesCreneaux.Blocage blocage = blocagesCreneaux.bloquer(borne.getNumBorne(), MIDI, MIDI.plusHours(1), MAIL);
+
+        // Assert
+        assertNotNull(blocage.getJeton());
+        assertTrue(autreNoeud.chevauche(borne.getNumBorne(), MIDI.plusMinutes(30), MIDI.plusHours(2), null));
+        assertFalse(autreNoeud.chevauche(borne.getNumBorne(), MIDI.plusMinutes(30), MIDI.plusHours(2), blocage.getJeton()));
+        assertFalse(autreNoeud.chevauche(borne.getNumBorne(), MIDI.plusHours(1), MIDI.plusHours(2), null));
+        assertFalse(autreNoeud.chevauche(autreBorne.getNumBorne(), MIDI, MIDI.plusHours(1), null));
+        assertThrows(CreneauIndisponibleException.class,
+                () -> autreNoeud.bloquer(borne.getNumBorne(), MIDI, MIDI.plusMinutes(15), MAIL));
+    }
+
+    @Test
+    void bloquer_WhenSlotAlreadyReserved_ShouldThrowConflict() {
+        // Arrange
+        Reservation reservation = new Reservation();
+        reservation.setDateDebut(MIDI);
+        reservation.setDateFin(MIDI.plusHours(2));
+        reservation.setPrixMinuteHisto(new BigDecimal("0.004167"));
+        reservation.setEtat(EtatReservation.ACCEPTEE);
+        reservation.setUtilisateur(utilisateur);
+        reservation.setBorne(borne);
+        reservationRepository.save(reservation);
+
+        // Act & Assert
+        assertThrows(CreneauIndisponibleException.class,
+                () -> blocagesCreneaux.bloquer(borne.getNumBorne(), MIDI, MIDI.plusHours(1), MAIL));
+        assertEquals(0, blocageCreneauRepository.count());
+    }
+
+    @Test
+    void bloquer_ShouldRejectPastTooLongAndTooManyHolds() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> blocagesCreneaux.bloquer(borne.getNumBorne(), MIDI.minusDays(3), MIDI.minusDays(2), MAIL));
+        assertThrows(IllegalArgumentException.class,
+                () -> blocagesCreneaux.bloquer(borne.getNumBorne(), MIDI, MIDI.plusYears(1), MAIL));
+        blocagesCreneaux.bloquer(borne.getNumBorne(), MIDI, MIDI.plusHours(1), MAIL);
+        autreNoeud.bloquer(borne.getNumBorne(), MIDI.plusHours(1), MIDI.plusHours(2), MAIL);
+        assertThrows(CreneauIndisponibleException.class,
+                () -> autreNoeud.bloquer(autreBorne.getNumBorne(), MIDI, MIDI.plusHours(1), MAIL));
+        assertEquals(2, blocageCreneauRepository.count());
+    }
+
+    @Test
+    void liberer_FromOtherInstance_ShouldFreeSlot() {
+        // Arrange
+        BlocagesCreneaux.Blocage blocage = blocagesCreneaux.bloquer(borne.getNumBorne(), MIDI, MIDI.plusHours(1), MAIL);
+
+        // Act & Assert
+        assertTrue(autreNoeud.liberer(blocage.getJeton()));
+        assertFalse(blocagesCreneaux.liberer(blocage.getJeton()));
+        assertFalse(blocagesCreneaux.chevauche(borne.getNumBorne(), MIDI, MIDI.plusHours(1), null));
+    }
+
+    @Test
+    void expirer_ShouldDeleteHoldsAfterTheirDuration() {
+        // Arrange
+        blocagesCreneaux.bloquer(borne.getNumBorne(), MIDI, MIDI.plusHours(1), MAIL);
+        long maintenant = System.currentTimeMillis();
+
+        // Act & Assert
+        assertEquals(0, blocagesCreneaux.expirer(maintenant + 60_000));
+        assertEquals(1, blocagesCreneaux.nombre());
+        assertEquals(1, blocagesCreneaux.expirer(maintenant + 11 * 60_000));
+        assertEquals(0, blocagesCreneaux.nombre());
+        assertEquals(0, blocageCreneauRepository.count());
+    }
+
+    @Test
+    void purger_ShouldIgnoreThenDeleteExpiredRowsLeftByStoppedInstances() {
+        // Arrange : ligne d'une instance arrêtée avant l'échéance
+        blocageCreneauRepository.save(new BlocageCreneau("jeton", borne.getNumBorne(), utilisateur.getNumUtilisateur(),
+                MIDI, MIDI.plusHours(1), LocalDateTime.now().minusMinutes(1)));
+
+        // Act & Assert
+        assertFalse(blocagesCreneaux.chevauche(borne.getNumBorne(), MIDI, MIDI.plusHours(1), null));
+        assertTrue(blocagesCreneaux.blocages(List.of(borne.getNumBorne())).isEmpty());
+        blocagesCreneaux.purger();
+        assertEquals(0, blocageCreneauRepository.count());
+    }
+
+    private BlocagesCreneaux instance() {
+        return new BlocagesCreneaux(blocageCreneauRepository, reservationRepository, borneRepository, utilisateurRepository,
+                new VerrousBornes(64), transactionTemplate, 10, 2, 480, 1000);
+    }
+
+    private Borne borne(Lieu lieu, String nom) {
+        Borne borne = new Borne();
+        borne.setNomBorne(nom);
+        borne.setLatitude(new BigDecimal("48.8566"));
+        borne.setLongitude(new BigDecimal("2.3522"));
+        borne.setPuissance(new BigDecimal("22.0"));
+        borne.setEtat(EtatBorne.ACTIVE);
+        borne.setOccupee(false);
+        borne.setSurPied(true);
+        borne.setLieu(lieu);
+        return borneRepository.save(borne);
+    }
+}
@@ -0,0 +1,141 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.dto.BornePosition;
+import com.electricitybusiness.api.model.Borne;
+import com.electricitybusiness.api.model.EtatBorne;
+import com.electricitybusiness.api.repository.BorneRepository;
+import com.electricitybusiness.api.util.BorneUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BornePlusProchesIndexTest {
+
+    @Mock
+    private BorneRepository borneRepository;
+
+    @InjectMocks
+    private BornePlusProchesIndex bornePlusProchesIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(borneRepository.findAllPositions()).thenReturn(Arrays.asList(
+            position(1L, "48.8566", "2.3522", EtatBorne.ACTIVE, false),
+            position(2L, "48.8600", "2.3500", EtatBorne.ACTIVE, true),       // occupée
+            position(3L, "48.8700", "2.3600", EtatBorne.MAINTENANCE, false), // hors service
+            position(4L, "48.9000", "2.4000", EtatBorne.ACTIVE, false),
+            position(5L, "45.7640", "4.8357", EtatBorne.ACTIVE, false)
+        ));
+        bornePlusProchesIndex.recharger();
+    }
+
+    @Test
+    void plusProches_ShouldSkipUnavailableBornesAndSortByDistance() {
+        List<BornePlusProchesIndex.Voisin> result = bornePlusProchesIndex.plusProches(2.3522, 48.8566, 3);
+
+        assertEquals(Arrays.asList(1L, 4L, 5L), ids(result));
+        assertEquals(0.0, result.get(0).getDistance(), 1e-6);
+        assertTrue(result.get(1).getDistance() < result.get(2).getDistance());
+    }
+
+    @Test
+    void plusProches_WhenKExceedsAvailableBornes_ShouldReturnAllAvailable() {
+        assertEquals(Arrays.asList(1L, 4L, 5L), ids(bornePlusProchesIndex.plusProches(2.3522, 48.8566, 10)));
+    }
+
+    @Test
+    void indexer_ShouldApplyAvailabilityAndPositionChanges() {
+        Borne borne = new Borne();
+        borne.setNumBorne(2L);
+        borne.setLatitude(new BigDecimal("45.7641"));
+        borne.setLongitude(new BigDecimal("4.8358"));
+        borne.setEtat(EtatBorne.ACTIVE);
+        borne.setOccupee(false);
+
+        bornePlusProchesIndex.indexer(borne);
+        bornePlusProchesIndex.changerDisponibilite(5L, false);
+
+        assertEquals(Arrays.asList(2L), ids(bornePlusProchesIndex.plusProches(4.8357, 45.7640, 1)));
+    }
+
+    @Test
+    void rechargerPeriodiquement_ShouldFollowBornesChangedByOtherInstances() {
+        // Ailleurs : la borne 1 est passée en maintenance, la borne 2 libérée
+        when(borneRepository.findAllPositions()).thenReturn(Arrays.asList(
+            position(1L, "48.8566", "2.3522", EtatBorne.MAINTENANCE, false),
+            position(2L, "48.8600", "2.3500", EtatBorne.ACTIVE, false),
+            position(4L, "48.9000", "2.4000", EtatBorne.ACTIVE, false)
+        ));
+
+        bornePlusProchesIndex.rechargerPeriodiquement();
+
+        assertEquals(Arrays.asList(2L, 4L), ids(bornePlusProchesIndex.plusProches(2.3522, 48.8566, 3)));
+    }
+
+    @Test
+    void retirer_ShouldRemoveBorne() {
+        bornePlusProchesIndex.retirer(1L);
+
+        assertEquals(Arrays.asList(4L), ids(bornePlusProchesIndex.plusProches(2.3522, 48.8566, 1)));
+    }
+
+    @Test
+    void plusProches_ShouldMatchExhaustiveScan() {
+        Random random = new Random(7);
+        List<BornePosition> positions = new ArrayList<>();
+        for (long i = 1; i <= 3000; i++) {
+            positions.add(position(i,
+                String.valueOf(-80 + random.nextDouble() * 160),
+                String.valueOf(-180 + random.nextDouble() * 360),
+                random.nextInt(4) == 0 ? EtatBorne.INACTIVE : EtatBorne.ACTIVE,
+                random.nextInt(5) == 0));
+        }
+        when(borneRepository.findAllPositions()).thenReturn(positions);
+        bornePlusProchesIndex.recharger();
+
+        for (int i = 0; i < 50; i++) {
+            double latitude = -80 + random.nextDouble() * 160;
+            double longitude = -180 + random.nextDouble() * 360;
+            int k = 1 + random.nextInt(20);
+
+            List<Long> attendu = positions.stream()
+                .filter(p -> p.getEtat() == EtatBorne.ACTIVE && !p.getOccupee())
+                .sorted(Comparator.comparingDouble((BornePosition p) -> BorneUtils.distance(longitude, latitude,
+                    p.getLongitude().doubleValue(), p.getLatitude().doubleValue())))
+                .limit(k)
+                .map(BornePosition::getNumBorne)
+                .collect(Collectors.toList());
+
+            assertEquals(attendu, ids(bornePlusProchesIndex.plusProches(longitude, latitude, k)));
+        }
+    }
+
+    private static List<Long> ids(List<BornePlusProchesIndex.Voisin> voisins) {
+        return voisins.stream().map(BornePlusProchesIndex.Voisin::getNumBorne).collect(Collectors.toList());
+    }
+
+    private static BornePosition position(Long numBorne, String latitude, String longitude, EtatBorne etat, boolean occupee) {
+        return new BornePosition() {
+            public Long getNumBorne() { return numBorne; }
+            public BigDecimal getLatitude() { return new BigDecimal(latitude); }
+            public BigDecimal getLongitude() { return new BigDecimal(longitude); }
+            public EtatBorne getEtat() { return etat; }
+            public Boolean getOccupee() { return occupee; }
+        };
+    }
+}
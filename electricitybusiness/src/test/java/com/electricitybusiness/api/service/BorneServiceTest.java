@@ -1,24 +1,40 @@
 package com.electricitybusiness.api.service;
 
+import com.electricitybusiness.api.dto.BorneDTO;
+import com.electricitybusiness.api.dto.BorneProcheDTO;
+import com.electricitybusiness.api.dto.BorneVue;
+import com.electricitybusiness.api.dto.BornePosition;
+import com.electricitybusiness.api.dto.GrilleDisponibiliteDTO;
+import com.electricitybusiness.api.dto.PageCurseur;
+import com.electricitybusiness.api.dto.ReservationCreneau;
+import com.electricitybusiness.api.mapper.EntityMapper;
 import com.electricitybusiness.api.model.*;
 import com.electricitybusiness.api.repository.*;
-import com.electricitybusiness.api.util.BorneUtils;
+import com.electricitybusiness.api.util.Pagination;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +52,18 @@ class BorneServiceTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private BorneSpatialIndex borneSpatialIndex;
+
+    @Mock
+    private BornePlusProchesIndex bornePlusProchesIndex;
+
+    @Spy
+    private EntityMapper mapper = new EntityMapper();
+
+    @Mock
+    private BlocagesCreneaux blocagesCreneaux;
+
     @InjectMocks
     private BorneService borneService;
 
@@ -92,6 +120,51 @@ class BorneServiceTest {
         verify(borneRepository, times(1)).findAll();
     }
 
+    @Test
+    void findPage_WhenMoreRowsThanPageSize_ShouldReturnCursorOfLastElement() {
+        // Arrange
+        when(borneRepository.findVuesApres(0L, Limit.of(3)))
+                .thenReturn(Arrays.asList(vue(borne1), vue(borne2), vue(3L, "0", "0")));
+
+        // Act
+        PageCurseur<BorneDTO> page = borneService.findPage(null, 2);
+
+        // Assert
+        assertEquals(Arrays.asList(1L, 2L), page.getElements().stream().map(BorneDTO::getNumBorne).toList());
+        assertEquals(2L, Pagination.apres(page.getSuivant()));
+    }
+
+    @Test
+    void findPage_WithCursor_ShouldResumeAfterKeyAndEndOnLastPage() {
+        // Arrange
+        when(borneRepository.findVuesApres(1L, Limit.of(3)))
+                .thenReturn(Arrays.asList(vue(borne2)));
+
+        // Act
+        PageCurseur<BorneDTO> page = borneService.findPage(Pagination.curseur(1L), 2);
+
+        // Assert
+        assertEquals(1, page.getElements().size());
+        assertEquals("Borne-A002", page.getElements().get(0).getNomBorne());
+        assertEquals(1L, page.getElements().get(0).getLieu().getNumLieu());
+        assertNull(page.getSuivant());
+        verify(borneRepository, never()).findAll();
+    }
+
+    @Test
+    void findDTOById_ShouldMapProjectionWithoutLoadingEntity() {
+        // Arrange
+        when(borneRepository.findVueById(1L)).thenReturn(Optional.of(vue(borne1)));
+
+        // Act
+        Optional<BorneDTO> result = borneService.findDTOById(1L);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(mapper.toDTO(borne1), result.get());
+        verify(borneRepository, never()).findById(any());
+    }
+
     @Test
     void findById_WhenBorneExists_ShouldReturnBorne() {
         // Arrange
@@ -133,6 +206,7 @@ class BorneServiceTest {
         assertEquals(borne1.getNumBorne(), result.getNumBorne());
         assertEquals(borne1.getNomBorne(), result.getNomBorne());
         verify(borneRepository, times(1)).save(borne1);
+        verify(borneSpatialIndex, times(1)).indexer(borne1);
     }
 
     @Test
@@ -168,6 +242,8 @@ class BorneServiceTest {
 
         // Assert
         verify(borneRepository, times(1)).deleteById(1L);
+        verify(borneSpatialIndex, times(1)).retirer(1L);
+        verify(bornePlusProchesIndex, times(1)).retirer(1L);
     }
 
     @Test
@@ -199,22 +275,71 @@ class BorneServiceTest {
     @Test
     void findNearbyBornes_ShouldReturnBornesInRadius() {
         // Arrange
-        List<Borne> allBornes = Arrays.asList(borne1, borne2);
-        when(borneRepository.findAll()).thenReturn(allBornes);
+        when(borneSpatialIndex.rechercher(2.3522, 48.8566, 1000.0)).thenReturn(Arrays.asList(1L));
+        when(borneRepository.findVuesByNumBorneIn(Arrays.asList(1L))).thenReturn(Arrays.asList(vue(borne1)));
 
-        try (MockedStatic<BorneUtils> borneUtils = mockStatic(BorneUtils.class)) {
-            borneUtils.when(() -> BorneUtils.getNearbyBornes(anyList(), anyDouble(), anyDouble(), anyDouble()))
-                    .thenReturn(Arrays.asList(borne1));
+        // Act
+        List<BorneDTO> result = borneService.findNearbyBornes(2.3522, 48.8566, 1000.0);
 
-            // Act
-            List<Borne> result = borneService.findNearbyBornes(2.3522, 48.8566, 1000.0);
+        // Assert
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(borne1.getNumBorne(), result.get(0).getNumBorne());
+        verify(borneRepository, never()).findAll();
+    }
 
-            // Assert
-            assertNotNull(result);
-            assertEquals(1, result.size());
-            assertEquals(borne1.getNumBorne(), result.get(0).getNumBorne());
-            verify(borneRepository, times(1)).findAll();
-        }
+    @Test
+    void findNearbyBornes_WhenNoBorneInRadius_ShouldNotQueryRepository() {
+        // Arrange
+        when(borneSpatialIndex.rechercher(2.3522, 48.8566, 10.0)).thenReturn(List.of());
+
+        // Act
+        List<BorneDTO> result = borneService.findNearbyBornes(2.3522, 48.8566, 10.0);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(borneRepository);
+    }
+
+    @Test
+    void findNearbyBornes_WhenIndexDisabled_ShouldPrefilterOnBoundingBox() {
+        // Arrange
+        ReflectionTestUtils.setField(borneService, "indexActif", false);
+        BorneVue lointaine = vue(3L, "48.8656", "2.3655"); // dans la boîte, hors du cercle de 1 km
+        when(borneRepository.findInBoundingBox(any(), any(), any(), any())).thenReturn(Arrays.asList(vue(borne2), lointaine, vue(borne1)));
+
+        // Act
+        List<BorneDTO> result = borneService.findNearbyBornes(2.3522, 48.8566, 1000.0);
+
+        // Assert
+        assertEquals(Arrays.asList(1L, 2L), result.stream().map(BorneDTO::getNumBorne).toList());
+        verify(borneRepository, times(1)).findInBoundingBox(any(), any(), any(), any());
+        verify(borneRepository, never()).findAll();
+        verifyNoInteractions(borneSpatialIndex);
+    }
+
+    @Test
+    void findNearestAvailableBornes_ShouldReturnBornesOrderedByDistance() {
+        // Arrange
+        when(bornePlusProchesIndex.plusProches(2.3522, 48.8566, 2)).thenReturn(Arrays.asList(
+                new BornePlusProchesIndex.Voisin(2L, 12.5),
+                new BornePlusProchesIndex.Voisin(1L, 40.0)));
+        when(borneRepository.findVuesByNumBorneIn(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(vue(borne1), vue(borne2)));
+
+        // Act
+        List<BorneProcheDTO> result = borneService.findNearestAvailableBornes(2.3522, 48.8566, 2);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getBorne().getNumBorne());
+        assertEquals(12.5, result.get(0).getDistance());
+        assertEquals(1L, result.get(1).getBorne().getNumBorne());
+    }
+
+    @Test
+    void findNearestAvailableBornes_WithInvalidK_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> borneService.findNearestAvailableBornes(2.3522, 48.8566, 0));
+        verifyNoInteractions(bornePlusProchesIndex);
     }
 
     @Test
@@ -222,18 +347,129 @@ class BorneServiceTest {
         // Arrange
         LocalDateTime dateDebut = LocalDateTime.now();
         LocalDateTime dateFin = dateDebut.plusHours(2);
-        
-        when(adresseRepository.findByVille("Paris")).thenReturn(Arrays.asList(adresse));
-        when(borneRepository.findByLieu(lieu)).thenReturn(Arrays.asList(borne1));
+
+        when(borneRepository.findDisponiblesByVille(eq("Paris"), eq(dateDebut), eq(dateFin), eq(EtatReservation.bloquants()), any()))
+                .thenReturn(Arrays.asList(vue(borne1), vue(borne2)));
 
         // Act
-        List<Borne> result = borneService.findAvailableBornesInCityAtDate("Paris", dateDebut, dateFin);
+        List<BorneDTO> result = borneService.findAvailableBornesInCityAtDate("Paris", dateDebut, dateFin);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(2, result.size());
         assertEquals(borne1.getNumBorne(), result.get(0).getNumBorne());
-        verify(adresseRepository, times(1)).findByVille("Paris");
-        verify(borneRepository, times(1)).findByLieu(lieu);
+        verify(borneRepository, times(1)).findDisponiblesByVille(eq("Paris"), eq(dateDebut), eq(dateFin), eq(EtatReservation.bloquants()), any());
+        verifyNoInteractions(adresseRepository, blocagesCreneaux);
+    }
+
+    @Test
+    void getGrilleDisponibilites_ShouldCombineBornesWithAndOr() {
+        // Arrange
+        LocalDate jour = LocalDate.of(2030, 6, 1);
+        when(borneRepository.findPositionsByNumBorneIn(any())).thenReturn(List.of(position(1L, EtatBorne.ACTIVE), position(2L, EtatBorne.ACTIVE)));
+        when(reservationRepository.findCreneauxByNumBorneInAndPeriode(any(), eq(jour.atStartOfDay()), eq(jour.plusDays(1).atStartOfDay()), eq(EtatReservation.bloquants())))
+                .thenReturn(List.of(creneau(1L, jour.atTime(0, 0), jour.atTime(0, 30)), creneau(2L, jour.atTime(0, 15), jour.atTime(0, 45))));
+
+        // Act
+        GrilleDisponibiliteDTO grille = borneService.getGrilleDisponibilites(Arrays.asList(1L, 2L, 1L), jour, 1);
+
+        // Assert
+        assertEquals(15, grille.getDureeCreneau());
+        assertEquals(2, grille.getBornes().size());
+        assertEquals(96, grille.getToutesLibres().length());
+        assertTrue(grille.getBornes().get(1L).startsWith("0011"));
+        assertTrue(grille.getBornes().get(2L).startsWith("1001"));
+        assertTrue(grille.getToutesLibres().startsWith("00011"));
+        assertTrue(grille.getAuMoinsUneLibre().startsWith("1011"));
+        verify(reservationRepository, times(1)).findCreneauxByNumBorneInAndPeriode(any(), any(), any(), any());
+        assertTrue(grille.getInconnues().isEmpty());
+    }
+
+    @Test
+    void getGrilleDisponibilites_ShouldMaskUnknownInactiveAndHeldBornes() {
+        // Arrange
+        LocalDate jour = LocalDate.of(2030, 6, 1);
+        when(borneRepository.findPositionsByNumBorneIn(any())).thenReturn(List.of(position(1L, EtatBorne.ACTIVE), position(2L, EtatBorne.HORS_SERVICE)));
+        when(blocagesCreneaux.blocages(any())).thenReturn(List.of(new BlocagesCreneaux.Blocage("jeton", 1L,
+                jour.atTime(0, 15), jour.atTime(0, 40), LocalDateTime.now().plusMinutes(10))));
+
+        // Act
+        GrilleDisponibiliteDTO grille = borneService.getGrilleDisponibilites(Arrays.asList(1L, 2L, 3L), jour, 1);
+
+        // Assert : le blocage couvre partiellement le troisième créneau, la borne hors service n'a aucun créneau libre
+        assertEquals(List.of(3L), grille.getInconnues());
+        assertEquals(2, grille.getBornes().size());
+        assertTrue(grille.getBornes().get(1L).startsWith("1001"));
+        assertFalse(grille.getBornes().get(2L).contains("1"));
+        assertFalse(grille.getToutesLibres().contains("1"));
+        assertTrue(grille.getAuMoinsUneLibre().startsWith("1001"));
+        verify(reservationRepository).findCreneauxByNumBorneInAndPeriode(eq(Set.of(1L, 2L)), any(), any(), any());
+    }
+
+    @Test
+    void getGrilleDisponibilites_ShouldDropPastDaysAndElapsedSlots() {
+        // Arrange
+        LocalDate aujourdhui = LocalDate.now();
+        when(borneRepository.findPositionsByNumBorneIn(any())).thenReturn(List.of(position(1L, EtatBorne.ACTIVE)));
+
+        // Act
+        GrilleDisponibiliteDTO grille = borneService.getGrilleDisponibilites(List.of(1L), aujourdhui.minusDays(2), 3);
+
+        // Assert : seul aujourd'hui reste, sans son premier créneau déjà commencé
+        assertEquals(aujourdhui, grille.getPremierJour());
+        assertEquals(1, grille.getNbJours());
+        assertEquals(96, grille.getBornes().get(1L).length());
+        assertEquals('0', grille.getBornes().get(1L).charAt(0));
+        verify(reservationRepository).findCreneauxByNumBorneInAndPeriode(any(), eq(aujourdhui.atStartOfDay()), eq(aujourdhui.plusDays(1).atStartOfDay()), any());
+        assertThrows(IllegalArgumentException.class,
+                () -> borneService.getGrilleDisponibilites(List.of(1L), aujourdhui.minusDays(2), 2));
+    }
+
+    @Test
+    void getGrilleDisponibilites_WhenTooManyDays_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> borneService.getGrilleDisponibilites(Arrays.asList(1L), LocalDate.of(2030, 6, 1), 15));
+        verifyNoInteractions(borneRepository, reservationRepository);
+    }
+
+    // Projection BorneVue construite sur une map, comme celles que renvoie le repository
+    private static BorneVue vue(Borne borne) {
+        Map<String, Object> colonnes = new HashMap<>();
+        colonnes.put("numBorne", borne.getNumBorne());
+        colonnes.put("nomBorne", borne.getNomBorne());
+        colonnes.put("latitude", borne.getLatitude());
+        colonnes.put("longitude", borne.getLongitude());
+        colonnes.put("puissance", borne.getPuissance());
+        colonnes.put("surPied", borne.getSurPied());
+        colonnes.put("etat", borne.getEtat());
+        colonnes.put("occupee", borne.getOccupee());
+        colonnes.put("dateCreation", borne.getDateCreation());
+        colonnes.put("numLieu", borne.getLieu().getNumLieu());
+        colonnes.put("instructionsLieu", borne.getLieu().getInstructions());
+        return new SpelAwareProxyProjectionFactory().createProjection(BorneVue.class, colonnes);
+    }
+
+    private static BornePosition position(Long numBorne, EtatBorne etat) {
+        Map<String, Object> colonnes = new HashMap<>();
+        colonnes.put("numBorne", numBorne);
+        colonnes.put("etat", etat);
+        colonnes.put("occupee", false);
+        return new SpelAwareProxyProjectionFactory().createProjection(BornePosition.class, colonnes);
+    }
+
+    private static ReservationCreneau creneau(Long numBorne, LocalDateTime debut, LocalDateTime fin) {
+        Map<String, Object> colonnes = new HashMap<>();
+        colonnes.put("numBorne", numBorne);
+        colonnes.put("dateDebut", debut);
+        colonnes.put("dateFin", fin);
+        return new SpelAwareProxyProjectionFactory().createProjection(ReservationCreneau.class, colonnes);
+    }
+
+    private static BorneVue vue(Long numBorne, String latitude, String longitude) {
+        Map<String, Object> colonnes = new HashMap<>();
+        colonnes.put("numBorne", numBorne);
+        colonnes.put("latitude", new BigDecimal(latitude));
+        colonnes.put("longitude", new BigDecimal(longitude));
+        return new SpelAwareProxyProjectionFactory().createProjection(BorneVue.class, colonnes);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.dto.BornePosition;
+import com.electricitybusiness.api.model.Borne;
+import com.electricitybusiness.api.model.EtatBorne;
+import com.electricitybusiness.api.repository.BorneRepository;
+import com.electricitybusiness.api.util.BorneUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BorneSpatialIndexTest {
+
+    @Mock
+    private BorneRepository borneRepository;
+
+    @InjectMocks
+    private BorneSpatialIndex borneSpatialIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(borneRepository.findAllPositions()).thenReturn(Arrays.asList(
+            position(1L, "48.8566", "2.3522"),   // Paris
+            position(2L, "48.8600", "2.3500"),   // Paris, ~400 m
+            position(3L, "45.7640", "4.8357"),   // Lyon
+            position(4L, "-16.5000", "179.9990"), // Fidji, côté est de l'antiméridien
+            position(5L, "-16.5000", "-179.9990") // Fidji, côté ouest de l'antiméridien
+        ));
+        borneSpatialIndex.recharger();
+    }
+
+    @Test
+    void rechercher_ShouldReturnOnlyBornesInRadius() {
+        List<Long> result = borneSpatialIndex.rechercher(2.3522, 48.8566, 1000.0);
+
+        assertEquals(Arrays.asList(1L, 2L), result);
+    }
+
+    @Test
+    void rechercher_ShouldHandleAntimeridian() {
+        List<Long> result = borneSpatialIndex.rechercher(180.0, -16.5, 1000.0);
+
+        assertEquals(Arrays.asList(4L, 5L), result);
+    }
+
+    @Test
+    void rechercher_WithHugeRadius_ShouldReturnEveryBorne() {
+        List<Long> result = borneSpatialIndex.rechercher(0.0, 0.0, 2.1e7);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), result);
+    }
+
+    @Test
+    void indexer_ShouldMoveBorne() {
+        Borne borne = new Borne();
+        borne.setNumBorne(3L);
+        borne.setLatitude(new BigDecimal("48.8570"));
+        borne.setLongitude(new BigDecimal("2.3525"));
+
+        borneSpatialIndex.indexer(borne);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), borneSpatialIndex.rechercher(2.3522, 48.8566, 1000.0));
+        assertTrue(borneSpatialIndex.rechercher(4.8357, 45.7640, 1000.0).isEmpty());
+    }
+
+    @Test
+    void retirer_ShouldRemoveBorne() {
+        borneSpatialIndex.retirer(2L);
+
+        assertEquals(Arrays.asList(1L), borneSpatialIndex.rechercher(2.3522, 48.8566, 1000.0));
+    }
+
+    @Test
+    void rechargerPeriodiquement_ShouldFollowBornesChangedByOtherInstances() {
+        // Une autre instance a supprimé la borne 2 et créé la borne 6 à Paris
+        when(borneRepository.findAllPositions()).thenReturn(Arrays.asList(
+            position(1L, "48.8566", "2.3522"),
+            position(6L, "48.8570", "2.3525")
+        ));
+
+        borneSpatialIndex.rechargerPeriodiquement();
+
+        assertEquals(Arrays.asList(1L, 6L), borneSpatialIndex.rechercher(2.3522, 48.8566, 1000.0));
+        verify(borneRepository, times(2)).findAllPositions();
+    }
+
+    @Test
+    void rechercher_ShouldMatchExhaustiveScan() {
+        Random random = new Random(42);
+        List<BornePosition> positions = new ArrayList<>();
+        for (long i = 1; i <= 2000; i++) {
+            positions.add(position(i,
+                String.valueOf(42 + random.nextDouble() * 8),
+                String.valueOf(-4 + random.nextDouble() * 12)));
+        }
+        when(borneRepository.findAllPositions()).thenReturn(positions);
+        borneSpatialIndex.recharger();
+
+        for (int i = 0; i < 50; i++) {
+            double latitude = 42 + random.nextDouble() * 8;
+            double longitude = -4 + random.nextDouble() * 12;
+            double rayon = random.nextDouble() * 50_000;
+
+            List<Long> attendu = new ArrayList<>();
+            for (BornePosition position : positions) {
+                if (BorneUtils.distance(longitude, latitude, position.getLongitude().doubleValue(), position.getLatitude().doubleValue()) <= rayon) {
+                    attendu.add(position.getNumBorne());
+                }
+            }
+
+            assertEquals(attendu, borneSpatialIndex.rechercher(longitude, latitude, rayon));
+        }
+    }
+
+    private static BornePosition position(Long numBorne, String latitude, String longitude) {
+        return new BornePosition() {
+            public Long getNumBorne() { return numBorne; }
+            public BigDecimal getLatitude() { return new BigDecimal(latitude); }
+            public BigDecimal getLongitude() { return new BigDecimal(longitude); }
+            public EtatBorne getEtat() { return EtatBorne.ACTIVE; }
+            public Boolean getOccupee() { return false; }
+        };
+    }
+}
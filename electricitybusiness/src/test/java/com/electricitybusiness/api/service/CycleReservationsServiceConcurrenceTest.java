@@ -0,0 +1,211 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.model.*;
+import com.electricitybusiness.api.repository.BorneRepository;
+import com.electricitybusiness.api.repository.LieuRepository;
+import com.electricitybusiness.api.repository.ReservationRepository;
+import com.electricitybusiness.api.repository.UtilisateurRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Deux instances du cycle exécutées en même temps, chacune dans ses propres transactions validées
+ * (pas de transaction de test) : les réclamations FOR UPDATE SKIP LOCKED doivent être disjointes
+ * et les index rafraîchis après le commit.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CycleReservationsServiceConcurrenceTest {
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private BorneRepository borneRepository;
+
+    @Autowired
+    private LieuRepository lieuRepository;
+
+    @Autowired
+    private UtilisateurRepository utilisateurRepository;
+
+    private final ExecutorService executeur = Executors.newSingleThreadExecutor();
+    private LocalDateTime origine;
+    private List<Long> numBornes;
+
+    @BeforeEach
+    void setUp() {
+        origine = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        numBornes = transactionTemplate.execute(statut -> {
+            Lieu lieu = new Lieu();
+            lieu.setInstructions("Parking principal");
+            lieu = lieuRepository.save(lieu);
+
+            Utilisateur utilisateur = new Utilisateur();
+            utilisateur.setPseudo("test.user");
+            utilisateur.setNomUtilisateur("Test");
+            utilisateur.setPrenom("User");
+            utilisateur.setAdresseMail("test@example.com");
+            utilisateur.setMotDePasse("password");
+            utilisateur.setDateDeNaissance(LocalDate.of(1990, 1, 1));
+            utilisateur.setRole(RoleUtilisateur.CLIENT);
+            utilisateur.setLieu(lieu);
+            utilisateur = utilisateurRepository.save(utilisateur);
+
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Borne borne = new Borne();
+                borne.setNomBorne("B" + i);
+                borne.setLatitude(new BigDecimal("48.8566"));
+                borne.setLongitude(new BigDecimal("2.3522"));
+                borne.setPuissance(new BigDecimal("22.0"));
+                borne.setEtat(EtatBorne.ACTIVE);
+                borne.setOccupee(false);
+                borne.setSurPied(true);
+                borne.setLieu(lieu);
+                borne = borneRepository.save(borne);
+                ids.add(borne.getNumBorne());
+
+                Reservation reservation = new Reservation();
+                reservation.setDateDebut(origine.plusHours(1));
+                reservation.setDateFin(origine.plusHours(2));
+                reservation.setPrixMinuteHisto(new BigDecimal("0.004167"));
+                reservation.setEtat(EtatReservation.ACCEPTEE);
+                reservation.setMontantTotal(new BigDecimal("15.0"));
+                reservation.setUtilisateur(utilisateur);
+                reservation.setBorne(borne);
+                reservationRepository.save(reservation);
+            }
+            return ids;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executeur.shutdownNow();
+        reservationRepository.deleteAll();
+        borneRepository.deleteAll();
+        utilisateurRepository.deleteAll();
+        lieuRepository.deleteAll();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void executer_OnTwoInstancesAtOnce_ShouldClaimDisjointReservationsAndRefreshIndexes() throws Exception {
+        // Arrange : l'instance A garde ses lignes verrouillées tant que B n'a pas terminé
+        CountDownLatch reclameesParA = new CountDownLatch(1);
+        CountDownLatch finB = new CountDownLatch(1);
+        ReservationRepository repositoryA = mock(ReservationRepository.class, AdditionalAnswers.delegatesTo(reservationRepository));
+        doAnswer(invocation -> {
+            reclameesParA.countDown();
+            assertThat(finB.await(10, TimeUnit.SECONDS)).isTrue();
+            return reservationRepository.updateEtat(invocation.getArgument(0), invocation.getArgument(1));
+        }).when(repositoryA).updateEtat(anyCollection(), any());
+        ReservationRepository repositoryB = mock(ReservationRepository.class, AdditionalAnswers.delegatesTo(reservationRepository));
+        BornePlusProchesIndex indexA = mock(BornePlusProchesIndex.class);
+        BornePlusProchesIndex indexB = mock(BornePlusProchesIndex.class);
+        CycleReservationsService instanceA = instance(repositoryA, indexA);
+        CycleReservationsService instanceB = instance(repositoryB, indexB);
+
+        // Act
+        Future<Integer> traiteesParA = executeur.submit(() -> instanceA.executer(origine.plusMinutes(90)));
+        assertThat(reclameesParA.await(10, TimeUnit.SECONDS)).isTrue();
+        int traiteesParB = instanceB.executer(origine.plusMinutes(90));
+        verifyNoInteractions(indexA); // A n'a pas encore validé sa transaction
+        finB.countDown();
+
+        // Assert
+        assertThat(traiteesParA.get(10, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(traiteesParB).isEqualTo(2);
+        ArgumentCaptor<Collection<Long>> idsA = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Collection<Long>> idsB = ArgumentCaptor.forClass(Collection.class);
+        verify(repositoryA).updateEtat(idsA.capture(), eq(EtatReservation.EN_COURS));
+        verify(repositoryB).updateEtat(idsB.capture(), eq(EtatReservation.EN_COURS));
+        assertThat(idsA.getValue()).doesNotContainAnyElementsOf(idsB.getValue());
+        assertThat(reservationRepository.findAll()).extracting(Reservation::getEtat).containsOnly(EtatReservation.EN_COURS);
+        assertThat(borneRepository.findAll()).extracting(Borne::getOccupee).containsOnly(true);
+
+        List<Long> bornesA = reservationRepository.findNumBornesByNumReservationIn(idsA.getValue());
+        List<Long> bornesB = reservationRepository.findNumBornesByNumReservationIn(idsB.getValue());
+        assertThat(bornesA).hasSize(2);
+        assertThat(bornesB).hasSize(2);
+        bornesA.forEach(numBorne -> verify(indexA).changerDisponibilite(numBorne, false));
+        bornesB.forEach(numBorne -> verify(indexB).changerDisponibilite(numBorne, false));
+    }
+
+    @Test
+    void executer_WhenReservationsEnd_ShouldRefreshIndexesAfterCommit() {
+        // Arrange
+        BornePlusProchesIndex bornePlusProchesIndex = mock(BornePlusProchesIndex.class);
+        CycleReservationsService instance = instance(reservationRepository, bornePlusProchesIndex);
+        instance.executer(origine.plusMinutes(90));
+
+        // Act
+        int traitees = instance.executer(origine.plusHours(3));
+
+        // Assert
+        assertThat(traitees).isEqualTo(4);
+        assertThat(borneRepository.findAll()).extracting(Borne::getOccupee).containsOnly(false);
+        numBornes.forEach(numBorne -> verify(bornePlusProchesIndex).changerDisponibilite(numBorne, true));
+    }
+
+    @Test
+    void synchroniser_OnInstanceThatClaimedNothing_ShouldFollowOccupancyChangedElsewhere() {
+        // Arrange : B ne traite aucun lot, A démarre puis termine toutes les réservations
+        BornePlusProchesIndex indexB = mock(BornePlusProchesIndex.class);
+        CycleReservationsService instanceA = instance(reservationRepository, mock(BornePlusProchesIndex.class));
+        CycleReservationsService instanceB = instance(reservationRepository, indexB);
+        instanceA.executer(origine.plusMinutes(90));
+
+        // Act
+        int relues = instanceB.synchroniser();
+
+        // Assert
+        assertThat(relues).isEqualTo(4);
+        numBornes.forEach(numBorne -> verify(indexB).changerDisponibilite(numBorne, false));
+
+        // Act : fin des réservations, traitée par A
+        instanceA.executer(origine.plusHours(3));
+        instanceB.synchroniser();
+
+        // Assert
+        numBornes.forEach(numBorne -> verify(indexB).changerDisponibilite(numBorne, true));
+    }
+
+    private CycleReservationsService instance(ReservationRepository repository, BornePlusProchesIndex bornePlusProchesIndex) {
+        CycleReservationsService instance = new CycleReservationsService(repository, borneRepository, bornePlusProchesIndex,
+                transactionTemplate);
+        ReflectionTestUtils.setField(instance, "tailleLot", 2);
+        ReflectionTestUtils.setField(instance, "lotsMax", 2);
+        return instance;
+    }
+}
@@ -0,0 +1,149 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ CycleReservationsService.class, BornePlusProchesIndex.class })
+class CycleReservationsServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CycleReservationsService cycleReservationsService;
+
+    private Lieu lieu;
+    private Utilisateur utilisateur;
+    private LocalDateTime origine;
+
+    @BeforeEach
+    void setUp() {
+        origine = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+        lieu = new Lieu();
+        lieu.setInstructions("Parking principal");
+        entityManager.persist(lieu);
+
+        utilisateur = new Utilisateur();
+        utilisateur.setPseudo("test.user");
+        utilisateur.setNomUtilisateur("Test");
+        utilisateur.setPrenom("User");
+        utilisateur.setAdresseMail("test@example.com");
+        utilisateur.setMotDePasse("password");
+        utilisateur.setDateDeNaissance(LocalDate.of(1990, 1, 1));
+        utilisateur.setRole(RoleUtilisateur.CLIENT);
+        utilisateur.setLieu(lieu);
+        entityManager.persist(utilisateur);
+    }
+
+    @Test
+    void executer_ShouldStartThenFinishReservationsAndMaintainOccupee() {
+        // Arrange
+        Borne borneA = persisterBorne("A");
+        Borne borneB = persisterBorne("B");
+        Reservation acceptee = persisterReservation(borneA, 1, 2, EtatReservation.ACCEPTEE);
+        Reservation demande = persisterReservation(borneB, 3, 4, EtatReservation.DEMANDE);
+        Reservation annulee = persisterReservation(borneB, 1, 2, EtatReservation.ANNULEE);
+        entityManager.flush();
+
+        // Act : pendant la première réservation
+        int traitees = cycleReservationsService.executer(origine.plusMinutes(90));
+        entityManager.clear();
+
+        // Assert
+        assertThat(traitees).isEqualTo(1);
+        assertThat(etat(acceptee)).isEqualTo(EtatReservation.EN_COURS);
+        assertThat(etat(demande)).isEqualTo(EtatReservation.DEMANDE);
+        assertThat(etat(annulee)).isEqualTo(EtatReservation.ANNULEE);
+        assertThat(entityManager.find(Borne.class, borneA.getNumBorne()).getOccupee()).isTrue();
+        assertThat(entityManager.find(Borne.class, borneB.getNumBorne()).getOccupee()).isFalse();
+
+        // Act : après toutes les réservations
+        traitees = cycleReservationsService.executer(origine.plusHours(5));
+        entityManager.clear();
+
+        // Assert
+        assertThat(traitees).isEqualTo(2);
+        assertThat(etat(acceptee)).isEqualTo(EtatReservation.TERMINEE);
+        assertThat(etat(demande)).isEqualTo(EtatReservation.TERMINEE);
+        assertThat(etat(annulee)).isEqualTo(EtatReservation.ANNULEE);
+        assertThat(entityManager.find(Borne.class, borneA.getNumBorne()).getOccupee()).isFalse();
+    }
+
+    @Test
+    void executer_WhenReservationsFollowEachOther_ShouldKeepBorneOccupied() {
+        // Arrange
+        Borne borne = persisterBorne("A");
+        Reservation premiere = persisterReservation(borne, 1, 2, EtatReservation.ACCEPTEE);
+        Reservation seconde = persisterReservation(borne, 2, 3, EtatReservation.ACCEPTEE);
+        entityManager.flush();
+        cycleReservationsService.executer(origine.plusMinutes(90));
+
+        // Act
+        cycleReservationsService.executer(origine.plusHours(2));
+        entityManager.clear();
+
+        // Assert
+        assertThat(etat(premiere)).isEqualTo(EtatReservation.TERMINEE);
+        assertThat(etat(seconde)).isEqualTo(EtatReservation.EN_COURS);
+        assertThat(entityManager.find(Borne.class, borne.getNumBorne()).getOccupee()).isTrue();
+    }
+
+    @Test
+    void executer_ShouldProcessAtMostConfiguredBatchesPerRun() {
+        // Arrange
+        ReflectionTestUtils.setField(cycleReservationsService, "tailleLot", 2);
+        ReflectionTestUtils.setField(cycleReservationsService, "lotsMax", 2);
+        for (int i = 0; i < 5; i++) {
+            persisterReservation(persisterBorne("B" + i), 1, 2, EtatReservation.ACCEPTEE);
+        }
+        entityManager.flush();
+
+        // Act & Assert
+        assertThat(cycleReservationsService.executer(origine.plusMinutes(90))).isEqualTo(4);
+        assertThat(cycleReservationsService.executer(origine.plusMinutes(90))).isEqualTo(1);
+        assertThat(cycleReservationsService.executer(origine.plusMinutes(90))).isZero();
+    }
+
+    private EtatReservation etat(Reservation reservation) {
+        return entityManager.find(Reservation.class, reservation.getNumReservation()).getEtat();
+    }
+
+    private Borne persisterBorne(String nom) {
+        Borne borne = new Borne();
+        borne.setNomBorne(nom);
+        borne.setLatitude(new BigDecimal("48.8566"));
+        borne.setLongitude(new BigDecimal("2.3522"));
+        borne.setPuissance(new BigDecimal("22.0"));
+        borne.setEtat(EtatBorne.ACTIVE);
+        borne.setOccupee(false);
+        borne.setSurPied(true);
+        borne.setLieu(lieu);
+        return entityManager.persist(borne);
+    }
+
+    private Reservation persisterReservation(Borne borne, int debutHeures, int finHeures, EtatReservation etat) {
+        Reservation reservation = new Reservation();
+        reservation.setDateDebut(origine.plusHours(debutHeures));
+        reservation.setDateFin(origine.plusHours(finHeures));
+        reservation.setPrixMinuteHisto(new BigDecimal("0.004167"));
+        reservation.setEtat(etat);
+        reservation.setMontantTotal(new BigDecimal("15.0"));
+        reservation.setUtilisateur(utilisateur);
+        reservation.setBorne(borne);
+        return entityManager.persist(reservation);
+    }
+}
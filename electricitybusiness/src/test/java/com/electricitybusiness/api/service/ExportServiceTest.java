@@ -0,0 +1,148 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.mapper.EntityMapper;
+import com.electricitybusiness.api.model.Recharge;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+class ExportServiceTest {
+
+    private static final int TAILLE_LOT = 3;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ObjectMapper objectMapper;
+    private EntityMapper mapper;
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper = spy(new EntityMapper());
+        exportService = new ExportService(entityManager, transactionManager, mapper, objectMapper, 2, TAILLE_LOT);
+    }
+
+    @Test
+    void exporterRecharges_EnNdjson_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        for (int i = 1; i <= 7; i++) {
+            recharge("06000000" + i, 10.0 * i);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // Act
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        long lignes = exportService.exporterRecharges(ExportService.Format.NDJSON, sortie);
+
+        // Assert
+        String[] objets = sortie.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(7, lignes);
+        assertEquals(8, objets.length); // chaque ligne se termine par un saut de ligne
+        assertEquals("", objets[7]);
+        JsonNode premier = objectMapper.readTree(objets[0]);
+        assertEquals("060000001", premier.get("numero").asText());
+        assertEquals(10.0, premier.get("montant").asDouble());
+        assertEquals("2025-06-01T10:00:00", premier.get("dateRecharge").asText());
+    }
+
+    @Test
+    void exporterRecharges_ShouldKeepPersistenceContextBoundedByBatchSize() {
+        // Arrange
+        for (int i = 1; i <= 10; i++) {
+            recharge("06000000" + i, 5.0);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        AtomicLong maximum = new AtomicLong();
+        doAnswer(invocation -> {
+            maximum.accumulateAndGet(entityManager.unwrap(Session.class).getStatistics().getEntityCount(), Math::max);
+            return invocation.callRealMethod();
+        }).when(mapper).toDTO(any(Recharge.class));
+
+        // Act
+        long lignes = exportService.exporterRecharges(ExportService.Format.CSV, new ByteArrayOutputStream());
+
+        // Assert
+        assertEquals(10, lignes);
+        assertTrue(maximum.get() <= TAILLE_LOT, "entités gérées : " + maximum.get());
+    }
+
+    @Test
+    void exporterRecharges_EnCsv_ShouldWriteHeaderAndEscapeFields() {
+        // Arrange
+        Recharge recharge = recharge("0600000001", 12.5);
+        recharge.setStatut("EN \"ATTENTE\", relance");
+        testEntityManager.flush();
+
+        // Act
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        exportService.exporterRecharges(ExportService.Format.CSV, sortie);
+
+        // Assert
+        String[] lignes = sortie.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,numero,montant,dateRecharge,reference,statut", lignes[0]);
+        assertEquals(recharge.getId() + ",0600000001,12.5,2025-06-01T10:00,REF-0600000001,\"EN \"\"ATTENTE\"\", relance\"", lignes[1]);
+    }
+
+    @Test
+    void exporterReservations_OnEmptyTable_ShouldWriteOnlyCsvHeader() {
+        // Act
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        long lignes = exportService.exporterReservations(ExportService.Format.CSV, sortie);
+
+        // Assert
+        assertEquals(0, lignes);
+        assertEquals("id,dateDebut,dateFin,etat,montant,datePaiement,numUtilisateur,numBorne\n", sortie.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void format_WithUnknownValue_ShouldThrowIllegalArgument() {
+        assertEquals(ExportService.Format.CSV, ExportService.Format.depuis("csv"));
+        assertThrows(IllegalArgumentException.class, () -> ExportService.Format.depuis("xml"));
+    }
+
+    @Test
+    void champCsv_ShouldQuoteOnlyWhenNeeded() {
+        assertEquals("", ExportService.champCsv(null));
+        assertEquals("simple", ExportService.champCsv("simple"));
+        assertEquals("\"a,b\"", ExportService.champCsv("a,b"));
+        assertEquals("\"ligne\nsuivante\"", ExportService.champCsv("ligne\nsuivante"));
+    }
+
+    private Recharge recharge(String numero, double montant) {
+        Recharge recharge = new Recharge();
+        recharge.setNumero(numero);
+        recharge.setMontant(montant);
+        recharge.setDateRecharge(LocalDateTime.of(2025, 6, 1, 10, 0));
+        recharge.setReference("REF-" + numero);
+        recharge.setStatut("SUCCESS");
+        return testEntityManager.persist(recharge);
+    }
+}
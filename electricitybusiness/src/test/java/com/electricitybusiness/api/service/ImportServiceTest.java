@@ -0,0 +1,205 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.dto.LigneImportDTO;
+import com.electricitybusiness.api.dto.ProgressionImportDTO;
+import com.electricitybusiness.api.model.Borne;
+import com.electricitybusiness.api.model.EtatBorne;
+import com.electricitybusiness.api.model.Lieu;
+import com.electricitybusiness.api.model.TarifHoraire;
+import com.electricitybusiness.api.repository.BorneRepository;
+import com.electricitybusiness.api.repository.LieuRepository;
+import com.electricitybusiness.api.repository.TarifHoraireRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Les lots sont écrits dans leurs propres transactions : pas de transaction de test, tables vidées après chaque test.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImportServiceTest {
+
+    private static final String ENTETE_BORNES = "nomBorne,latitude,longitude,puissance,etat,numeroEtRue,codePostal,ville,pays,instructionsLieu\n";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BorneRepository borneRepository;
+
+    @Autowired
+    private LieuRepository lieuRepository;
+
+    @Autowired
+    private TarifHoraireRepository tarifHoraireRepository;
+
+    private BorneSpatialIndex borneSpatialIndex;
+    private BornePlusProchesIndex bornePlusProchesIndex;
+    private MoteurTarifaire moteurTarifaire;
+    private ObjectMapper objectMapper;
+    private ImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        borneSpatialIndex = mock(BorneSpatialIndex.class);
+        bornePlusProchesIndex = mock(BornePlusProchesIndex.class);
+        moteurTarifaire = mock(MoteurTarifaire.class);
+        objectMapper = new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        importService = new ImportService(entityManager, transactionManager, Validation.buildDefaultValidatorFactory().getValidator(),
+                borneRepository, borneSpatialIndex, bornePlusProchesIndex, moteurTarifaire, objectMapper, 2, 2, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.arreter();
+        tarifHoraireRepository.deleteAll();
+        borneRepository.deleteAll();
+        lieuRepository.deleteAll(); // les adresses suivent par cascade
+    }
+
+    @Test
+    void importer_Bornes_ShouldCreateValidRowsAndReportInvalidOnes() throws Exception {
+        // Arrange
+        String csv = ENTETE_BORNES
+                + "Borne A,48.85,2.35,22,ACTIVE,1 rue de la Paix,75002,Paris,France,Niveau -1\n"
+                + "Borne B,48.86,2.36,50,active,1  Rue de la Paix,75002,paris,France,\n"
+                + "Borne C,95,2.35,22,ACTIVE,2 rue Haute,69001,Lyon,France,\n"
+                + "Borne D,45.76,4.83,abc,ACTIVE,2 rue Haute,69001,Lyon,France,\n"
+                + "Borne E,45.76,4.83,7.4,HORS_SERVICE,3 rue Basse,69002,Lyon,France,\n"
+                + "trop,peu,de,colonnes\n";
+        List<Object> evenements = new ArrayList<>();
+
+        // Act
+        ImportService.ImportEnCours enCours = importService.demarrer(ImportService.Type.BORNES, flux(csv));
+        ProgressionImportDTO fin = importService.importer(enCours, evenements::add);
+
+        // Assert
+        assertEquals("TERMINE", fin.getEtat());
+        assertEquals(6, fin.getLignesLues());
+        assertEquals(3, fin.getLignesImportees());
+        assertEquals(3, fin.getLignesRejetees());
+        List<LigneImportDTO> lignes = evenements.stream().filter(LigneImportDTO.class::isInstance).map(LigneImportDTO.class::cast).toList();
+        assertEquals(List.of(2, 3, 4, 5, 6, 7), lignes.stream().map(LigneImportDTO::getLigne).toList());
+        assertNotNull(lignes.get(0).getId());
+        assertEquals("La latitude doit être entre -90 et 90", lignes.get(2).getErreur());
+        assertEquals("Valeur invalide pour puissance : abc", lignes.get(3).getErreur());
+        assertEquals("10 colonnes attendues, 4 trouvées", lignes.get(5).getErreur());
+        assertEquals(4, evenements.stream().filter(ProgressionImportDTO.class::isInstance).count()); // 3 lots, puis la fin
+
+        // Les deux premières bornes (même adresse, à la casse et aux espaces près) partagent un lieu
+        Borne a = borneRepository.findById(lignes.get(0).getId()).orElseThrow();
+        Borne b = borneRepository.findById(lignes.get(1).getId()).orElseThrow();
+        assertEquals(a.getLieu().getNumLieu(), b.getLieu().getNumLieu());
+        assertEquals(EtatBorne.ACTIVE, b.getEtat());
+        assertEquals(2, lieuRepository.count());
+        verify(borneSpatialIndex, times(3)).indexer(any(Borne.class));
+        verify(bornePlusProchesIndex, times(3)).indexer(any(Borne.class));
+        assertEquals("TERMINE", importService.progression(enCours.getId()).orElseThrow().getEtat());
+    }
+
+    @Test
+    void importer_WhenDatabaseRejectsRow_ShouldKeepOtherRowsOfBatch() throws Exception {
+        // Arrange : le nom dépasse la colonne (100 caractères) sans enfreindre de contrainte de validation
+        String csv = ENTETE_BORNES
+                + "Borne valide,48.85,2.35,22,ACTIVE,1 rue de la Paix,75002,Paris,France,\n"
+                + "x".repeat(150) + ",48.85,2.35,22,ACTIVE,1 rue de la Paix,75002,Paris,France,\n";
+        List<Object> evenements = new ArrayList<>();
+
+        // Act
+        ProgressionImportDTO fin = importService.importer(importService.demarrer(ImportService.Type.BORNES, flux(csv)), evenements::add);
+
+        // Assert
+        assertEquals(1, fin.getLignesImportees());
+        assertEquals(1, fin.getLignesRejetees());
+        LigneImportDTO rejetee = (LigneImportDTO) evenements.get(1);
+        assertTrue(rejetee.getErreur().startsWith("Refusée par la base"), rejetee.getErreur());
+        assertEquals(List.of("Borne valide"), borneRepository.findAll().stream().map(Borne::getNomBorne).toList());
+        assertEquals(1, lieuRepository.count());
+    }
+
+    @Test
+    void importer_Tarifs_ShouldRejectUnknownBorneAndWriteNdjson() throws Exception {
+        // Arrange
+        Borne borne = borne();
+        String csv = "numBorne,tarifParMinute,heureDebut,heureFin,dateDebut,dateFin,jourSemaine\n"
+                + borne.getNumBorne() + ",0.25,08:00,20:00,2025-01-01,,\n"
+                + "999999,0.25,08:00,20:00,2025-01-01,,\n"
+                + borne.getNumBorne() + ",0.10,20:00,08:00,2025-01-01,2025-12-31,8\n";
+
+        // Act
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        importService.importer(importService.demarrer(ImportService.Type.TARIFS, flux(csv)), sortie);
+
+        // Assert
+        List<JsonNode> lignes = new ArrayList<>();
+        for (String ligne : sortie.toString(StandardCharsets.UTF_8).split("\n")) {
+            lignes.add(objectMapper.readTree(ligne));
+        }
+        assertEquals(2, lignes.get(0).get("ligne").asInt());
+        assertFalse(lignes.get(0).has("erreur"));
+        assertEquals("Borne inconnue : 999999", lignes.get(1).get("erreur").asText());
+        assertEquals("TARIFS", lignes.get(2).get("type").asText()); // avancement après le premier lot
+        assertEquals("Le jour de la semaine doit être entre 1 et 7", lignes.get(3).get("erreur").asText());
+        JsonNode fin = lignes.get(lignes.size() - 1);
+        assertEquals("TERMINE", fin.get("etat").asText());
+        assertEquals(1, fin.get("lignesImportees").asLong());
+        List<TarifHoraire> tarifs = tarifHoraireRepository.findAll();
+        assertEquals(1, tarifs.size());
+        assertEquals(0, new BigDecimal("0.25").compareTo(tarifs.get(0).getTarifParMinute()));
+        verify(moteurTarifaire).invalider(borne.getNumBorne());
+    }
+
+    @Test
+    void demarrer_WithMissingColumn_ShouldThrowIllegalArgument() {
+        IllegalArgumentException erreur = assertThrows(IllegalArgumentException.class,
+                () -> importService.demarrer(ImportService.Type.TARIFS, flux("numBorne,tarifParMinute,heureDebut\n1,0.2,08:00\n")));
+
+        assertEquals("Colonnes manquantes : heureFin, dateDebut", erreur.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> importService.demarrer(ImportService.Type.BORNES, flux("")));
+        assertTrue(importService.progression("inconnu").isEmpty());
+    }
+
+    private Borne borne() {
+        Lieu lieu = new Lieu();
+        lieu.setInstructions("Parking principal");
+        lieu = lieuRepository.save(lieu);
+
+        Borne borne = new Borne();
+        borne.setNomBorne("Borne test");
+        borne.setLatitude(new BigDecimal("48.8566"));
+        borne.setLongitude(new BigDecimal("2.3522"));
+        borne.setPuissance(new BigDecimal("22.0"));
+        borne.setEtat(EtatBorne.ACTIVE);
+        borne.setLieu(lieu);
+        return borneRepository.save(borne);
+    }
+
+    private static ByteArrayInputStream flux(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,168 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.dto.DevisRequest;
+import com.electricitybusiness.api.dto.RegleTarifaireBorne;
+import com.electricitybusiness.api.repository.TarifHoraireRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MoteurTarifaireTest {
+
+    private static final LocalDateTime DEBUT = LocalDateTime.of(2025, 6, 2, 10, 0);
+
+    @Mock
+    private TarifHoraireRepository tarifHoraireRepository;
+
+    private MoteurTarifaire moteurTarifaire;
+
+    @BeforeEach
+    void setUp() {
+        moteurTarifaire = new MoteurTarifaire(tarifHoraireRepository, 100, 300);
+    }
+
+    @Test
+    void calculerPrix_ShouldCompileOncePerBorne() {
+        // Arrange
+        when(tarifHoraireRepository.findReglesActivesByNumBorneIn(List.of(1L))).thenReturn(List.of(regle(1L, "0.10")));
+
+        // Act
+        BigDecimal premier = moteurTarifaire.calculerPrix(1L, DEBUT, DEBUT.plusHours(1));
+        BigDecimal second = moteurTarifaire.calculerPrix(1L, DEBUT, DEBUT.plusHours(2));
+
+        // Assert
+        assertEquals(new BigDecimal("6.00"), premier);
+        assertEquals(new BigDecimal("12.00"), second);
+        verify(tarifHoraireRepository, times(1)).findReglesActivesByNumBorneIn(List.of(1L));
+    }
+
+    @Test
+    void invalider_ShouldRecompileWithNewRules() {
+        // Arrange
+        when(tarifHoraireRepository.findReglesActivesByNumBorneIn(List.of(1L)))
+                .thenReturn(List.of(regle(1L, "0.10")))
+                .thenReturn(List.of(regle(1L, "0.20")));
+        moteurTarifaire.calculerPrix(1L, DEBUT, DEBUT.plusHours(1));
+
+        // Act
+        moteurTarifaire.invalider(1L);
+        BigDecimal prix = moteurTarifaire.calculerPrix(1L, DEBUT, DEBUT.plusHours(1));
+
+        // Assert
+        assertEquals(new BigDecimal("12.00"), prix);
+        verify(tarifHoraireRepository, times(2)).findReglesActivesByNumBorneIn(List.of(1L));
+    }
+
+    @Test
+    void initialiser_ShouldCompileAllBornesUpFront() {
+        // Arrange
+        when(tarifHoraireRepository.findReglesActives()).thenReturn(List.of(regle(1L, "0.10"), regle(2L, "0.20")));
+
+        // Act
+        moteurTarifaire.initialiser();
+        List<BigDecimal> prix = moteurTarifaire.devis(List.of(new DevisRequest(1L, DEBUT, DEBUT.plusHours(1)),
+                new DevisRequest(2L, DEBUT, DEBUT.plusHours(1))));
+
+        // Assert
+        assertEquals(List.of(new BigDecimal("6.00"), new BigDecimal("12.00")), prix);
+        verify(tarifHoraireRepository, never()).findReglesActivesByNumBorneIn(anyCollection());
+    }
+
+    @Test
+    void devis_ShouldLoadAllBornesInOneQueryAndKeepRequestOrder() {
+        // Arrange
+        when(tarifHoraireRepository.findReglesActivesByNumBorneIn(anyCollection()))
+                .thenReturn(List.of(regle(1L, "0.10"), regle(2L, "0.20")));
+        List<DevisRequest> demandes = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            demandes.add(new DevisRequest(i % 2 == 0 ? 1L : 2L, DEBUT, DEBUT.plusMinutes(i)));
+        }
+
+        // Act
+        List<BigDecimal> prix = moteurTarifaire.devis(demandes);
+
+        // Assert
+        assertEquals(500, prix.size());
+        for (int i = 0; i < 500; i++) {
+            BigDecimal tarif = new BigDecimal(i % 2 == 0 ? "0.10" : "0.20");
+            assertEquals(tarif.multiply(BigDecimal.valueOf(i)).setScale(2), prix.get(i));
+        }
+        verify(tarifHoraireRepository, times(1)).findReglesActivesByNumBorneIn(anyCollection());
+    }
+
+    @Test
+    void devis_WhenRequestCannotBePriced_ShouldReturnNullForIt() {
+        // Arrange
+        when(tarifHoraireRepository.findReglesActivesByNumBorneIn(anyCollection())).thenReturn(List.of(regle(1L, "0.10")));
+        List<DevisRequest> demandes = Arrays.asList(
+                new DevisRequest(1L, DEBUT, DEBUT.plusHours(1)),
+                new DevisRequest(3L, DEBUT, DEBUT.plusHours(1)),                        // borne sans tarif
+                new DevisRequest(1L, LocalDateTime.of(2024, 6, 1, 10, 0), DEBUT),       // avant le premier tarif
+                new DevisRequest(1L, DEBUT.plusHours(1), DEBUT),                        // dates inversées
+                new DevisRequest(null, DEBUT, DEBUT.plusHours(1)),
+                null);
+
+        // Act
+        List<BigDecimal> prix = moteurTarifaire.devis(demandes);
+
+        // Assert
+        assertEquals(Arrays.asList(new BigDecimal("6.00"), null, null, null, null, null), prix);
+    }
+
+    @Test
+    void devis_ShouldOnlyLoadBornesMissingFromCache() {
+        // Arrange
+        when(tarifHoraireRepository.findReglesActivesByNumBorneIn(anyCollection()))
+                .thenReturn(List.of(regle(1L, "0.10")))
+                .thenReturn(List.of(regle(2L, "0.20")));
+        moteurTarifaire.calculerPrix(1L, DEBUT, DEBUT.plusHours(1));
+
+        // Act
+        moteurTarifaire.devis(List.of(new DevisRequest(1L, DEBUT, DEBUT.plusHours(1)), new DevisRequest(2L, DEBUT, DEBUT.plusHours(1))));
+
+        // Assert
+        verify(tarifHoraireRepository).findReglesActivesByNumBorneIn(List.of(2L));
+    }
+
+    @Test
+    void chronologies_ShouldNotKeepBornesWithoutRules() {
+        // Arrange
+        when(tarifHoraireRepository.findReglesActivesByNumBorneIn(anyCollection())).thenReturn(List.of());
+
+        // Act : borne inconnue demandée deux fois
+        moteurTarifaire.chronologies(List.of(999L));
+        moteurTarifaire.chronologies(List.of(999L));
+
+        // Assert
+        verify(tarifHoraireRepository, times(2)).findReglesActivesByNumBorneIn(List.of(999L));
+    }
+
+    private static RegleTarifaireBorne regle(Long numBorne, String prix) {
+        return new RegleTarifaireBorne() {
+            public Long getNumBorne() { return numBorne; }
+            public Long getNumTarif() { return numBorne; }
+            public BigDecimal getTarifParMinute() { return new BigDecimal(prix); }
+            public LocalTime getHeureDebut() { return LocalTime.MIDNIGHT; }
+            public LocalTime getHeureFin() { return LocalTime.MIDNIGHT; }
+            public Integer getJourSemaine() { return null; }
+            public LocalDate getDateDebut() { return LocalDate.of(2025, 1, 1); }
+            public LocalDate getDateFin() { return null; }
+            public Boolean getActif() { return true; }
+        };
+    }
+}
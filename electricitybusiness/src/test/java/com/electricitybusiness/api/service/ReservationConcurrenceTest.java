@@ -0,0 +1,168 @@
+package com.electricitybusiness.api.service;
+
+import com.electricitybusiness.api.exception.CreneauIndisponibleException;
+import com.electricitybusiness.api.mapper.EntityMapper;
+import com.electricitybusiness.api.model.*;
+import com.electricitybusiness.api.repository.BorneRepository;
+import com.electricitybusiness.api.repository.LieuRepository;
+import com.electricitybusiness.api.repository.ReservationRepository;
+import com.electricitybusiness.api.repository.UtilisateurRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plusieurs centaines de réservations concurrentes sur les mêmes créneaux.
+ * Deux instances de ReservationService avec des verrous JVM distincts simulent deux nœuds :
+ * seule la base (verrou de ligne sur la borne) les départage.
+ */
+@DataJpaTest
+@Import({ ReservationService.class, VerrousBornes.class, BlocagesCreneaux.class, EntityMapper.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReservationConcurrenceTest {
+
+    private static final int NB_TENTATIVES = 300;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UtilisateurRepository utilisateurRepository;
+
+    @Autowired
+    private BorneRepository borneRepository;
+
+    @Autowired
+    private LieuRepository lieuRepository;
+
+    @Autowired
+    private BlocagesCreneaux blocagesCreneaux;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Utilisateur utilisateur;
+    private List<Borne> bornes;
+
+    @BeforeEach
+    void setUp() {
+        Lieu lieu = new Lieu();
+        lieu.setInstructions("Parking principal");
+        lieu = lieuRepository.save(lieu);
+
+        utilisateur = new Utilisateur();
+        utilisateur.setPseudo("test.user");
+        utilisateur.setNomUtilisateur("Test");
+        utilisateur.setPrenom("User");
+        utilisateur.setAdresseMail("test@example.com");
+        utilisateur.setMotDePasse("password");
+        utilisateur.setDateDeNaissance(LocalDate.of(1990, 1, 1));
+        utilisateur.setRole(RoleUtilisateur.CLIENT);
+        utilisateur.setLieu(lieu);
+        utilisateur = utilisateurRepository.save(utilisateur);
+
+        bornes = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Borne borne = new Borne();
+            borne.setNomBorne("Borne " + i);
+            borne.setLatitude(new BigDecimal("48.8566"));
+            borne.setLongitude(new BigDecimal("2.3522"));
+            borne.setPuissance(new BigDecimal("22.0"));
+            borne.setEtat(EtatBorne.ACTIVE);
+            borne.setOccupee(false);
+            borne.setSurPied(true);
+            borne.setLieu(lieu);
+            bornes.add(borneRepository.save(borne));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll();
+        borneRepository.deleteAll();
+        utilisateurRepository.deleteAll();
+        lieuRepository.deleteAll();
+    }
+
+    @Test
+    void reserver_WhenManyThreadsRaceForSameSlots_ShouldNeverDoubleBook() throws Exception {
+        // Arrange : créneaux d'une heure décalés d'une demi-heure, qui se chevauchent deux à deux
+        ReservationService autreNoeud = new ReservationService(reservationRepository, utilisateurRepository,
+                borneRepository, new VerrousBornes(64), blocagesCreneaux, transactionTemplate, new EntityMapper());
+        LocalDateTime origine = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        ExecutorService executor = Executors.newFixedThreadPool(NB_TENTATIVES);
+        CountDownLatch depart = new CountDownLatch(1);
+        AtomicInteger reussies = new AtomicInteger();
+        AtomicInteger conflits = new AtomicInteger();
+        List<Future<?>> taches = new ArrayList<>();
+
+        for (int i = 0; i < NB_TENTATIVES; i++) {
+            ReservationService service = i % 2 == 0 ? reservationService : autreNoeud;
+            Borne borne = bornes.get(i % bornes.size());
+            LocalDateTime debut = origine.plusMinutes(30L * (i % 8));
+            taches.add(executor.submit(() -> {
+                depart.await();
+                try {
+                    service.reserver(reservation(borne, debut, debut.plusHours(1)));
+                    reussies.incrementAndGet();
+                } catch (CreneauIndisponibleException e) {
+                    conflits.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        depart.countDown();
+        for (Future<?> tache : taches) {
+            tache.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        List<Reservation> enregistrees = reservationRepository.findAll();
+        assertThat(reussies.get() + conflits.get()).isEqualTo(NB_TENTATIVES);
+        assertThat(enregistrees).hasSize(reussies.get());
+        assertThat(reussies.get()).isGreaterThanOrEqualTo(2 * bornes.size()); // au moins 8h-9h et 10h-11h par borne
+        for (Reservation a : enregistrees) {
+            for (Reservation b : enregistrees) {
+                if (a != b && a.getBorne().getNumBorne().equals(b.getBorne().getNumBorne())) {
+                    assertThat(a.getDateDebut().isBefore(b.getDateFin()) && b.getDateDebut().isBefore(a.getDateFin()))
+                            .as("chevauchement entre %s et %s", a.getNumReservation(), b.getNumReservation())
+                            .isFalse();
+                }
+            }
+        }
+    }
+
+    private Reservation reservation(Borne borne, LocalDateTime debut, LocalDateTime fin) {
+        Reservation reservation = new Reservation();
+        reservation.setDateDebut(debut);
+        reservation.setDateFin(fin);
+        reservation.setPrixMinuteHisto(new BigDecimal("0.004167"));
+        reservation.setEtat(EtatReservation.DEMANDE);
+        reservation.setMontantTotal(new BigDecimal("15.0"));
+        reservation.setUtilisateur(utilisateur);
+        reservation.setBorne(borne);
+        return reservation;
+    }
+}
@@ -1,6 +1,8 @@
 package com.electricitybusiness.api.service;
 
+import com.electricitybusiness.api.exception.CreneauIndisponibleException;
 import com.electricitybusiness.api.model.*;
+import com.electricitybusiness.api.repository.BorneRepository;
 import com.electricitybusiness.api.repository.ReservationRepository;
 import com.electricitybusiness.api.repository.UtilisateurRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,15 +11,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +38,18 @@ class ReservationServiceTest {
     @Mock
     private UtilisateurRepository utilisateurRepository;
 
+    @Mock
+    private BorneRepository borneRepository;
+
+    @Mock
+    private VerrousBornes verrousBornes;
+
+    @Mock
+    private BlocagesCreneaux blocagesCreneaux;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -115,21 +136,6 @@ class ReservationServiceTest {
         verify(reservationRepository, times(1)).findById(999L);
     }
 
-    @Test
-    void save_ShouldReturnSavedReservation() {
-        // Arrange
-        when(reservationRepository.save(any(Reservation.class))).thenReturn(reservation1);
-
-        // Act
-        Reservation result = reservationService.save(reservation1);
-
-        // Assert
-        assertNotNull(result);
-        assertEquals(reservation1.getNumReservation(), result.getNumReservation());
-        assertEquals(reservation1.getEtat(), result.getEtat());
-        verify(reservationRepository, times(1)).save(reservation1);
-    }
-
     @Test
     void update_WhenReservationExists_ShouldReturnUpdatedReservation() {
         // Arrange
@@ -143,7 +149,9 @@ class ReservationServiceTest {
         updatedReservation.setUtilisateur(utilisateur);
         updatedReservation.setBorne(borne);
         
-        when(reservationRepository.save(any(Reservation.class))).thenReturn(updatedReservation);
+        preparerReservation();
+        when(reservationRepository.existsChevauchement(eq(1L), any(), any(), any(), eq(1L))).thenReturn(false);
+        when(reservationRepository.saveAndFlush(any(Reservation.class))).thenReturn(updatedReservation);
 
         // Act
         Reservation result = reservationService.update(1L, updatedReservation);
@@ -152,7 +160,121 @@ class ReservationServiceTest {
         assertNotNull(result);
         assertEquals(1L, result.getNumReservation());
         assertEquals(new BigDecimal("30.0"), result.getMontantTotal());
-        verify(reservationRepository, times(1)).save(updatedReservation);
+        verify(reservationRepository, times(1)).saveAndFlush(updatedReservation);
+    }
+
+    @Test
+    void reserver_WhenSlotIsFree_ShouldSaveAndReleaseLock() {
+        // Arrange
+        ReentrantLock verrou = preparerReservation();
+        when(reservationRepository.existsChevauchement(eq(1L), any(), any(), eq(EtatReservation.bloquants()), isNull()))
+                .thenReturn(false);
+        when(reservationRepository.saveAndFlush(reservation1)).thenReturn(reservation1);
+        reservation1.setNumReservation(null);
+
+        // Act
+        Reservation result = reservationService.reserver(reservation1);
+
+        // Assert
+        assertSame(reservation1, result);
+        assertFalse(verrou.isLocked());
+        verify(borneRepository, times(1)).findByIdPourReservation(1L);
+    }
+
+    @Test
+    void reserver_WithoutAmount_ShouldComputeTotalFromHistoricPrice() {
+        // Arrange
+        preparerReservation();
+        when(reservationRepository.saveAndFlush(reservation1)).thenReturn(reservation1);
+        reservation1.setNumReservation(null);
+        reservation1.setMontantTotal(null);
+
+        // Act
+        Reservation result = reservationService.reserver(reservation1);
+
+        // Assert : 120 minutes à 0,004167 euro
+        assertEquals(new BigDecimal("0.50"), result.getMontantTotal());
+    }
+
+    @Test
+    void reserver_WhenSlotOverlaps_ShouldThrowConflict() {
+        // Arrange
+        ReentrantLock verrou = preparerReservation();
+        when(reservationRepository.existsChevauchement(eq(1L), any(), any(), any(), any())).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(CreneauIndisponibleException.class, () -> reservationService.reserver(reservation1));
+        assertFalse(verrou.isLocked());
+        verify(reservationRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void reserver_WhenExclusionConstraintIsViolated_ShouldThrowConflict() {
+        // Arrange
+        preparerReservation();
+        when(reservationRepository.saveAndFlush(reservation1)).thenThrow(new DataIntegrityViolationException("reserver_sans_chevauchement",
+                new SQLException("conflicting key value violates exclusion constraint", ReservationService.VIOLATION_EXCLUSION)));
+
+        // Act & Assert
+        assertThrows(CreneauIndisponibleException.class, () -> reservationService.reserver(reservation1));
+    }
+
+    @Test
+    void reserver_WhenForeignKeyIsViolated_ShouldPropagateIntegrityError() {
+        // Arrange
+        ReentrantLock verrou = preparerReservation();
+        when(reservationRepository.saveAndFlush(reservation1)).thenThrow(new DataIntegrityViolationException("fk_reserver_utilisateur",
+                new SQLException("insert or update violates foreign key constraint", "23503")));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> reservationService.reserver(reservation1));
+        assertFalse(verrou.isLocked());
+    }
+
+    @Test
+    void reserver_WhenSlotIsHeldByAnotherUser_ShouldThrowConflict() {
+        // Arrange
+        preparerReservation();
+        when(blocagesCreneaux.chevauche(eq(1L), any(), any(), isNull())).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(CreneauIndisponibleException.class, () -> reservationService.reserver(reservation1));
+        verify(reservationRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void reserver_WithOwnHold_ShouldSaveAndReleaseHold() {
+        // Arrange
+        preparerReservation();
+        when(blocagesCreneaux.chevauche(eq(1L), any(), any(), eq("jeton"))).thenReturn(false);
+        when(reservationRepository.existsChevauchement(eq(1L), any(), any(), any(), any())).thenReturn(false);
+        when(reservationRepository.saveAndFlush(reservation1)).thenReturn(reservation1);
+
+        // Act
+        reservationService.reserver(reservation1, "jeton");
+
+        // Assert
+        verify(blocagesCreneaux, times(1)).liberer("jeton");
+    }
+
+    @Test
+    void reserver_WhenDatesAreReversed_ShouldThrowIllegalArgument() {
+        // Arrange
+        reservation1.setDateFin(reservation1.getDateDebut().minusHours(1));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> reservationService.reserver(reservation1));
+        verifyNoInteractions(verrousBornes, transactionTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ReentrantLock preparerReservation() {
+        ReentrantLock verrou = new ReentrantLock();
+        when(verrousBornes.verrou(1L)).thenReturn(verrou);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        when(borneRepository.findByIdPourReservation(1L)).thenReturn(Optional.of(borne));
+        return verrou;
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.electricitybusiness.api.service;
 
+import com.electricitybusiness.api.dto.DevisRequest;
 import com.electricitybusiness.api.model.*;
 import com.electricitybusiness.api.repository.TarifHoraireRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,8 +12,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +29,9 @@ class TarifHoraireServiceTest {
     @Mock
     private TarifHoraireRepository tarifHoraireRepository;
 
+    @Mock
+    private MoteurTarifaire moteurTarifaire;
+
     @InjectMocks
     private TarifHoraireService tarifHoraireService;
 
@@ -114,6 +120,7 @@ class TarifHoraireServiceTest {
         assertEquals(tarif1.getNumTarif(), result.getNumTarif());
         assertEquals(tarif1.getTarifParMinute(), result.getTarifParMinute());
         verify(tarifHoraireRepository, times(1)).save(tarif1);
+        verify(moteurTarifaire).invalider(1L);
     }
 
     @Test
@@ -138,6 +145,25 @@ class TarifHoraireServiceTest {
         assertEquals(1L, result.getNumTarif());
         assertEquals(new BigDecimal("0.005000"), result.getTarifParMinute());
         verify(tarifHoraireRepository, times(1)).save(updatedTarif);
+        verify(moteurTarifaire).invalider(1L);
+    }
+
+    @Test
+    void update_WhenBorneChanges_ShouldInvalidateBothBornes() {
+        // Arrange
+        Borne autreBorne = new Borne();
+        autreBorne.setNumBorne(2L);
+        TarifHoraire deplace = new TarifHoraire();
+        deplace.setBorne(autreBorne);
+        when(tarifHoraireRepository.findById(1L)).thenReturn(Optional.of(tarif1));
+        when(tarifHoraireRepository.save(any(TarifHoraire.class))).thenReturn(deplace);
+
+        // Act
+        tarifHoraireService.update(1L, deplace);
+
+        // Assert
+        verify(moteurTarifaire).invalider(1L);
+        verify(moteurTarifaire).invalider(2L);
     }
 
     @Test
@@ -149,6 +175,58 @@ class TarifHoraireServiceTest {
         verify(tarifHoraireRepository, times(1)).deleteById(1L);
     }
 
+    @Test
+    void deleteById_WhenTarifExists_ShouldInvalidateBorne() {
+        // Arrange
+        when(tarifHoraireRepository.findById(1L)).thenReturn(Optional.of(tarif1));
+
+        // Act
+        tarifHoraireService.deleteById(1L);
+
+        // Assert
+        verify(moteurTarifaire).invalider(1L);
+    }
+
+    @Test
+    void devis_WhenTooManyRequests_ShouldThrow() {
+        // Arrange
+        List<DevisRequest> demandes = Collections.nCopies(1001, new DevisRequest(1L, null, null));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> tarifHoraireService.devis(demandes));
+        assertThrows(IllegalArgumentException.class, () -> tarifHoraireService.devis(Collections.emptyList()));
+        verifyNoInteractions(moteurTarifaire);
+    }
+
+    @Test
+    void devis_WhenRequestIncompleteOrReversed_ShouldThrowWithItsIndex() {
+        // Arrange
+        LocalDateTime debut = LocalDateTime.of(2030, 6, 1, 10, 0);
+        List<DevisRequest> incompletes = Arrays.asList(new DevisRequest(1L, debut, debut.plusHours(1)), null);
+        List<DevisRequest> inversees = List.of(new DevisRequest(1L, debut, debut.plusHours(1)),
+                new DevisRequest(1L, debut, debut.plusHours(1)), new DevisRequest(2L, debut, debut.minusHours(1)));
+
+        // Act & Assert
+        IllegalArgumentException incomplete = assertThrows(IllegalArgumentException.class, () -> tarifHoraireService.devis(incompletes));
+        IllegalArgumentException inversee = assertThrows(IllegalArgumentException.class, () -> tarifHoraireService.devis(inversees));
+        assertTrue(incomplete.getMessage().startsWith("Devis 1 "));
+        assertTrue(inversee.getMessage().startsWith("Devis 2 "));
+        verifyNoInteractions(moteurTarifaire);
+    }
+
+    @Test
+    void calculerPrix_ShouldDelegateToMoteur() {
+        // Arrange
+        LocalDateTime debut = LocalDateTime.of(2025, 6, 2, 10, 0);
+        when(moteurTarifaire.calculerPrix(1L, debut, debut.plusHours(1))).thenReturn(new BigDecimal("0.25"));
+
+        // Act
+        BigDecimal prix = tarifHoraireService.calculerPrix(1L, debut, debut.plusHours(1));
+
+        // Assert
+        assertEquals(new BigDecimal("0.25"), prix);
+    }
+
     @Test
     void existsById_WhenTarifExists_ShouldReturnTrue() {
         // Arrange
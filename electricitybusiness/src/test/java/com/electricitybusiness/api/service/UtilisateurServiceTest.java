@@ -1,7 +1,9 @@
 package com.electricitybusiness.api.service;
 
 import com.electricitybusiness.api.model.*;
+import com.electricitybusiness.api.repository.RevocationUtilisateurRepository;
 import com.electricitybusiness.api.repository.UtilisateurRepository;
+import com.electricitybusiness.api.security.CachePrincipaux;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,9 +28,15 @@ class UtilisateurServiceTest {
     @Mock
     private UtilisateurRepository utilisateurRepository;
 
+    @Mock
+    private RevocationUtilisateurRepository revocationRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CachePrincipaux cachePrincipaux;
+
     @InjectMocks
     private UtilisateurService utilisateurService;
 
@@ -156,6 +164,52 @@ class UtilisateurServiceTest {
         assertEquals("jean.dupont.updated", result.getPseudo());
         verify(passwordEncoder, times(1)).encode("newPlainPassword");
         verify(utilisateurRepository, times(1)).save(updatedUtilisateur);
+        verify(cachePrincipaux).invalider("jean.dupont.updated@email.com");
+    }
+
+    @Test
+    void update_WhenEmailChanges_ShouldInvalidateOldAndNewPrincipals() {
+        // Arrange
+        Utilisateur modifie = new Utilisateur();
+        modifie.setAdresseMail("jean.nouveau@email.com");
+        modifie.setMotDePasse("plainPassword");
+        when(utilisateurRepository.findById(1L)).thenReturn(Optional.of(utilisateur1));
+        when(utilisateurRepository.save(modifie)).thenReturn(modifie);
+
+        // Act
+        utilisateurService.update(1L, modifie);
+
+        // Assert
+        verify(cachePrincipaux).invalider("jean.dupont@email.com");
+        verify(cachePrincipaux).invalider("jean.nouveau@email.com");
+    }
+
+    @Test
+    void bannir_WhenUtilisateurExists_ShouldBanAndInvalidatePrincipal() {
+        // Arrange
+        when(utilisateurRepository.findById(1L)).thenReturn(Optional.of(utilisateur1));
+        when(utilisateurRepository.save(utilisateur1)).thenReturn(utilisateur1);
+
+        // Act
+        Optional<Utilisateur> result = utilisateurService.bannir(1L);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertTrue(result.get().getBanni());
+        verify(cachePrincipaux).invalider("jean.dupont@email.com");
+    }
+
+    @Test
+    void bannir_WhenUtilisateurDoesNotExist_ShouldReturnEmpty() {
+        // Arrange
+        when(utilisateurRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<Utilisateur> result = utilisateurService.bannir(999L);
+
+        // Assert
+        assertFalse(result.isPresent());
+        verifyNoInteractions(cachePrincipaux);
     }
 
     @Test
@@ -167,6 +221,19 @@ class UtilisateurServiceTest {
         verify(utilisateurRepository, times(1)).deleteById(1L);
     }
 
+    @Test
+    void deleteById_WhenUtilisateurExists_ShouldInvalidatePrincipal() {
+        // Arrange
+        when(utilisateurRepository.findById(1L)).thenReturn(Optional.of(utilisateur1));
+
+        // Act
+        utilisateurService.deleteById(1L);
+
+        // Assert : révocation enregistrée pour les autres instances
+        verify(cachePrincipaux).invalider("jean.dupont@email.com");
+        verify(revocationRepository).save(argThat(revocation -> "jean.dupont@email.com".equals(revocation.getAdresseMail())));
+    }
+
     @Test
     void existsById_WhenUtilisateurExists_ShouldReturnTrue() {
         // Arrange
@@ -0,0 +1,79 @@
+package com.electricitybusiness.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendrierCreneauxTest {
+
+    private static final long JOUR = 20_000;
+    private static final long MINUIT = JOUR * CalendrierCreneaux.SECONDES_PAR_JOUR;
+
+    @Test
+    void marquer_ShouldMarkEveryTouchedSlot() {
+        long[] mots = new long[CalendrierCreneaux.MOTS_PAR_JOUR];
+
+        // 10:05 - 10:35 touche les créneaux 10:00, 10:15 et 10:30 (40, 41, 42)
+        CalendrierCreneaux.marquer(mots, JOUR, 1, MINUIT + heure(10) + 5 * 60, MINUIT + heure(10) + 35 * 60);
+
+        String texte = CalendrierCreneaux.enTexte(mots, 1);
+
+        assertEquals("111", texte.substring(40, 43));
+        assertEquals(3, texte.chars().filter(c -> c == '1').count());
+    }
+
+    @Test
+    void marquer_ShouldClipIntervalsSpanningSeveralDays() {
+        long[] veilleSeule = new long[CalendrierCreneaux.MOTS_PAR_JOUR];
+        long[] jourSeul = new long[CalendrierCreneaux.MOTS_PAR_JOUR];
+
+        CalendrierCreneaux.marquer(veilleSeule, JOUR - 1, 1, MINUIT - heure(2), MINUIT + heure(1));
+        CalendrierCreneaux.marquer(jourSeul, JOUR, 1, MINUIT - heure(2), MINUIT + heure(1));
+
+        String veille = CalendrierCreneaux.enTexte(veilleSeule, 1);
+        String jour = CalendrierCreneaux.enTexte(jourSeul, 1);
+
+        assertTrue(veille.endsWith("11111111"));
+        assertEquals(8, veille.chars().filter(c -> c == '1').count());
+        assertTrue(jour.startsWith("11110"));
+        assertEquals(4, jour.chars().filter(c -> c == '1').count());
+    }
+
+    @Test
+    void marquer_ShouldSetRangesAcrossWordBoundary() {
+        long[] mots = new long[CalendrierCreneaux.MOTS_PAR_JOUR];
+
+        CalendrierCreneaux.marquer(mots, 0, 60, 70);
+
+        String texte = CalendrierCreneaux.enTexte(mots, 1);
+        assertEquals("0" + "1".repeat(10) + "0", texte.substring(59, 71));
+        assertFalse(CalendrierCreneaux.estVide(mots));
+        assertTrue(CalendrierCreneaux.estVide(new long[2]));
+    }
+
+    @Test
+    void marquer_ShouldFillWholeDay() {
+        long[] mots = new long[CalendrierCreneaux.MOTS_PAR_JOUR];
+
+        CalendrierCreneaux.marquer(mots, 0, 0, CalendrierCreneaux.CRENEAUX_PAR_JOUR);
+
+        assertEquals("1".repeat(CalendrierCreneaux.CRENEAUX_PAR_JOUR), CalendrierCreneaux.enTexte(mots, 1));
+    }
+
+    @Test
+    void marquer_ShouldSpreadIntervalOverGridDays() {
+        long[] mots = new long[2 * CalendrierCreneaux.MOTS_PAR_JOUR];
+
+        // 23:50 - 00:20 du lendemain, puis un intervalle hors de la grille
+        CalendrierCreneaux.marquer(mots, JOUR, 2, MINUIT + heure(23) + 50 * 60, MINUIT + heure(24) + 20 * 60);
+        CalendrierCreneaux.marquer(mots, JOUR, 2, MINUIT + heure(48), MINUIT + heure(50));
+
+        String texte = CalendrierCreneaux.enTexte(mots, 2);
+        assertEquals("1110", texte.substring(95, 99));
+        assertEquals(3, texte.chars().filter(c -> c == '1').count());
+    }
+
+    private static long heure(int heures) {
+        return heures * 3600L;
+    }
+}
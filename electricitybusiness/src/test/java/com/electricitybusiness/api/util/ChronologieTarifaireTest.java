@@ -0,0 +1,162 @@
+package com.electricitybusiness.api.util;
+
+import com.electricitybusiness.api.model.TarifHoraire;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChronologieTarifaireTest {
+
+    private static final LocalDate ORIGINE = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void calculerPrix_ShouldSplitWindowAcrossDayAndNightRules() {
+        ChronologieTarifaire chronologie = ChronologieTarifaire.compiler(Arrays.asList(
+                tarif(1L, "0.10", 8, 18, null, ORIGINE, null),
+                tarif(2L, "0.05", 18, 8, null, ORIGINE, null)));
+
+        // 17:00 - 19:30 : 60 min à 0,10 puis 90 min à 0,05
+        BigDecimal prix = chronologie.calculerPrix(LocalDateTime.of(2025, 6, 2, 17, 0), LocalDateTime.of(2025, 6, 2, 19, 30));
+
+        assertEquals(new BigDecimal("10.50"), prix);
+    }
+
+    @Test
+    void calculerPrix_ShouldPreferDaySpecificRule() {
+        ChronologieTarifaire chronologie = ChronologieTarifaire.compiler(Arrays.asList(
+                tarif(1L, "0.10", 0, 0, null, ORIGINE, null),
+                tarif(2L, "0.02", 0, 0, 7, ORIGINE, null))); // dimanche
+
+        // Samedi 23:00 -> dimanche 01:00
+        BigDecimal prix = chronologie.calculerPrix(LocalDateTime.of(2025, 6, 7, 23, 0), LocalDateTime.of(2025, 6, 8, 1, 0));
+
+        assertEquals(new BigDecimal("7.20"), prix);
+    }
+
+    @Test
+    void calculerPrix_ShouldSwitchRulesAtValidityBoundary() {
+        ChronologieTarifaire chronologie = ChronologieTarifaire.compiler(Arrays.asList(
+                tarif(1L, "0.10", 0, 0, null, ORIGINE, LocalDate.of(2025, 6, 30)),
+                tarif(2L, "0.20", 0, 0, null, LocalDate.of(2025, 7, 1), null)));
+
+        BigDecimal prix = chronologie.calculerPrix(LocalDateTime.of(2025, 6, 30, 23, 0), LocalDateTime.of(2025, 7, 1, 1, 0));
+
+        assertEquals(new BigDecimal("18.00"), prix);
+        assertEquals(2, chronologie.nbPeriodes());
+    }
+
+    @Test
+    void calculerPrix_WhenWindowIsNotCovered_ShouldThrow() {
+        ChronologieTarifaire chronologie = ChronologieTarifaire.compiler(Collections.singletonList(
+                tarif(1L, "0.10", 8, 18, null, ORIGINE, null)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> chronologie.calculerPrix(LocalDateTime.of(2025, 6, 2, 17, 0), LocalDateTime.of(2025, 6, 2, 19, 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> chronologie.calculerPrix(LocalDateTime.of(2024, 6, 2, 9, 0), LocalDateTime.of(2024, 6, 2, 10, 0)));
+    }
+
+    @Test
+    void compiler_ShouldIgnoreInactiveRules() {
+        TarifHoraire inactif = tarif(2L, "0.50", 0, 0, null, ORIGINE, null);
+        inactif.setActif(false);
+        ChronologieTarifaire chronologie = ChronologieTarifaire.compiler(Arrays.asList(
+                tarif(1L, "0.10", 0, 0, null, ORIGINE, null), inactif));
+
+        BigDecimal prix = chronologie.calculerPrix(LocalDateTime.of(2025, 6, 2, 10, 0), LocalDateTime.of(2025, 6, 2, 11, 0));
+
+        assertEquals(new BigDecimal("6.00"), prix);
+    }
+
+    @Test
+    void calculerPrix_ShouldMatchMinuteByMinuteResolution() {
+        Random random = new Random(7);
+        for (int essai = 0; essai < 20; essai++) {
+            List<TarifHoraire> regles = new ArrayList<>();
+            regles.add(tarif(0L, "0.01", 0, 0, null, ORIGINE, null)); // couverture de base
+            for (int i = 1; i <= 6; i++) {
+                LocalDate debut = ORIGINE.plusDays(random.nextInt(20));
+                LocalDate fin = random.nextBoolean() ? null : debut.plusDays(random.nextInt(20));
+                Integer jour = random.nextBoolean() ? null : 1 + random.nextInt(7);
+                String prix = "0.0" + (1 + random.nextInt(9)) + random.nextInt(10);
+                regles.add(tarif((long) i, prix, random.nextInt(24), random.nextInt(24), jour, debut, fin));
+            }
+            ChronologieTarifaire chronologie = ChronologieTarifaire.compiler(regles);
+
+            for (int fenetre = 0; fenetre < 20; fenetre++) {
+                LocalDateTime debut = ORIGINE.atStartOfDay().plusMinutes(random.nextInt(40 * 1440));
+                LocalDateTime fin = debut.plusMinutes(1 + random.nextInt(3 * 1440));
+                assertEquals(prixMinuteParMinute(regles, debut, fin), chronologie.calculerPrix(debut, fin),
+                        "Fenêtre " + debut + " - " + fin);
+            }
+        }
+    }
+
+    // Résolution naïve : pour chaque minute, règle applicable de plus haute priorité
+    private static BigDecimal prixMinuteParMinute(List<TarifHoraire> regles, LocalDateTime debut, LocalDateTime fin) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (LocalDateTime minute = debut; minute.isBefore(fin); minute = minute.plusMinutes(1)) {
+            TarifHoraire choisi = null;
+            for (TarifHoraire regle : regles) {
+                if (couvre(regle, minute) && (choisi == null || plusPrioritaire(regle, choisi))) {
+                    choisi = regle;
+                }
+            }
+            total = total.add(choisi.getTarifParMinute());
+        }
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static boolean couvre(TarifHoraire regle, LocalDateTime instant) {
+        LocalDate date = instant.toLocalDate();
+        if (date.isBefore(regle.getDateDebut()) || (regle.getDateFin() != null && date.isAfter(regle.getDateFin()))) {
+            return false;
+        }
+        int debut = regle.getHeureDebut().toSecondOfDay() / 60;
+        int fin = regle.getHeureFin().toSecondOfDay() / 60;
+        int duree = fin > debut ? fin - debut : fin + 1440 - debut;
+        int minute = instant.getHour() * 60 + instant.getMinute();
+        // Le jour où la plage a commencé : le jour même, ou la veille pour une plage de nuit
+        for (int decalage = 0; decalage <= 1; decalage++) {
+            LocalDate jourPlage = date.minusDays(decalage);
+            int depuisDebut = minute + decalage * 1440 - debut;
+            if ((regle.getJourSemaine() == null || regle.getJourSemaine() == jourPlage.getDayOfWeek().getValue())
+                    && depuisDebut >= 0 && depuisDebut < duree) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean plusPrioritaire(TarifHoraire a, TarifHoraire b) {
+        if ((a.getJourSemaine() != null) != (b.getJourSemaine() != null)) {
+            return a.getJourSemaine() != null;
+        }
+        int parDate = a.getDateDebut().compareTo(b.getDateDebut());
+        return parDate != 0 ? parDate > 0 : a.getNumTarif() > b.getNumTarif();
+    }
+
+    private static TarifHoraire tarif(Long id, String prix, int heureDebut, int heureFin, Integer jour, LocalDate debut, LocalDate fin) {
+        TarifHoraire tarif = new TarifHoraire();
+        tarif.setNumTarif(id);
+        tarif.setTarifParMinute(new BigDecimal(prix));
+        tarif.setHeureDebut(LocalTime.of(heureDebut, 0));
+        tarif.setHeureFin(LocalTime.of(heureFin, 0));
+        tarif.setJourSemaine(jour);
+        tarif.setDateDebut(debut);
+        tarif.setDateFin(fin);
+        tarif.setActif(true);
+        return tarif;
+    }
+}
@@ -0,0 +1,61 @@
+package com.electricitybusiness.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoordonneesBornesTest {
+
+    @Test
+    void dansRayon_ShouldReturnBornesWithinRadius() {
+        CoordonneesBornes coordonnees = new CoordonneesBornes(
+            new long[] { 1L, 2L, 3L },
+            new double[] { 48.8566, 48.8600, 45.7640 },
+            new double[] { 2.3522, 2.3500, 4.8357 });
+
+        assertArrayEquals(new long[] { 1L, 2L }, coordonnees.dansRayon(2.3522, 48.8566, 1000.0));
+        assertArrayEquals(new long[] { 1L, 2L, 3L }, coordonnees.dansRayon(2.3522, 48.8566, 2.1e7));
+        assertEquals(0, coordonnees.dansRayon(2.3522, 48.8566, -1.0).length);
+    }
+
+    @Test
+    void dansRayon_ShouldMatchHaversineDistance() {
+        Random random = new Random(3);
+        int n = 5000;
+        long[] ids = new long[n];
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+            latitudes[i] = -85 + random.nextDouble() * 170;
+            longitudes[i] = -180 + random.nextDouble() * 360;
+        }
+        CoordonneesBornes coordonnees = new CoordonneesBornes(ids, latitudes, longitudes);
+
+        for (int q = 0; q < 30; q++) {
+            double latitude = -85 + random.nextDouble() * 170;
+            double longitude = -180 + random.nextDouble() * 360;
+            double rayon = random.nextDouble() * 3_000_000;
+
+            List<Long> attendu = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (BorneUtils.distance(longitude, latitude, longitudes[i], latitudes[i]) <= rayon) {
+                    attendu.add(ids[i]);
+                }
+            }
+
+            assertEquals(attendu, Arrays.stream(coordonnees.dansRayon(longitude, latitude, rayon)).boxed().toList());
+        }
+    }
+
+    @Test
+    void constructor_WithMismatchedArrays_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new CoordonneesBornes(new long[] { 1L }, new double[] { 1.0, 2.0 }, new double[] { 1.0 }));
+    }
+}
@@ -0,0 +1,44 @@
+package com.electricitybusiness.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LecteurCsvTest {
+
+    @Test
+    void lire_ShouldSplitRecordsAndIgnoreBlankLines() throws Exception {
+        LecteurCsv lecteur = new LecteurCsv(new StringReader("a,b,c\r\n\r\n1,,3\n"));
+
+        assertEquals(List.of("a", "b", "c"), lecteur.lire());
+        assertEquals(1, lecteur.ligne());
+        assertEquals(List.of("1", "", "3"), lecteur.lire());
+        assertEquals(3, lecteur.ligne());
+        assertNull(lecteur.lire());
+    }
+
+    @Test
+    void lire_ShouldHandleQuotedFieldsAcrossLines() throws Exception {
+        LecteurCsv lecteur = new LecteurCsv(new StringReader("\"Parking, niveau -1\",\"dit \"\"B\"\"\"\n\"première\nseconde\",x\nfin,\"\""));
+
+        assertEquals(List.of("Parking, niveau -1", "dit \"B\""), lecteur.lire());
+        assertEquals(List.of("première\nseconde", "x"), lecteur.lire());
+        assertEquals(2, lecteur.ligne());
+        assertEquals(List.of("fin", ""), lecteur.lire()); // dernière ligne sans saut de ligne final
+        assertEquals(4, lecteur.ligne());
+        assertNull(lecteur.lire());
+    }
+
+    @Test
+    void lire_WithUnclosedQuote_ShouldThrowIllegalArgument() throws Exception {
+        LecteurCsv lecteur = new LecteurCsv(new StringReader("ok\n\"ouvert,jamais fermé\nsuite"));
+
+        assertEquals(List.of("ok"), lecteur.lire());
+        IllegalArgumentException erreur = assertThrows(IllegalArgumentException.class, lecteur::lire);
+        assertTrue(erreur.getMessage().startsWith("Ligne 2"));
+        assertNull(lecteur.lire());
+    }
+}
@@ -0,0 +1,100 @@
+package com.electricitybusiness.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroCentimesTest {
+
+    private static final int NB_CAS = 10_000;
+
+    @Test
+    void depuisEuros_ShouldBeExactForTariffScale() {
+        assertEquals(416_700L, MicroCentimes.depuisEuros(new BigDecimal("0.004167")));
+        assertEquals(MicroCentimes.PAR_EURO, MicroCentimes.depuisEuros(BigDecimal.ONE));
+        assertEquals(0L, MicroCentimes.depuisEuros(BigDecimal.ZERO));
+    }
+
+    @Test
+    void depuisEuros_ShouldRoundHalfUpBelowMicroCent() {
+        assertEquals(2L, MicroCentimes.depuisEuros(new BigDecimal("0.000000015")));
+        assertEquals(1L, MicroCentimes.depuisEuros(new BigDecimal("0.0000000149")));
+    }
+
+    @Test
+    void centimes_ShouldRoundHalfUpSymmetrically() {
+        assertEquals(1L, MicroCentimes.centimes(500_000L, 1));
+        assertEquals(0L, MicroCentimes.centimes(499_999L, 1));
+        assertEquals(-1L, MicroCentimes.centimes(-500_000L, 1));
+        assertEquals(1L, MicroCentimes.centimes(30_000_000L, 60)); // 0,5 centime
+    }
+
+    @Test
+    void centimes_WhenProductOverflows_ShouldThrow() {
+        assertThrows(ArithmeticException.class, () -> MicroCentimes.centimes(1L, Long.MAX_VALUE));
+        assertThrows(ArithmeticException.class, () -> MicroCentimes.montant(new BigDecimal("1000000"),
+                LocalDateTime.of(2000, 1, 1, 0, 0), LocalDateTime.of(2100, 1, 1, 0, 0)));
+    }
+
+    @Test
+    void montant_ShouldProrateBySecond() {
+        LocalDateTime debut = LocalDateTime.of(2025, 6, 2, 10, 0);
+
+        assertEquals(new BigDecimal("0.50"), MicroCentimes.montant(new BigDecimal("0.004167"), debut, debut.plusHours(2)));
+        assertEquals(new BigDecimal("0.05"), MicroCentimes.montant(new BigDecimal("0.1000"), debut, debut.plusSeconds(30)));
+        assertEquals(new BigDecimal("0.00"), MicroCentimes.montant(new BigDecimal("0.1000"), debut, debut));
+    }
+
+    // Propriété : pour des tarifs d'échelle 4 et des durées quelconques, le calcul en long
+    // donne le même montant que le calcul BigDecimal exact suivi d'un arrondi HALF_UP
+    @Test
+    void montant_ShouldMatchBigDecimalForRandomSessions() {
+        Random random = new Random(12);
+        LocalDateTime debut = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int cas = 0; cas < NB_CAS; cas++) {
+            BigDecimal prix = BigDecimal.valueOf(random.nextInt(100_000), 4); // 0 à 9,9999 euros par minute
+            long secondes = (long) (random.nextDouble() * 90 * 86_400); // jusqu'à 90 jours
+
+            BigDecimal attendu = prix.multiply(BigDecimal.valueOf(secondes)).divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+
+            assertEquals(attendu, MicroCentimes.montant(prix, debut, debut.plusSeconds(secondes)), prix + " x " + secondes + " s");
+        }
+    }
+
+    // Propriété : une facture de plusieurs lignes accumulée en micro-centimes puis arrondie une fois
+    // est identique à la somme BigDecimal arrondie une fois
+    @Test
+    void centimes_ShouldMatchBigDecimalForRandomInvoices() {
+        Random random = new Random(34);
+        for (int cas = 0; cas < NB_CAS / 10; cas++) {
+            int nbLignes = 1 + random.nextInt(200);
+            long total = 0;
+            BigDecimal attendu = BigDecimal.ZERO;
+            for (int ligne = 0; ligne < nbLignes; ligne++) {
+                BigDecimal prix = BigDecimal.valueOf(random.nextInt(100_000), 4);
+                long secondes = random.nextInt(7 * 86_400);
+                total = Math.addExact(total, Math.multiplyExact(MicroCentimes.depuisEuros(prix), secondes));
+                attendu = attendu.add(prix.multiply(BigDecimal.valueOf(secondes)));
+            }
+
+            assertEquals(attendu.divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP),
+                    MicroCentimes.versEuros(MicroCentimes.centimes(total, 60)));
+        }
+    }
+
+    @Test
+    void versEuros_ShouldRoundTripWithDepuisEuros() {
+        Random random = new Random(56);
+        for (int cas = 0; cas < NB_CAS; cas++) {
+            long centimes = random.nextInt(Integer.MAX_VALUE) - (Integer.MAX_VALUE / 2);
+            BigDecimal euros = MicroCentimes.versEuros(centimes);
+
+            assertEquals(centimes * MicroCentimes.PAR_CENTIME, MicroCentimes.depuisEuros(euros));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.electricitybusiness.api.util;
+
+import com.electricitybusiness.api.dto.PageCurseur;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaginationTest {
+
+    @Test
+    void taille_ShouldApplyDefaultAndCap() {
+        assertEquals(Pagination.TAILLE_DEFAUT, Pagination.taille(null));
+        assertEquals(20, Pagination.taille(20));
+        assertEquals(Pagination.TAILLE_MAX, Pagination.taille(1_000_000));
+        assertThrows(IllegalArgumentException.class, () -> Pagination.taille(0));
+    }
+
+    @Test
+    void curseur_ShouldRoundTripAndBeOpaque() {
+        String curseur = Pagination.curseur(123_456_789L);
+
+        assertEquals(123_456_789L, Pagination.apres(curseur));
+        assertFalse(curseur.contains("123456789"));
+        assertTrue(curseur.matches("[A-Za-z0-9_-]+")); // utilisable tel quel dans une URL
+    }
+
+    @Test
+    void apres_WithoutCursor_ShouldStartFromBeginning() {
+        assertEquals(0L, Pagination.apres(null));
+        assertEquals(0L, Pagination.apres(""));
+    }
+
+    @Test
+    void apres_WithMalformedCursor_ShouldThrowIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> Pagination.apres("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> Pagination.apres("MTIz")); // "123" sans préfixe
+        assertThrows(IllegalArgumentException.class, () -> Pagination.apres(Pagination.curseur(1L).substring(2)));
+    }
+
+    @Test
+    void page_ShouldUseExtraRowOnlyToDetectNextPage() {
+        PageCurseur<Long> pleine = Pagination.page(List.of(1L, 2L, 3L), 2, cle -> cle);
+        PageCurseur<Long> derniere = Pagination.page(List.of(3L), 2, cle -> cle);
+
+        assertEquals(List.of(1L, 2L), pleine.getElements());
+        assertEquals(2L, Pagination.apres(pleine.getSuivant()));
+        assertEquals(List.of(3L), derniere.getElements());
+        assertNull(derniere.getSuivant());
+    }
+
+    @Test
+    void map_ShouldKeepCursor() {
+        PageCurseur<Long> page = Pagination.page(List.of(1L, 2L, 3L), 2, cle -> cle);
+
+        PageCurseur<String> convertie = page.map(String::valueOf);
+
+        assertEquals(List.of("1", "2"), convertie.getElements());
+        assertEquals(page.getSuivant(), convertie.getSuivant());
+    }
+}
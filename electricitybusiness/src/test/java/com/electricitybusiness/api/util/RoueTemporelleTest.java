@@ -0,0 +1,76 @@
+package com.electricitybusiness.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoueTemporelleTest {
+
+    @Test
+    void avancer_ShouldRunOnlyDueActions() {
+        RoueTemporelle roue = new RoueTemporelle(100, 8, 0);
+        List<String> executees = new ArrayList<>();
+        roue.planifier(250, () -> executees.add("a"));
+        roue.planifier(500, () -> executees.add("b"));
+
+        assertEquals(0, roue.avancer(200));
+        assertEquals(1, roue.avancer(300));
+        assertEquals(List.of("a"), executees);
+        assertEquals(1, roue.avancer(500));
+        assertEquals(List.of("a", "b"), executees);
+    }
+
+    @Test
+    void avancer_ShouldKeepEntriesScheduledSeveralRoundsAhead() {
+        // 8 cases de 100 ms : 2 500 ms tombe dans la même case que 100 ms, deux tours plus tard
+        RoueTemporelle roue = new RoueTemporelle(100, 8, 0);
+        List<Long> executees = new ArrayList<>();
+        roue.planifier(100, () -> executees.add(100L));
+        roue.planifier(2_500, () -> executees.add(2_500L));
+
+        roue.avancer(900);
+        assertEquals(List.of(100L), executees);
+        roue.avancer(2_400);
+        assertEquals(List.of(100L), executees);
+        roue.avancer(2_500);
+        assertEquals(List.of(100L, 2_500L), executees);
+    }
+
+    @Test
+    void avancer_AfterLongPause_ShouldRunEverythingDue() {
+        RoueTemporelle roue = new RoueTemporelle(100, 8, 0);
+        int[] compteur = new int[1];
+        for (int i = 1; i <= 50; i++) {
+            roue.planifier(i * 100L, () -> compteur[0]++);
+        }
+
+        assertEquals(50, roue.avancer(10_000));
+        assertEquals(50, compteur[0]);
+    }
+
+    @Test
+    void annuler_ShouldPreventExecution() {
+        RoueTemporelle roue = new RoueTemporelle(100, 8, 0);
+        int[] compteur = new int[1];
+        RoueTemporelle.Echeance echeance = roue.planifier(200, () -> compteur[0]++);
+
+        echeance.annuler();
+
+        assertEquals(0, roue.avancer(1_000));
+        assertEquals(0, compteur[0]);
+    }
+
+    @Test
+    void planifier_WhenDeadlineAlreadyPassed_ShouldRunAtNextTick() {
+        RoueTemporelle roue = new RoueTemporelle(100, 8, 1_000);
+        int[] compteur = new int[1];
+
+        roue.planifier(0, () -> compteur[0]++);
+
+        assertEquals(1, roue.avancer(1_100));
+        assertEquals(1, compteur[0]);
+    }
+}
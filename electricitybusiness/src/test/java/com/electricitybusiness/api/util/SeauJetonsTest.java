@@ -0,0 +1,90 @@
+package com.electricitybusiness.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeauJetonsTest {
+
+    private static final long SECONDE = 1_000_000_000L;
+
+    @Test
+    void consommer_ShouldAllowBurstUpToCapacity() {
+        SeauJetons seau = new SeauJetons(3, SECONDE);
+
+        assertEquals(0, seau.consommer(0));
+        assertEquals(0, seau.consommer(0));
+        assertEquals(0, seau.consommer(0));
+        assertEquals(SECONDE, seau.consommer(0));
+    }
+
+    @Test
+    void consommer_ShouldRefillOneTokenPerInterval() {
+        SeauJetons seau = new SeauJetons(2, SECONDE);
+        seau.consommer(0);
+        seau.consommer(0);
+
+        assertEquals(SECONDE / 2, seau.consommer(SECONDE / 2));
+        assertEquals(0, seau.consommer(SECONDE));
+        assertTrue(seau.consommer(SECONDE) > 0);
+    }
+
+    @Test
+    void consommer_AfterLongIdle_ShouldNotExceedCapacity() {
+        SeauJetons seau = new SeauJetons(2, SECONDE);
+        long tard = 1_000 * SECONDE;
+
+        assertEquals(0, seau.consommer(tard));
+        assertEquals(0, seau.consommer(tard));
+        assertTrue(seau.consommer(tard) > 0);
+    }
+
+    @Test
+    void consommer_WithNegativeNanoTime_ShouldStartFull() {
+        SeauJetons seau = new SeauJetons(1, SECONDE);
+
+        assertEquals(0, seau.consommer(-5 * SECONDE));
+        assertTrue(seau.consommer(-5 * SECONDE) > 0);
+    }
+
+    @Test
+    void consommer_FromConcurrentThreads_ShouldGrantExactlyCapacity() throws Exception {
+        SeauJetons seau = new SeauJetons(1_000, SECONDE);
+        AtomicInteger accordes = new AtomicInteger();
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    depart.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (seau.consommer(0) == 0) {
+                        accordes.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        depart.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1_000, accordes.get());
+    }
+
+    @Test
+    void constructeur_WithInvalidCapacity_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new SeauJetons(0, SECONDE));
+    }
+}